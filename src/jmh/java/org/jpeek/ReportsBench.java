@@ -0,0 +1,100 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek;
+
+import com.jcabi.xml.XML;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jpeek.calculus.xsl.XslCalculus;
+import org.jpeek.skeleton.Skeleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Node;
+import org.xembly.Xembler;
+
+/**
+ * Benchmark of {@link ReportWithStatistics}, {@link Index} and
+ * {@link Matrix}, over reports of a few metrics.
+ *
+ * <p>Statistics are calculated over a report that already has them,
+ * since only a saved report has min and max of the metric. The work
+ * is the same, the old statistics are just ignored.</p>
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReportsBench {
+
+    /**
+     * How many sample classes are in the skeleton.
+     */
+    @Param({"1", "9", "27"})
+    public int classes;
+
+    /**
+     * Reports, as they are saved.
+     */
+    private List<XML> reports;
+
+    /**
+     * Build reports of the samples.
+     * @throws IOException If fails
+     */
+    @Setup
+    public void build() throws IOException {
+        final XML skeleton = new Skeleton(new Samples(this.classes)).xml();
+        this.reports = new ArrayList<>(4);
+        for (final String metric : new String[] {"LCOM", "LCOM5", "NHD", "CCM"}) {
+            this.reports.add(
+                new XslReport(
+                    skeleton, new XslCalculus(), new ReportData(metric)
+                ).xml()
+            );
+        }
+    }
+
+    /**
+     * Calculate statistics of the report.
+     * @return Report with statistics
+     */
+    @Benchmark
+    public Node statistics() {
+        return new ReportWithStatistics(this.reports.get(0)).node();
+    }
+
+    /**
+     * Build the index of all reports.
+     * @return Index XML
+     */
+    @Benchmark
+    public String index() {
+        return new Xembler(new Index(this.reports)).xmlQuietly();
+    }
+
+    /**
+     * Build the matrix of all reports.
+     * @return Matrix XML
+     */
+    @Benchmark
+    public String matrix() {
+        return new Xembler(new Matrix(this.reports)).xmlQuietly();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.cactoos.list.ListOf;
+import org.cactoos.scalar.IoChecked;
+import org.cactoos.scalar.Sticky;
+
+/**
+ * Base with the first sample classes, compiled only once, so that
+ * benchmarks don't measure the compiler.
+ *
+ * <p>Samples are taken from {@code src/test/resources/org/jpeek/samples},
+ * sorted by name, except the one that duplicates another class name.
+ * Benchmarks must run from the root of the project.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+public final class Samples implements Base {
+
+    /**
+     * Compiled files.
+     */
+    private final IoChecked<List<Path>> compiled;
+
+    /**
+     * Ctor.
+     * @param count How many samples to take
+     */
+    public Samples(final int count) {
+        this.compiled = new IoChecked<>(
+            new Sticky<>(
+                () -> new ListOf<>(new FakeBase(Samples.names(count)).files())
+            )
+        );
+    }
+
+    @Override
+    public Iterable<Path> files() throws IOException {
+        return this.compiled.value();
+    }
+
+    /**
+     * Names of the first samples.
+     * @param count How many of them
+     * @return Names of classes
+     * @throws IOException If fails
+     */
+    private static List<String> names(final int count) throws IOException {
+        final List<String> all;
+        try (Stream<Path> files = Files.list(
+            Paths.get("src/test/resources/org/jpeek/samples")
+        )) {
+            all = files
+                .map(file -> file.getFileName().toString())
+                .filter(name -> name.endsWith(".java"))
+                .filter(name -> !name.startsWith("ClassSameAsAnother"))
+                .map(name -> name.substring(0, name.length() - 5))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+        if (count < 1 || count > all.size()) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "There are %d samples, %d can't be taken", all.size(), count
+                )
+            );
+        }
+        return all.subList(0, count);
+    }
+}
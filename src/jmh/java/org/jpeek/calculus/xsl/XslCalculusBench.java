@@ -0,0 +1,79 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus.xsl;
+
+import com.jcabi.xml.XML;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import org.jpeek.Samples;
+import org.jpeek.skeleton.Skeleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of every metric stylesheet through {@link XslCalculus}.
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class XslCalculusBench {
+
+    /**
+     * The metric, as its stylesheet in {@code org/jpeek/metrics} is named.
+     */
+    @Param({
+        "C3", "CAMC", "CCM", "LCC", "LCOM", "LCOM2", "LCOM3", "LCOM4",
+        "LCOM5", "LORM", "MMAC", "MWE", "NHD", "OCC", "PCC", "SCOM", "TCC",
+        "TLCOM",
+    })
+    public String metric;
+
+    /**
+     * How many sample classes are in the skeleton.
+     */
+    @Param({"1", "9", "27"})
+    public int classes;
+
+    /**
+     * The skeleton.
+     */
+    private XML skeleton;
+
+    /**
+     * Build the skeleton of the samples.
+     * @throws IOException If fails
+     */
+    @Setup
+    public void parse() throws IOException {
+        this.skeleton = new Skeleton(new Samples(this.classes)).xml();
+    }
+
+    /**
+     * Calculate the metric.
+     * @return Metric XML
+     * @throws IOException If fails
+     */
+    @Benchmark
+    public XML calculates() throws IOException {
+        return new XslCalculus().node(
+            this.metric, new HashMap<>(0), this.skeleton
+        );
+    }
+}
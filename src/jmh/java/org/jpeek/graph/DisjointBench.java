@@ -0,0 +1,89 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.graph;
+
+import com.jcabi.xml.XML;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jpeek.Samples;
+import org.jpeek.skeleton.Skeleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link XmlGraph} with {@link Disjoint} for every class
+ * of the skeleton.
+ *
+ * <p>The XML of the skeleton is built once, before the benchmark, so
+ * only the graphs and their disjoint sets are measured.</p>
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DisjointBench {
+
+    /**
+     * How many sample classes are in the skeleton.
+     */
+    @Param({"1", "9", "27"})
+    public int classes;
+
+    /**
+     * XML of the skeleton.
+     */
+    private XML skeleton;
+
+    /**
+     * Packages and names of classes of the skeleton.
+     */
+    private List<String[]> names;
+
+    /**
+     * Build the skeleton and find classes of the samples.
+     */
+    @Setup
+    public void parse() {
+        this.skeleton = new Skeleton(new Samples(this.classes), 1).xml();
+        this.names = new ArrayList<>(this.classes);
+        for (final XML pkg : this.skeleton.nodes("/skeleton/app/package")) {
+            for (final String clazz : pkg.xpath("class/@id")) {
+                this.names.add(
+                    new String[] {pkg.xpath("@id").get(0), clazz}
+                );
+            }
+        }
+    }
+
+    /**
+     * Find disjoint sets of methods of every class.
+     * @return Number of sets of all classes
+     * @throws Exception If fails
+     */
+    @Benchmark
+    public int separates() throws Exception {
+        int sets = 0;
+        for (final String[] name : this.names) {
+            sets += new Disjoint(
+                new XmlGraph(this.skeleton, name[0], name[1])
+            ).value().size();
+        }
+        return sets;
+    }
+}
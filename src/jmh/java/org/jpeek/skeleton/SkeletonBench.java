@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.skeleton;
+
+import com.jcabi.xml.XML;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.jpeek.Base;
+import org.jpeek.Samples;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link Skeleton#xml()}.
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SkeletonBench {
+
+    /**
+     * How many sample classes to parse.
+     */
+    @Param({"1", "9", "27"})
+    public int classes;
+
+    /**
+     * Compiled samples.
+     */
+    private Base base;
+
+    /**
+     * Compile the samples.
+     * @throws IOException If fails
+     */
+    @Setup
+    public void compile() throws IOException {
+        this.base = new Samples(this.classes);
+        this.base.files();
+    }
+
+    /**
+     * Parse classes into the skeleton in one thread.
+     * @return Skeleton
+     */
+    @Benchmark
+    public XML parses() {
+        return new Skeleton(this.base, 1).xml();
+    }
+}
@@ -5,22 +5,23 @@
 package org.jpeek;
 
 import com.jcabi.log.Logger;
-import com.jcabi.xml.ClasspathSources;
 import com.jcabi.xml.StrictXML;
 import com.jcabi.xml.XML;
 import com.jcabi.xml.XMLDocument;
 import com.jcabi.xml.XSDDocument;
 import com.jcabi.xml.XSL;
 import com.jcabi.xml.XSLChain;
-import com.jcabi.xml.XSLDocument;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import org.cactoos.io.ResourceOf;
 import org.cactoos.io.TeeInput;
+import org.cactoos.iterable.Mapped;
 import org.cactoos.list.ListOf;
 import org.cactoos.map.MapEntry;
 import org.cactoos.map.MapOf;
@@ -28,6 +29,16 @@ import org.cactoos.scalar.And;
 import org.cactoos.scalar.AndInThreads;
 import org.cactoos.scalar.IoChecked;
 import org.cactoos.scalar.LengthOf;
+import org.jpeek.calculus.Cached;
+import org.jpeek.calculus.Calculi;
+import org.jpeek.calculus.Calculus;
+import org.jpeek.calculus.java.Ccm;
+import org.jpeek.calculus.java.Fused;
+import org.jpeek.calculus.java.Lcom;
+import org.jpeek.calculus.java.Lcom2;
+import org.jpeek.calculus.java.Lcom3;
+import org.jpeek.calculus.java.Lcom4;
+import org.jpeek.calculus.java.Lcom5;
 import org.jpeek.calculus.xsl.XslCalculus;
 import org.jpeek.skeleton.Skeleton;
 import org.xembly.Directives;
@@ -43,9 +54,9 @@ import org.xembly.Xembler;
 public final class App {
 
     /**
-     * Location of the project to analyze.
+     * The project to analyze.
      */
-    private final Path input;
+    private final Base input;
 
     /**
      * Directory to save reports to.
@@ -57,12 +68,26 @@ public final class App {
      */
     private final Map<String, Object> params;
 
+    /**
+     * Timings of stages.
+     */
+    private final Timings timings;
+
     /**
      * Ctor.
      * @param source Source directory
      * @param target Target dir
      */
     public App(final Path source, final Path target) {
+        this(new DefaultBase(source), target);
+    }
+
+    /**
+     * Ctor.
+     * @param source Base with the files to analyze
+     * @param target Target dir
+     */
+    public App(final Base source, final Path target) {
         this(
             source, target,
             new MapOf<>(
@@ -91,10 +116,22 @@ public final class App {
      * @param args XSL params
      */
     public App(final Path source, final Path target,
+        final Map<String, Object> args) {
+        this(new DefaultBase(source), target, args);
+    }
+
+    /**
+     * Ctor.
+     * @param source Base with the files to analyze
+     * @param target Target dir
+     * @param args XSL params
+     */
+    public App(final Base source, final Path target,
         final Map<String, Object> args) {
         this.input = source;
         this.output = target;
         this.params = args;
+        this.timings = new Timings();
     }
 
     /**
@@ -105,6 +142,30 @@ public final class App {
      *  easier to add and remove metrics from execution.
      */
     public void analyze() throws IOException {
+        this.timings.measured(
+            "analysis",
+            () -> {
+                this.analyzed();
+                return true;
+            }
+        );
+        this.save(new Xembler(this.timings).xmlQuietly(), "timings.xml");
+    }
+
+    /**
+     * Timings of stages of all analyses, so far, which are saved into
+     * {@code timings.xml} too.
+     * @return Timings
+     */
+    public Timings timings() {
+        return this.timings;
+    }
+
+    /**
+     * Analyze sources, recording timings of stages.
+     * @throws IOException If fails
+     */
+    private void analyzed() throws IOException {
         final long start = System.currentTimeMillis();
         final Collection<XSL> layers = new ArrayList<>(3);
         if (this.params.containsKey("include-ctors")) {
@@ -137,6 +198,43 @@ public final class App {
             this, "%d XML reports created in %[ms]s",
             reports.size(), System.currentTimeMillis() - start
         );
+        final Iterable<XML> xmls = new Mapped<>(Report::xml, reports);
+        this.timings.measured(
+            "index",
+            () -> {
+                this.index(xmls);
+                return true;
+            }
+        );
+        this.timings.measured(
+            "matrix",
+            () -> {
+                this.matrix(xmls);
+                return true;
+            }
+        );
+        Logger.info(this, "Matrix generated with %d metrics", reports.size());
+        this.copy("jpeek.css");
+        new IoChecked<>(
+            new And(
+                this::copyXsl,
+                new ListOf<>("index", "matrix", "metric", "skeleton")
+            )
+        ).value();
+        new IoChecked<>(
+            new And(
+                this::copyXsd,
+                new ListOf<>("index", "matrix", "metric", "skeleton")
+            )
+        ).value();
+    }
+
+    /**
+     * Build and save the index of the reports, with the badge.
+     * @param xmls Reports of all metrics
+     * @throws IOException If fails
+     */
+    private void index(final Iterable<XML> xmls) throws IOException {
         final XML index = new StrictXML(
             new XSLChain(
                 new ListOf<>(
@@ -145,7 +243,7 @@ public final class App {
                 )
             ).transform(
                 new XMLDocument(
-                    new Xembler(new Index(this.output)).xmlQuietly()
+                    new Xembler(new Index(xmls)).xmlQuietly()
                 )
             ),
             new XSDDocument(App.class.getResourceAsStream("xsd/index.xsd"))
@@ -167,47 +265,124 @@ public final class App {
             App.xsl("index.xsl").transform(index).toString(),
             "index.html"
         );
+    }
+
+    /**
+     * Build and save the matrix of the reports.
+     * @param xmls Reports of all metrics
+     * @throws IOException If fails
+     */
+    private void matrix(final Iterable<XML> xmls) throws IOException {
         final XML matrix = new StrictXML(
             App.xsl("matrix-post.xsl").transform(
                 new XMLDocument(
-                    new Xembler(new Matrix(this.output)).xmlQuietly()
+                    new Xembler(new Matrix(xmls)).xmlQuietly()
                 )
             ),
             new XSDDocument(App.class.getResourceAsStream("xsd/matrix.xsd"))
         );
-        Logger.info(this, "Matrix generated with %d metrics", reports.size());
         this.save(matrix.toString(), "matrix.xml");
         this.save(
             App.xsl("matrix.xsl").transform(matrix).toString(),
             "matrix.html"
         );
-        this.copy("jpeek.css");
-        new IoChecked<>(
-            new And(
-                this::copyXsl,
-                new ListOf<>("index", "matrix", "metric", "skeleton")
-            )
-        ).value();
-        new IoChecked<>(
-            new And(
-                this::copyXsd,
-                new ListOf<>("index", "matrix", "metric", "skeleton")
-            )
-        ).value();
     }
 
     private void buildReport(final Collection<XSL> layers, final Collection<Report> reports)
         throws IOException {
-        final XML skeleton = new Skeleton(new DefaultBase(this.input)).xml();
+        final int threads = this.threads();
+        final Skeleton parsed;
+        if (this.params.containsKey("cache-dir")) {
+            parsed = new Skeleton(
+                this.input, threads,
+                Paths.get(this.params.get("cache-dir").toString()),
+                this.timings
+            );
+        } else {
+            parsed = new Skeleton(this.input, threads, this.timings);
+        }
+        final XML skeleton = parsed.xml(this.output.resolve("skeleton.xml"));
         final ReportBuilder builder = new ReportBuilder(
-            new XSLChain(layers), new XslCalculus(), skeleton, this.params
+            this.calculus(),
+            this.timings.measured(
+                "layers", () -> new XSLChain(layers).transform(skeleton)
+            ),
+            this.params, this.timings
         );
-        this.save(skeleton.toString(), "skeleton.xml");
         Arrays.stream(Metrics.values())
             .filter(metric -> this.params.containsKey(metric.name()))
             .forEach(metric -> builder.add(metric, reports));
     }
 
+    /**
+     * How many threads to work with.
+     * @return The {@code threads} param, or the number of processors
+     */
+    private int threads() {
+        final int threads;
+        if (this.params.containsKey("threads")) {
+            threads = Integer.parseInt(this.params.get("threads").toString());
+        } else {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        return threads;
+    }
+
+    /**
+     * Calculus of all metrics: XSL by default, or Java for metrics
+     * listed in the {@code java-metrics} param, with results of classes
+     * cached in the {@code cache-dir}, if it's set. With the
+     * {@code fused} param, the metrics listed in {@code java-metrics}
+     * are calculated at once, class by class, and not cached; the
+     * others stay in XSL.
+     * @return Calculus
+     */
+    private Calculus calculus() {
+        final Map<String, Calculus> java = new MapOf<>(
+            new MapEntry<>("LCOM", new Lcom()),
+            new MapEntry<>("LCOM2", new Lcom2()),
+            new MapEntry<>("LCOM3", new Lcom3()),
+            new MapEntry<>("LCOM4", new Lcom4()),
+            new MapEntry<>("LCOM5", new Lcom5()),
+            new MapEntry<>("CCM", new Ccm())
+        );
+        final Map<String, Calculus> chosen = new HashMap<>(0);
+        if (this.params.containsKey("java-metrics")) {
+            for (final String metric
+                : this.params.get("java-metrics").toString().split(",")) {
+                if (!java.containsKey(metric)) {
+                    throw new IllegalArgumentException(
+                        String.format(
+                            "Metric '%s' can't be calculated in Java", metric
+                        )
+                    );
+                }
+                chosen.put(metric, java.get(metric));
+            }
+        }
+        final Calculus calculus = new Calculi(new XslCalculus(), chosen);
+        final Calculus cached;
+        if (this.params.containsKey("cache-dir")) {
+            cached = new Cached(
+                Paths.get(this.params.get("cache-dir").toString()), calculus
+            );
+        } else {
+            cached = calculus;
+        }
+        final Calculus result;
+        if (this.params.containsKey("fused")) {
+            final Fused fused = new Fused(this.threads(), chosen.keySet());
+            final Map<String, Calculus> once = new HashMap<>(0);
+            for (final String metric : fused.metrics()) {
+                once.put(metric, fused);
+            }
+            result = new Calculi(cached, once);
+        } else {
+            result = cached;
+        }
+        return result;
+    }
+
     private void copy(final String name) throws IOException {
         new IoChecked<>(
             new LengthOf(
@@ -241,8 +416,6 @@ public final class App {
     }
 
     private static XSL xsl(final String name) {
-        return new XSLDocument(
-            App.class.getResourceAsStream(String.format("xsl/%s", name))
-        ).with(new ClasspathSources());
+        return new CompiledXsl(String.format("org/jpeek/xsl/%s", name));
     }
 }
@@ -0,0 +1,222 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek;
+
+import com.jcabi.log.Logger;
+import com.jcabi.xml.ClasspathSources;
+import com.jcabi.xml.Sources;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import com.jcabi.xml.XSL;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Result;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import org.cactoos.Scalar;
+import org.cactoos.scalar.Solid;
+import org.cactoos.scalar.Unchecked;
+import org.w3c.dom.Document;
+
+/**
+ * XSL stylesheet from the classpath, compiled once per JVM.
+ *
+ * <p>Compiled stylesheets ({@link Templates}) are cached in a process-wide
+ * map, keyed by the name of the resource, and shared by all threads.
+ * Every transformation gets its own {@link Transformer},
+ * where the parameters are bound, so the same stylesheet may be used
+ * with different parameters at the same time.</p>
+ *
+ * <p>Imports and includes are resolved from the classpath, unless other
+ * {@link Sources} are given. Stylesheets with other sources are not
+ * cached in the map, since the sources may differ from one call to
+ * another; they are compiled once per {@link #with(Sources)}.</p>
+ *
+ * <p>Errors and warnings of the compiler and of the transformation are
+ * logged and reported in the exception, if the transformation
+ * fails.</p>
+ *
+ * <p>The class is immutable and thread-safe.</p>
+ *
+ * @since 1.0
+ */
+public final class CompiledXsl implements XSL {
+
+    /**
+     * Compiled stylesheets, by resource name.
+     */
+    private static final ConcurrentMap<String, Templates> CACHE =
+        new ConcurrentHashMap<>(0);
+
+    /**
+     * Name of the resource, like {@code org/jpeek/xsl/index.xsl}.
+     */
+    private final String name;
+
+    /**
+     * XSL params.
+     */
+    private final Map<String, Object> params;
+
+    /**
+     * Compiled stylesheet.
+     */
+    private final Unchecked<Templates> templates;
+
+    /**
+     * Ctor.
+     * @param resource Name of the resource in the classpath
+     */
+    public CompiledXsl(final String resource) {
+        this(resource, new HashMap<>(0));
+    }
+
+    /**
+     * Ctor.
+     * @param resource Name of the resource in the classpath
+     * @param args XSL params
+     */
+    public CompiledXsl(final String resource, final Map<String, Object> args) {
+        this(
+            resource, args,
+            () -> CompiledXsl.CACHE.computeIfAbsent(
+                resource, res -> CompiledXsl.compile(res, new ClasspathSources())
+            )
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param resource Name of the resource in the classpath
+     * @param args XSL params
+     * @param tpl Compiled stylesheet
+     */
+    private CompiledXsl(final String resource, final Map<String, Object> args,
+        final Scalar<Templates> tpl) {
+        this.name = resource;
+        this.params = args;
+        this.templates = new Unchecked<>(tpl);
+    }
+
+    @Override
+    public XML transform(final XML xml) {
+        final Document target;
+        try {
+            target = DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder().newDocument();
+        } catch (final ParserConfigurationException ex) {
+            throw new IllegalStateException(ex);
+        }
+        this.transformInto(xml, new DOMResult(target));
+        return new XMLDocument(target);
+    }
+
+    @Override
+    public String applyTo(final XML xml) {
+        final StringWriter writer = new StringWriter();
+        this.transformInto(xml, new StreamResult(writer));
+        return writer.toString();
+    }
+
+    @Override
+    public XSL with(final Sources sources) {
+        return new CompiledXsl(
+            this.name, this.params,
+            new Solid<>(() -> CompiledXsl.compile(this.name, sources))
+        );
+    }
+
+    @Override
+    public XSL with(final String param, final Object value) {
+        final Map<String, Object> args = new HashMap<>(this.params);
+        args.put(param, value);
+        return new CompiledXsl(this.name, args, this.templates::value);
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
+    /**
+     * Transform the XML into the result.
+     * @param xml The XML
+     * @param result Where to put the result
+     */
+    private void transformInto(final XML xml, final Result result) {
+        final long start = System.nanoTime();
+        final XslErrors errors = new XslErrors();
+        try {
+            final Transformer trans = this.templates.value().newTransformer();
+            trans.setErrorListener(errors);
+            for (final Map.Entry<String, Object> ent : this.params.entrySet()) {
+                trans.setParameter(ent.getKey(), ent.getValue());
+            }
+            trans.transform(new DOMSource(xml.node()), result);
+        } catch (final TransformerException ex) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Failed to transform with %s: %s", this.name, errors
+                ),
+                ex
+            );
+        }
+        Logger.debug(
+            this, "%s transformed XML in %[nano]s",
+            this.name, System.nanoTime() - start
+        );
+    }
+
+    /**
+     * Compile the stylesheet.
+     * @param resource Name of the resource
+     * @param sources Where imports and includes are resolved
+     * @return Compiled stylesheet
+     */
+    private static Templates compile(final String resource,
+        final Sources sources) {
+        final URL url = CompiledXsl.class.getClassLoader().getResource(resource);
+        if (url == null) {
+            throw new IllegalArgumentException(
+                String.format("XSL resource %s not found", resource)
+            );
+        }
+        final long start = System.nanoTime();
+        final XslErrors errors = new XslErrors();
+        final TransformerFactory factory = TransformerFactory.newInstance();
+        factory.setErrorListener(errors);
+        factory.setURIResolver(sources);
+        final Templates compiled;
+        try (InputStream stream = url.openStream()) {
+            compiled = factory.newTemplates(
+                new StreamSource(stream, url.toString())
+            );
+        } catch (final IOException | TransformerException ex) {
+            throw new IllegalStateException(
+                String.format("Failed to compile %s: %s", resource, errors),
+                ex
+            );
+        }
+        Logger.debug(
+            CompiledXsl.class, "%s compiled in %[nano]s",
+            resource, System.nanoTime() - start
+        );
+        return compiled;
+    }
+}
@@ -5,13 +5,8 @@
 package org.jpeek;
 
 import com.jcabi.xml.XML;
-import com.jcabi.xml.XMLDocument;
-import java.io.FileNotFoundException;
-import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.List;
-import org.cactoos.io.Directory;
-import org.cactoos.iterable.Filtered;
 import org.cactoos.iterable.Joined;
 import org.cactoos.iterable.Mapped;
 import org.cactoos.iterable.Sorted;
@@ -29,16 +24,16 @@ import org.xembly.Directives;
 final class Index implements Iterable<Directive> {
 
     /**
-     * Directory to save index to.
+     * Reports of all metrics.
      */
-    private final Path output;
+    private final Iterable<XML> reports;
 
     /**
      * Ctor.
-     * @param target Target dir
+     * @param xmls Reports of all metrics, as they are saved
      */
-    Index(final Path target) {
-        this.output = target;
+    Index(final Iterable<XML> xmls) {
+        this.reports = xmls;
     }
 
     @Override
@@ -56,25 +51,14 @@ final class Index implements Iterable<Directive> {
                 ).iterator()
             ).append(
                 new Joined<>(
-                    new Mapped<>(
-                        Index::metric,
-                        new Filtered<>(
-                            path -> path.getFileName().toString().matches(
-                                "^[A-Z].+\\.xml$"
-                            ),
-                            new Directory(this.output)
-                        )
-                    )
+                    new Mapped<>(Index::metric, this.reports)
                 )
             )
             .iterator();
     }
 
-    private static Iterable<Directive> metric(final Path file)
-        throws FileNotFoundException {
-        final String name = file.getFileName()
-            .toString().replaceAll("\\.xml$", "");
-        final XML xml = new XMLDocument(file.toFile());
+    private static Iterable<Directive> metric(final XML xml) {
+        final String name = xml.xpath("/metric/title/text()").get(0);
         final List<Double> values = new ListOf<>(
             new Sorted<>(
                 new Mapped<>(
@@ -0,0 +1,85 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek;
+
+import com.jcabi.log.Logger;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Base that reads files straight from a JAR, without extracting it.
+ *
+ * <p>The archive is opened as a read-only zip file system, which reads
+ * its central directory once, and the files are returned as paths inside
+ * that file system, so class bytes are read directly from the archive.
+ * Fat JARs are supported, since their classes, like Spring Boot's
+ * {@code BOOT-INF/classes} or {@code WEB-INF/classes}, are just
+ * directories inside the archive. Nested library JARs,
+ * like {@code BOOT-INF/lib/*.jar}, are dependencies and are not
+ * analyzed.</p>
+ *
+ * <p>The paths are valid only until the base is closed.</p>
+ *
+ * <p>There is no thread-safety guarantee.
+ *
+ * @since 1.0
+ */
+public final class JarBase implements Base, Closeable {
+
+    /**
+     * The JAR file.
+     */
+    private final Path jar;
+
+    /**
+     * Zip file system, opened on first use.
+     */
+    private final AtomicReference<FileSystem> zip;
+
+    /**
+     * Ctor.
+     * @param path Path of the JAR file
+     */
+    public JarBase(final Path path) {
+        this.jar = path;
+        this.zip = new AtomicReference<>();
+    }
+
+    @Override
+    public String toString() {
+        return this.jar.normalize().toAbsolutePath().toString();
+    }
+
+    @Override
+    public Iterable<Path> files() throws IOException {
+        if (this.zip.get() == null) {
+            this.zip.set(
+                FileSystems.newFileSystem(this.jar, (ClassLoader) null)
+            );
+        }
+        final List<Path> files;
+        try (Stream<Path> stream = Files.walk(this.zip.get().getPath("/"))) {
+            files = stream.collect(Collectors.toList());
+        }
+        Logger.debug(this, "Found %d entries in %s", files.size(), this.jar);
+        return files;
+    }
+
+    @Override
+    public void close() throws IOException {
+        final FileSystem opened = this.zip.getAndSet(null);
+        if (opened != null) {
+            opened.close();
+        }
+    }
+}
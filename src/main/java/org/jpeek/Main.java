@@ -9,6 +9,7 @@ import com.beust.jcommander.Parameter;
 import com.beust.jcommander.converters.FileConverter;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.log4j.ConsoleAppender;
@@ -36,7 +37,7 @@ public final class Main {
         names = { "--sources", "-s" },
         converter = FileConverter.class,
         required = true,
-        description = "Directory with .class files"
+        description = "Directory with .class files, or a JAR file"
     )
     private File sources;
 
@@ -73,6 +74,31 @@ public final class Main {
     )
     private String metrics;
 
+    @Parameter(
+        names = "--java-metrics",
+        description = "Comma-separated list of metrics to calculate in Java instead of XSL (LCOM, LCOM2, LCOM3, LCOM4, LCOM5 and CCM are supported; LCOM4 and CCM in Java follow their papers and give other values than in XSL)"
+    )
+    private String java;
+
+    @Parameter(
+        names = "--fused",
+        description = "Calculate the metrics listed in --java-metrics at once, visiting every class only once, in parallel, without caching them"
+    )
+    private boolean fused;
+
+    @Parameter(
+        names = "--threads",
+        description = "How many threads to parse classes with, and to calculate them with --fused (by default, as many as there are processors)"
+    )
+    private int threads;
+
+    @Parameter(
+        names = "--cache-dir",
+        converter = FileConverter.class,
+        description = "Directory to cache parsed classes and their metrics in between runs, so that unchanged classes are not parsed and calculated again"
+    )
+    private File cache;
+
     @Parameter(
         names = "--overwrite",
         description = "Overwrite the target directory if it exists (otherwise an error is raised)"
@@ -118,14 +144,14 @@ public final class Main {
         }
         final Map<String, Object> params = this.buildParameters();
         final ConsoleAppender console = this.buildConsoleAppender();
-        new App(
-            this.sources.toPath(),
-            new FileTarget(
-                this.target,
-                this.overwrite
-            ).toPath(),
-            params
-        ).analyze();
+        final Path output = new FileTarget(this.target, this.overwrite).toPath();
+        if (this.sources.isFile()) {
+            try (JarBase base = new JarBase(this.sources.toPath())) {
+                new App(base, output, params).analyze();
+            }
+        } else {
+            new App(this.sources.toPath(), output, params).analyze();
+        }
         if (!this.quiet) {
             Logger.getRootLogger().removeAppender(console);
         }
@@ -142,6 +168,23 @@ public final class Main {
         if (this.privates) {
             params.put("include-private-methods", 1);
         }
+        if (this.threads < 0) {
+            throw new IllegalArgumentException(
+                String.format("Invalid number of threads: %d", this.threads)
+            );
+        }
+        if (this.threads > 0) {
+            params.put("threads", this.threads);
+        }
+        if (this.java != null) {
+            params.put("java-metrics", this.java);
+        }
+        if (this.cache != null) {
+            params.put("cache-dir", this.cache.getAbsolutePath());
+        }
+        if (this.fused) {
+            params.put("fused", true);
+        }
         for (final String metric : this.metrics.split(",", -1)) {
             if (!metric.matches("[A-Z]+[0-9]?")) {
                 throw new IllegalArgumentException(
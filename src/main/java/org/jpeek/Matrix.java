@@ -4,14 +4,11 @@
  */
 package org.jpeek;
 
-import com.jcabi.xml.XMLDocument;
-import java.nio.file.Path;
+import com.jcabi.xml.XML;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
-import org.cactoos.io.Directory;
-import org.cactoos.iterable.Filtered;
 import org.cactoos.iterable.Joined;
 import org.cactoos.iterable.Mapped;
 import org.cactoos.scalar.And;
@@ -29,16 +26,16 @@ import org.xembly.Directives;
 final class Matrix implements Iterable<Directive> {
 
     /**
-     * Directory to save index to.
+     * Reports of all metrics.
      */
-    private final Path output;
+    private final Iterable<XML> reports;
 
     /**
      * Ctor.
-     * @param target Target dir
+     * @param xmls Reports of all metrics, as they are saved
      */
-    Matrix(final Path target) {
-        this.output = target;
+    Matrix(final Iterable<XML> xmls) {
+        this.reports = xmls;
     }
 
     @Override
@@ -46,7 +43,7 @@ final class Matrix implements Iterable<Directive> {
         final SortedMap<String, Map<String, String>> matrix = new TreeMap<>();
         new Unchecked<>(
             new And(
-                path -> new And(
+                report -> new And(
                     node -> {
                         final String name = String.format(
                             "%s.%s",
@@ -60,14 +57,9 @@ final class Matrix implements Iterable<Directive> {
                         );
                         return true;
                     },
-                    new XMLDocument(path.toFile()).nodes("//class")
+                    report.nodes("//class")
                 ).value(),
-                new Filtered<>(
-                    path -> path.getFileName().toString().matches(
-                        "^[A-Z].+\\.xml$"
-                    ),
-                    new Directory(this.output)
-                )
+                this.reports
             )
         ).value();
         return new Directives()
@@ -4,6 +4,7 @@
  */
 package org.jpeek;
 
+import com.jcabi.xml.XML;
 import java.io.IOException;
 import java.nio.file.Path;
 
@@ -11,7 +12,6 @@ import java.nio.file.Path;
  * Report interface.
  * @since 0.1
  */
-@FunctionalInterface
 public interface Report {
 
     /**
@@ -21,4 +21,11 @@ public interface Report {
      * @throws IOException If fails
      */
     boolean save(Path target) throws IOException;
+
+    /**
+     * The report as XML, exactly as it is saved.
+     * @return XML
+     * @throws IOException If fails
+     */
+    XML xml() throws IOException;
 }
@@ -5,7 +5,6 @@
 package org.jpeek;
 
 import com.jcabi.xml.XML;
-import com.jcabi.xml.XSL;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
@@ -14,24 +13,23 @@ import org.jpeek.calculus.Calculus;
 /**
  * Builds a {@link Report} for a single metric.
  *
+ * <p>All reports share the same skeleton, which is already filtered
+ * by the layers, so it is neither transformed nor kept in memory once
+ * per metric.</p>
+ *
  * <p>There is no thread-safety guarantee.
  *
  * @since 0.72.0
  */
 final class ReportBuilder {
 
-    /**
-     * XSL chain to apply to the skeleton.
-     */
-    private final XSL chain;
-
     /**
      * Calculus.
      */
     private final Calculus xsl;
 
     /**
-     * Skeleton XML.
+     * Skeleton XML, filtered by the layers.
      */
     private final XML skeleton;
 
@@ -40,19 +38,24 @@ final class ReportBuilder {
      */
     private final Map<String, Object> params;
 
+    /**
+     * Timings to record stages of reports into.
+     */
+    private final Timings timings;
+
     /**
      * Ctor.
-     * @param chn XSL chain to apply to the skeleton
      * @param clc Calculus
-     * @param skl Skeleton XML
+     * @param skl Skeleton XML, filtered by the layers
      * @param prms XSL params
+     * @param tms Timings to record stages of reports into
      */
-    ReportBuilder(final XSL chn, final Calculus clc, final XML skl,
-        final Map<String, Object> prms) {
-        this.chain = chn;
+    ReportBuilder(final Calculus clc, final XML skl,
+        final Map<String, Object> prms, final Timings tms) {
         this.xsl = clc;
         this.skeleton = skl;
         this.params = prms;
+        this.timings = tms;
     }
 
     /**
@@ -64,27 +67,30 @@ final class ReportBuilder {
         if (Objects.nonNull(metric.getSigma())) {
             reports.add(
                 new XslReport(
-                    this.chain.transform(this.skeleton), this.xsl,
+                    this.skeleton, this.xsl,
                     new ReportData(
                         metric.name(),
                         this.params,
                         metric.getMean(),
                         metric.getSigma()
-                    )
+                    ),
+                    this.timings
                 )
             );
         } else if (metric.isIncludeParams()) {
             reports.add(
                 new XslReport(
-                    this.chain.transform(this.skeleton), this.xsl,
-                    new ReportData(metric.name(), this.params)
+                    this.skeleton, this.xsl,
+                    new ReportData(metric.name(), this.params),
+                    this.timings
                 )
             );
         } else {
             reports.add(
                 new XslReport(
-                    this.chain.transform(this.skeleton), this.xsl,
-                    new ReportData(metric.name())
+                    this.skeleton, this.xsl,
+                    new ReportData(metric.name()),
+                    this.timings
                 )
             );
         }
@@ -7,12 +7,14 @@ package org.jpeek;
 import com.jcabi.xml.XML;
 import com.jcabi.xml.XMLDocument;
 import java.util.List;
+import java.util.regex.Pattern;
 import javax.xml.namespace.NamespaceContext;
-import org.cactoos.iterable.Mapped;
-import org.cactoos.list.ListOf;
 import org.cactoos.scalar.Solid;
 import org.cactoos.scalar.Unchecked;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 import org.xembly.Directives;
 import org.xembly.Xembler;
 
@@ -25,6 +27,18 @@ import org.xembly.Xembler;
  */
 final class ReportWithStatistics implements XML {
 
+    /**
+     * How many bars are in the histogram.
+     */
+    private static final int BARS = 10;
+
+    /**
+     * Number, the way XPath 1.0 understands it.
+     */
+    private static final Pattern DECIMAL = Pattern.compile(
+        "\\s*-?(\\d+(\\.\\d*)?|\\.\\d+)\\s*"
+    );
+
     /**
      * The XML with statistics.
      */
@@ -70,46 +84,124 @@ final class ReportWithStatistics implements XML {
         return this.output.value().node();
     }
 
+    /**
+     * Add statistics of values of classes, which are in the range
+     * between min and max of the metric.
+     *
+     * <p>Values are read from the DOM in one pass and accumulated in
+     * {@link Statistics}, without a list of them in memory. Only
+     * defects, which depend on the final mean and sigma, need one
+     * more pass over classes.</p>
+     *
+     * @param xml The report
+     * @return The report with statistics
+     */
     private static XML statistics(final XML xml) {
-        final Iterable<Double> values = new Mapped<>(
-            Double::parseDouble,
-            xml.xpath(
-                "//class[@value<=/metric/max and @value>=/metric/min]/@value"
-            )
-        );
-        final double total = new ListOf<>(values).size();
-        double sum = 0.0d;
-        for (final Double value : values) {
-            sum += value;
+        final Node node = xml.node();
+        final Element metric;
+        if (node.getNodeType() == Node.DOCUMENT_NODE) {
+            metric = ((Document) node).getDocumentElement();
+        } else {
+            metric = (Element) node;
         }
-        final double mean = sum / total;
-        double squares = 0.0d;
-        for (final Double value : values) {
-            squares += Math.pow(value - mean, 2.0d);
+        final double min = ReportWithStatistics.number(
+            ReportWithStatistics.child(metric, "min")
+        );
+        final double max = ReportWithStatistics.number(
+            ReportWithStatistics.child(metric, "max")
+        );
+        final NodeList classes = metric.getElementsByTagName("class");
+        final Statistics stats = new Statistics(min, max);
+        for (int idx = 0; idx < classes.getLength(); ++idx) {
+            final double value = ReportWithStatistics.value(classes.item(idx));
+            if (value >= min && value <= max) {
+                stats.add(value);
+            }
         }
-        final double variance = squares / total;
+        final double mean = stats.mean();
+        final double variance = stats.variance();
         final double sigma = Math.sqrt(variance);
         double defects = 0.0d;
-        for (final Double value : values) {
-            if (value < mean - sigma || value > mean + sigma) {
+        for (int idx = 0; idx < classes.getLength(); ++idx) {
+            final double value = ReportWithStatistics.value(classes.item(idx));
+            if (value >= min && value <= max
+                && (value < mean - sigma || value > mean + sigma)) {
                 ++defects;
             }
         }
-        return new XMLDocument(
-            new Xembler(
-                new Directives()
-                    .xpath("/metric")
-                    .add("statistics")
-                    .add("total").set(xml.nodes("//class").size())
-                    .up()
-                    .add("elements").set((long) total).up()
-                    .add("mean").set(Double.toString(mean)).up()
-                    .add("sigma").set(Double.toString(sigma)).up()
-                    .add("variance").set(Double.toString(variance))
-                    .up()
-                    .add("defects")
-                    .set(Double.toString(defects / total)).up()
-            ).applyQuietly(xml.node())
-        );
+        final Directives dirs = new Directives()
+            .xpath("/metric")
+            .add("statistics")
+            .add("total").set(classes.getLength()).up()
+            .add("elements").set(stats.count()).up()
+            .add("mean").set(Double.toString(mean)).up()
+            .add("sigma").set(Double.toString(sigma)).up()
+            .add("variance").set(Double.toString(variance)).up()
+            .add("defects")
+            .set(Double.toString(defects / stats.count())).up()
+            .add("p50").set(Double.toString(stats.quantile(0.5d))).up()
+            .add("p90").set(Double.toString(stats.quantile(0.9d))).up()
+            .add("p99").set(Double.toString(stats.quantile(0.99d))).up()
+            .add("histogram");
+        final long[] bars = stats.histogram(ReportWithStatistics.BARS);
+        final double width = (max - min) / bars.length;
+        for (int idx = 0; idx < bars.length; ++idx) {
+            dirs.add("bar")
+                .attr("from", Double.toString(min + width * idx))
+                .attr("to", Double.toString(min + width * (idx + 1)))
+                .set(bars[idx])
+                .up();
+        }
+        return new XMLDocument(new Xembler(dirs).applyQuietly(node));
+    }
+
+    /**
+     * Value of the class, as XPath would read its attribute.
+     * @param clazz The class element
+     * @return The value, or NaN if it's absent or not a number
+     */
+    private static double value(final Node clazz) {
+        final Node attr = clazz.getAttributes().getNamedItem("value");
+        final double value;
+        if (attr == null) {
+            value = Double.NaN;
+        } else {
+            value = ReportWithStatistics.number(attr.getNodeValue());
+        }
+        return value;
+    }
+
+    /**
+     * Text of the first child element with the name.
+     * @param parent The parent element
+     * @param name Name of the child
+     * @return Text, or an empty string if there is no such child
+     */
+    private static String child(final Element parent, final String name) {
+        String text = "";
+        final NodeList kids = parent.getChildNodes();
+        for (int idx = 0; idx < kids.getLength(); ++idx) {
+            if (name.equals(kids.item(idx).getNodeName())) {
+                text = kids.item(idx).getTextContent();
+                break;
+            }
+        }
+        return text;
+    }
+
+    /**
+     * The text as an XPath 1.0 number, which is NaN for anything
+     * but plain decimals.
+     * @param text The text
+     * @return The number
+     */
+    private static double number(final String text) {
+        final double number;
+        if (ReportWithStatistics.DECIMAL.matcher(text).matches()) {
+            number = Double.parseDouble(text.trim());
+        } else {
+            number = Double.NaN;
+        }
+        return number;
     }
 }
@@ -0,0 +1,93 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import org.cactoos.Scalar;
+import org.cactoos.Text;
+import org.cactoos.scalar.IoChecked;
+
+/**
+ * SHA-256 digest of bytes, in hex.
+ *
+ * <p>Bytes are streamed through the digest, so a file is never
+ * read into memory.</p>
+ *
+ * <p>There is no thread-safety guarantee.
+ *
+ * @since 1.0
+ */
+public final class Sha256 implements Text {
+
+    /**
+     * The bytes.
+     */
+    private final Scalar<InputStream> input;
+
+    /**
+     * Ctor.
+     * @param text The text, in UTF-8
+     */
+    public Sha256(final String text) {
+        this(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Ctor.
+     * @param bytes The bytes
+     */
+    public Sha256(final byte[] bytes) {
+        this(() -> new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Ctor.
+     * @param file The file
+     */
+    public Sha256(final Path file) {
+        this(() -> Files.newInputStream(file));
+    }
+
+    /**
+     * Ctor.
+     * @param src The bytes
+     */
+    public Sha256(final Scalar<InputStream> src) {
+        this.input = src;
+    }
+
+    @Override
+    public String asString() throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        try (InputStream stream = new DigestInputStream(
+            new IoChecked<>(this.input).value(), digest
+        )) {
+            final byte[] buffer = new byte[1 << 16];
+            int read = 0;
+            while (read >= 0) {
+                read = stream.read(buffer);
+            }
+        }
+        final StringBuilder hex = new StringBuilder(64);
+        for (final byte part : digest.digest()) {
+            hex.append(Character.forDigit((part >> 4) & 0xF, 16))
+                .append(Character.forDigit(part & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek;
+
+/**
+ * Statistics of numbers in a range, accumulated one by one.
+ *
+ * <p>Mean and variance are updated with Welford's algorithm, and the
+ * numbers are counted in a fixed number of equal bins of the range,
+ * so the memory doesn't grow with the number of values. Quantiles
+ * are estimated from the bins, with the error not bigger than the
+ * width of a bin.</p>
+ *
+ * <p>There is no thread-safety guarantee.
+ *
+ * @since 1.0
+ */
+final class Statistics {
+
+    /**
+     * How many bins quantiles are estimated with.
+     */
+    private static final int BINS = 1000;
+
+    /**
+     * Lower bound of the range.
+     */
+    private final double low;
+
+    /**
+     * Upper bound of the range.
+     */
+    private final double high;
+
+    /**
+     * Counts of numbers in bins.
+     */
+    private final long[] counts;
+
+    /**
+     * How many numbers are added.
+     */
+    private long total;
+
+    /**
+     * Mean of the numbers.
+     */
+    private double avg;
+
+    /**
+     * Sum of squares of differences from the mean.
+     */
+    private double squares;
+
+    /**
+     * Ctor.
+     * @param min Lower bound of the range
+     * @param max Upper bound of the range
+     */
+    Statistics(final double min, final double max) {
+        this.low = min;
+        this.high = max;
+        this.counts = new long[Statistics.BINS];
+    }
+
+    /**
+     * Add the number, which must be in the range.
+     * @param value The number
+     */
+    void add(final double value) {
+        ++this.total;
+        final double delta = value - this.avg;
+        this.avg += delta / this.total;
+        this.squares += delta * (value - this.avg);
+        ++this.counts[this.bin(value)];
+    }
+
+    /**
+     * How many numbers are added.
+     * @return Count
+     */
+    long count() {
+        return this.total;
+    }
+
+    /**
+     * Mean of the numbers.
+     * @return Mean, or NaN if there are no numbers
+     */
+    double mean() {
+        final double mean;
+        if (this.total == 0L) {
+            mean = Double.NaN;
+        } else {
+            mean = this.avg;
+        }
+        return mean;
+    }
+
+    /**
+     * Variance of the numbers.
+     * @return Variance, or NaN if there are no numbers
+     */
+    double variance() {
+        return this.squares / this.total;
+    }
+
+    /**
+     * Estimated quantile of the numbers, interpolated inside the bin
+     * where it falls.
+     * @param fraction Fraction of numbers below the quantile, from 0 to 1
+     * @return Quantile, or NaN if there are no numbers
+     */
+    double quantile(final double fraction) {
+        double result = Double.NaN;
+        if (this.total > 0L) {
+            final double rank = Math.max(1.0d, Math.ceil(fraction * this.total));
+            long seen = 0L;
+            for (int idx = 0; idx < this.counts.length; ++idx) {
+                if (seen + this.counts[idx] >= rank) {
+                    result = this.low + this.width() * (
+                        idx + (rank - seen) / this.counts[idx]
+                    );
+                    break;
+                }
+                seen += this.counts[idx];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts of numbers in equal parts of the range.
+     * @param parts How many parts, which must divide the number of bins
+     * @return Counts
+     */
+    long[] histogram(final int parts) {
+        if (Statistics.BINS % parts != 0) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "%d bins can't be split into %d parts", Statistics.BINS, parts
+                )
+            );
+        }
+        final long[] bars = new long[parts];
+        for (int idx = 0; idx < this.counts.length; ++idx) {
+            bars[idx * parts / this.counts.length] += this.counts[idx];
+        }
+        return bars;
+    }
+
+    /**
+     * Bin of the number.
+     * @param value The number
+     * @return Index of the bin
+     */
+    private int bin(final double value) {
+        final int bin;
+        if (this.high > this.low) {
+            bin = (int) Math.min(
+                this.counts.length - 1,
+                Math.max(
+                    0L,
+                    (long) ((value - this.low) * this.counts.length
+                        / (this.high - this.low))
+                )
+            );
+        } else {
+            bin = 0;
+        }
+        return bin;
+    }
+
+    /**
+     * Width of a bin.
+     * @return Width
+     */
+    private double width() {
+        return (this.high - this.low) / this.counts.length;
+    }
+}
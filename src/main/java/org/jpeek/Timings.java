@@ -0,0 +1,160 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.cactoos.Scalar;
+import org.cactoos.scalar.IoChecked;
+import org.xembly.Directive;
+import org.xembly.Directives;
+
+/**
+ * Wall time, CPU time and allocated bytes of stages of the analysis.
+ *
+ * <p>A stage may run many times, like parsing of every slice of classes
+ * or calculating every metric in its own thread, and its numbers are
+ * summed up. CPU time and allocated bytes are of the thread that runs
+ * the stage, so the stages that hand their work over to other threads,
+ * like the whole skeleton, show only their own part of it, while the
+ * stages inside those threads show the rest. Stages may be nested,
+ * so their wall times don't add up. Allocated bytes are -1, when the
+ * JVM can't count them.</p>
+ *
+ * <p>Directives build the {@code timings} element with a {@code stage}
+ * for every stage, in the order they started for the first time, with
+ * milliseconds in {@code wall} and {@code cpu}, and bytes in
+ * {@code allocated}.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+public final class Timings implements Iterable<Directive> {
+
+    /**
+     * Calls, wall nanoseconds, CPU nanoseconds and allocated bytes,
+     * by stages.
+     */
+    private final Map<String, long[]> stages;
+
+    /**
+     * Threads of the JVM.
+     */
+    private final ThreadMXBean threads;
+
+    /**
+     * Ctor.
+     */
+    public Timings() {
+        this.stages = new LinkedHashMap<>(0);
+        this.threads = ManagementFactory.getThreadMXBean();
+    }
+
+    /**
+     * Do the work and record its numbers for the stage.
+     * @param stage Name of the stage
+     * @param work The work
+     * @param <T> Type of the result
+     * @return Result of the work
+     * @throws IOException If the work fails
+     */
+    public <T> T measured(final String stage, final Scalar<T> work)
+        throws IOException {
+        synchronized (this.stages) {
+            this.stages.putIfAbsent(stage, new long[4]);
+        }
+        final long cpu = this.cpu();
+        final long bytes = this.allocated();
+        final long start = System.nanoTime();
+        try {
+            return new IoChecked<>(work).value();
+        } finally {
+            final long wall = System.nanoTime() - start;
+            final long used = this.cpu() - cpu;
+            final long allocated;
+            if (bytes < 0L) {
+                allocated = -1L;
+            } else {
+                allocated = this.allocated() - bytes;
+            }
+            synchronized (this.stages) {
+                final long[] nums = this.stages.get(stage);
+                nums[0] += 1L;
+                nums[1] += wall;
+                nums[2] += used;
+                if (allocated < 0L || nums[3] < 0L) {
+                    nums[3] = -1L;
+                } else {
+                    nums[3] += allocated;
+                }
+            }
+        }
+    }
+
+    @Override
+    public Iterator<Directive> iterator() {
+        final Directives dirs = new Directives().add("timings");
+        synchronized (this.stages) {
+            for (final Map.Entry<String, long[]> ent : this.stages.entrySet()) {
+                dirs.add("stage")
+                    .attr("id", ent.getKey())
+                    .attr("calls", ent.getValue()[0])
+                    .attr("wall", Timings.millis(ent.getValue()[1]))
+                    .attr("cpu", Timings.millis(ent.getValue()[2]))
+                    .attr("allocated", ent.getValue()[3])
+                    .up();
+            }
+        }
+        return dirs.up().iterator();
+    }
+
+    /**
+     * CPU time of the current thread.
+     * @return Nanoseconds, or zero if the JVM doesn't count them
+     */
+    private long cpu() {
+        final long time;
+        if (this.threads.isCurrentThreadCpuTimeSupported()) {
+            time = this.threads.getCurrentThreadCpuTime();
+        } else {
+            time = 0L;
+        }
+        return time;
+    }
+
+    /**
+     * Bytes allocated by the current thread so far.
+     * @return Bytes, or -1 if the JVM doesn't count them
+     */
+    @SuppressWarnings("deprecation")
+    private long allocated() {
+        long bytes = -1L;
+        if (this.threads instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) this.threads;
+            if (bean.isThreadAllocatedMemoryEnabled()) {
+                bytes = bean.getThreadAllocatedBytes(
+                    Thread.currentThread().getId()
+                );
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Nanoseconds as milliseconds, with three decimals.
+     * @param nanos Nanoseconds
+     * @return Text
+     */
+    private static String millis(final long nanos) {
+        return String.format(Locale.ENGLISH, "%.3f", nanos / 1.0e6d);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.stream.Stream;
+import org.cactoos.Scalar;
+import org.cactoos.io.ResourceOf;
+import org.cactoos.scalar.PropertiesOf;
+
+/**
+ * Sub-directory of a cache for the current version of jpeek.
+ *
+ * <p>Versions live in the {@code jpeek-cache} sub-directory of the
+ * cache, since the cache may be any directory, like {@code target},
+ * with other things in it. Another version may calculate things
+ * differently, so everything cached by it is deleted, when the
+ * sub-directory of the current version is created, but only if it
+ * carries the marker that this class leaves in every directory it
+ * makes. Snapshots are versioned by the time they were built at,
+ * since every build of a snapshot may be different.</p>
+ *
+ * <p>There is no thread-safety guarantee.
+ *
+ * @since 1.0
+ */
+public final class VersionedDir implements Scalar<Path> {
+
+    /**
+     * Sub-directory of the cache, which jpeek owns.
+     */
+    private static final String OWN = "jpeek-cache";
+
+    /**
+     * File that marks directories of versions.
+     */
+    private static final String MARKER = ".jpeek-version";
+
+    /**
+     * Directory of the cache.
+     */
+    private final Path root;
+
+    /**
+     * Ctor.
+     * @param path Directory of the cache
+     */
+    public VersionedDir(final Path path) {
+        this.root = path;
+    }
+
+    @Override
+    public Path value() throws IOException {
+        final Path home = this.root.resolve(VersionedDir.OWN);
+        final String version = VersionedDir.version();
+        final Path current = home.resolve(
+            version.replaceAll("[^A-Za-z0-9._-]", "_")
+        );
+        Files.createDirectories(current);
+        Files.write(
+            current.resolve(VersionedDir.MARKER),
+            version.getBytes(StandardCharsets.UTF_8)
+        );
+        try (Stream<Path> dirs = Files.list(home)) {
+            for (final Path other : (Iterable<Path>) dirs::iterator) {
+                if (!other.equals(current)
+                    && Files.isRegularFile(other.resolve(VersionedDir.MARKER))) {
+                    VersionedDir.delete(other);
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Version of jpeek, with the time of the build, if it's a snapshot.
+     * @return Version
+     * @throws IOException If fails
+     */
+    private static String version() throws IOException {
+        final Properties props = new PropertiesOf(
+            new ResourceOf("org/jpeek/jpeek.properties")
+        ).value();
+        String version = props.getProperty("org.jpeek.version");
+        if (version.endsWith("-SNAPSHOT")) {
+            version = String.format(
+                "%s-%s", version, props.getProperty("org.jpeek.built")
+            );
+        }
+        return version;
+    }
+
+    /**
+     * Delete the directory with all its content.
+     * @param path The directory
+     * @throws IOException If fails
+     */
+    private static void delete(final Path path) throws IOException {
+        try (Stream<Path> all = Files.walk(path)) {
+            for (final Path item
+                : (Iterable<Path>) all.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(item);
+            }
+        }
+        Logger.debug(VersionedDir.class, "Obsolete cache %s deleted", path);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek;
+
+import com.jcabi.log.Logger;
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.xml.transform.ErrorListener;
+import javax.xml.transform.TransformerException;
+
+/**
+ * Errors of XSL compilation and transformation, for {@link CompiledXsl}.
+ *
+ * <p>Every error is logged and remembered, to be reported
+ * in the exception, if the transformation fails.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+final class XslErrors implements ErrorListener {
+
+    /**
+     * Errors seen.
+     */
+    private final Collection<String> errors;
+
+    /**
+     * Ctor.
+     */
+    XslErrors() {
+        this.errors = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void warning(final TransformerException ex) {
+        Logger.warn(this, "#warning(): %s", ex.getMessageAndLocation());
+        this.errors.add(ex.getMessageAndLocation());
+    }
+
+    @Override
+    public void error(final TransformerException ex)
+        throws TransformerException {
+        Logger.error(this, "#error(): %s", ex.getMessageAndLocation());
+        this.errors.add(ex.getMessageAndLocation());
+        throw ex;
+    }
+
+    @Override
+    public void fatalError(final TransformerException ex)
+        throws TransformerException {
+        Logger.error(this, "#fatalError(): %s", ex.getMessageAndLocation());
+        this.errors.add(ex.getMessageAndLocation());
+        throw ex;
+    }
+
+    @Override
+    public String toString() {
+        return String.join("; ", this.errors);
+    }
+}
@@ -5,7 +5,6 @@
 package org.jpeek;
 
 import com.jcabi.log.Logger;
-import com.jcabi.xml.ClasspathSources;
 import com.jcabi.xml.StrictXML;
 import com.jcabi.xml.XML;
 import com.jcabi.xml.XMLDocument;
@@ -13,13 +12,14 @@ import com.jcabi.xml.XSD;
 import com.jcabi.xml.XSDDocument;
 import com.jcabi.xml.XSL;
 import com.jcabi.xml.XSLChain;
-import com.jcabi.xml.XSLDocument;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Map;
 import org.cactoos.io.TeeInput;
 import org.cactoos.list.ListOf;
+import org.cactoos.scalar.IoChecked;
 import org.cactoos.scalar.LengthOf;
+import org.cactoos.scalar.Solid;
 import org.cactoos.scalar.Unchecked;
 import org.jpeek.calculus.Calculus;
 import org.xembly.Directives;
@@ -49,9 +49,9 @@ final class XslReport implements Report {
     /**
      * XSL stylesheet.
      */
-    private static final XSL STYLESHEET = XSLDocument.make(
-        XslReport.class.getResourceAsStream("xsl/metric.xsl")
-    ).with(new ClasspathSources());
+    private static final XSL STYLESHEET = new CompiledXsl(
+        "org/jpeek/xsl/metric.xsl"
+    );
 
     /**
      * XSL params.
@@ -78,6 +78,16 @@ final class XslReport implements Report {
      */
     private final XSL post;
 
+    /**
+     * Timings of stages.
+     */
+    private final Timings timings;
+
+    /**
+     * The report, built once for saving and for the index.
+     */
+    private final IoChecked<XML> report;
+
     /**
      * Ctor.
      * @param xml Skeleton
@@ -85,9 +95,21 @@ final class XslReport implements Report {
      * @param data Report data
      */
     XslReport(final XML xml, final Calculus calc, final ReportData data) {
+        this(xml, calc, data, new Timings());
+    }
+
+    /**
+     * Ctor.
+     * @param xml Skeleton
+     * @param calc Calculus
+     * @param data Report data
+     * @param tms Timings to record stages of the report into
+     */
+    XslReport(final XML xml, final Calculus calc, final ReportData data,
+        final Timings tms) {
         this(
             xml, calc, data.metric(), data.params(),
-            XslReport.postprocessing(data)
+            XslReport.postprocessing(data), tms
         );
     }
 
@@ -98,25 +120,23 @@ final class XslReport implements Report {
      * @param mtc Metric name
      * @param prms Report params
      * @param pst Post processing XSLs
+     * @param tms Timings to record stages of the report into
      */
     private XslReport(final XML xml, final Calculus calc, final String mtc,
-        final Map<String, Object> prms, final XSL pst) {
+        final Map<String, Object> prms, final XSL pst, final Timings tms) {
         this.skeleton = xml;
         this.metric = mtc;
         this.params = prms;
         this.calculus = calc;
         this.post = pst;
+        this.timings = tms;
+        this.report = new IoChecked<>(new Solid<>(this::built));
     }
 
     @Override
     public boolean save(final Path target) throws IOException {
         final long start = System.currentTimeMillis();
-        final XML xml = new StrictXML(
-            new ReportWithStatistics(
-                this.post.transform(this.xml())
-            ),
-            XslReport.SCHEMA
-        );
+        final XML xml = this.xml();
         new Unchecked<>(
             new LengthOf(
                 new TeeInput(
@@ -130,7 +150,10 @@ final class XslReport implements Report {
         new Unchecked<>(
             new LengthOf(
                 new TeeInput(
-                    XslReport.STYLESHEET.transform(xml).toString(),
+                    this.timings.measured(
+                        this.stage("html"),
+                        () -> XslReport.STYLESHEET.transform(xml).toString()
+                    ),
                     target.resolve(
                         String.format("%s.html", this.metric)
                     )
@@ -144,7 +167,36 @@ final class XslReport implements Report {
         return true;
     }
 
-    private XML xml() throws IOException {
+    @Override
+    public XML xml() throws IOException {
+        return this.report.value();
+    }
+
+    private XML built() throws IOException {
+        final XML calculated = this.calculated();
+        final XML processed = this.timings.measured(
+            this.stage("post"), () -> this.post.transform(calculated)
+        );
+        final XML stats = this.timings.measured(
+            this.stage("statistics"),
+            () -> new XMLDocument(new ReportWithStatistics(processed).node())
+        );
+        return this.timings.measured(
+            this.stage("validation"),
+            () -> new StrictXML(stats, XslReport.SCHEMA)
+        );
+    }
+
+    /**
+     * Name of the stage of this report.
+     * @param name Name of the stage
+     * @return Name with the metric
+     */
+    private String stage(final String name) {
+        return String.format("%s:%s", name, this.metric);
+    }
+
+    private XML calculated() throws IOException {
         return new XMLDocument(
             new Xembler(
                 new Directives()
@@ -156,9 +208,12 @@ final class XslReport implements Report {
                         XslReport.SCHEMA_FILE
                     )
             ).applyQuietly(
-                this.calculus.node(
-                    this.metric, this.params, this.skeleton
-                ).node()
+                this.timings.measured(
+                    this.stage("calculus"),
+                    () -> this.calculus.node(
+                        this.metric, this.params, this.skeleton
+                    ).node()
+                )
             )
         );
     }
@@ -166,22 +221,11 @@ final class XslReport implements Report {
     private static XSL postprocessing(final ReportData data) {
         return new XSLChain(
             new ListOf<>(
-                new XSLDocument(
-                    XslReport.class.getResourceAsStream(
-                        "xsl/metric-post-colors.xsl"
-                    )
-                ).with("low", data.mean() - data.sigma())
-                .with("high", data.mean() + data.sigma()),
-                new XSLDocument(
-                    XslReport.class.getResourceAsStream(
-                        "xsl/metric-post-range.xsl"
-                    )
-                ),
-                new XSLDocument(
-                    XslReport.class.getResourceAsStream(
-                        "xsl/metric-post-bars.xsl"
-                    )
-                )
+                new CompiledXsl("org/jpeek/xsl/metric-post-colors.xsl")
+                    .with("low", data.mean() - data.sigma())
+                    .with("high", data.mean() + data.sigma()),
+                new CompiledXsl("org/jpeek/xsl/metric-post-range.xsl"),
+                new CompiledXsl("org/jpeek/xsl/metric-post-bars.xsl")
             )
         );
     }
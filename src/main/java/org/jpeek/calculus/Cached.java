@@ -0,0 +1,323 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus;
+
+import com.jcabi.log.Logger;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Result;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.cactoos.scalar.Solid;
+import org.cactoos.scalar.Unchecked;
+import org.jpeek.Sha256;
+import org.jpeek.VersionedDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * Calculus that remembers the result of every class on disk.
+ *
+ * <p>The result of a class depends only on its own element in the
+ * skeleton, the id of its package, the metric and the params, so
+ * they are the key. Classes found in the cache are emptied in the
+ * skeleton before the origin calculus sees it, so it calculates only
+ * the changed classes, and the emptied ones are replaced by their
+ * cached results afterwards. Only the params of the layer, which
+ * include constructors, static and private methods, are in the key,
+ * while all others, like the flags of other metrics or the number of
+ * threads, don't change values.</p>
+ *
+ * <p>Results live in the {@link VersionedDir}, since another version
+ * of jpeek may calculate them differently.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+public final class Cached implements Calculus {
+
+    /**
+     * Params of the layer, which change values of metrics.
+     */
+    private static final List<String> LAYER = Arrays.asList(
+        "include-ctors", "include-static-methods", "include-private-methods"
+    );
+
+    /**
+     * Directory of results of the current version.
+     */
+    private final Unchecked<Path> dir;
+
+    /**
+     * Origin calculus.
+     */
+    private final Calculus origin;
+
+    /**
+     * Factory of transformers that serialize classes.
+     */
+    private final TransformerFactory factory;
+
+    /**
+     * Ctor.
+     * @param path Directory of the cache
+     * @param calc Origin calculus
+     */
+    public Cached(final Path path, final Calculus calc) {
+        this.dir = new Unchecked<>(
+            new Solid<>(
+                () -> new VersionedDir(path).value().resolve("metrics")
+            )
+        );
+        this.origin = calc;
+        this.factory = TransformerFactory.newInstance();
+    }
+
+    @Override
+    public XML node(final String metric, final Map<String, Object> params,
+        final XML skeleton) throws IOException {
+        final Document doc = Cached.document(skeleton.node());
+        final List<Element> classes = Cached.classes(doc);
+        final String salt = Cached.salt(metric, params);
+        final List<Path> files = new ArrayList<>(classes.size());
+        final List<Optional<Node>> results = new ArrayList<>(classes.size());
+        for (final Element clazz : classes) {
+            final Path file = this.file(
+                metric,
+                new Sha256(
+                    String.join(
+                        "\n", salt,
+                        ((Element) clazz.getParentNode()).getAttribute("id"),
+                        this.serialized(clazz)
+                    )
+                ).asString()
+            );
+            final Optional<Node> result = Cached.read(file);
+            if (result.isPresent()) {
+                while (clazz.hasChildNodes()) {
+                    clazz.removeChild(clazz.getFirstChild());
+                }
+            }
+            files.add(file);
+            results.add(result);
+        }
+        final Document target = Cached.document(
+            this.origin.node(metric, params, new XMLDocument(doc)).node()
+        );
+        final List<Element> outputs = Cached.classes(target);
+        final XML result;
+        if (outputs.size() == classes.size()) {
+            result = new XMLDocument(
+                this.merged(target, outputs, results, files)
+            );
+        } else {
+            Logger.warn(
+                this, "%s returned %d classes instead of %d, not cached",
+                metric, outputs.size(), classes.size()
+            );
+            result = this.origin.node(metric, params, skeleton);
+        }
+        return result;
+    }
+
+    /**
+     * Replace calculated classes, which were empty, with their cached
+     * results, and save the results of all others.
+     * @param target Document calculated by the origin
+     * @param outputs Classes calculated by the origin
+     * @param results Cached results of the classes, if any
+     * @param files Files of the results of the classes
+     * @return Document with the classes
+     * @throws IOException If fails
+     */
+    private Document merged(final Document target,
+        final List<Element> outputs, final List<Optional<Node>> results,
+        final List<Path> files) throws IOException {
+        int hits = 0;
+        for (int idx = 0; idx < outputs.size(); ++idx) {
+            final Element output = outputs.get(idx);
+            if (results.get(idx).isPresent()) {
+                output.getParentNode().replaceChild(
+                    target.importNode(results.get(idx).get(), true), output
+                );
+                ++hits;
+            } else {
+                this.write(output, files.get(idx));
+            }
+        }
+        Logger.debug(
+            Cached.class, "%d classes of %d taken from the cache",
+            hits, outputs.size()
+        );
+        return target;
+    }
+
+    /**
+     * File of the cached result.
+     * @param metric The metric
+     * @param digest Digest of the key
+     * @return The file
+     */
+    private Path file(final String metric, final String digest) {
+        return this.dir.value().resolve(metric)
+            .resolve(digest.substring(0, 2))
+            .resolve(String.format("%s.xml", digest));
+    }
+
+    /**
+     * Part of the key that is the same for all classes.
+     * @param metric The metric
+     * @param params Params of the calculus
+     * @return Text
+     */
+    private static String salt(final String metric,
+        final Map<String, Object> params) {
+        final StringBuilder salt = new StringBuilder(metric);
+        for (final Map.Entry<String, Object> ent
+            : new TreeMap<>(params).entrySet()) {
+            if (Cached.LAYER.contains(ent.getKey())) {
+                salt.append('\n').append(ent.getKey())
+                    .append('=').append(ent.getValue());
+            }
+        }
+        return salt.toString();
+    }
+
+    /**
+     * All classes of all packages, in the order of the document.
+     * @param doc The document
+     * @return Classes
+     */
+    private static List<Element> classes(final Document doc) {
+        final List<Element> classes = new ArrayList<>(0);
+        for (final Element pkg
+            : new Elements(doc.getDocumentElement(), "app", "package")) {
+            classes.addAll(new Elements(pkg, "class"));
+        }
+        return classes;
+    }
+
+    /**
+     * The node as a document.
+     * @param node The node, which is a document or an element
+     * @return Document
+     */
+    private static Document document(final Node node) {
+        final Document doc;
+        if (node.getNodeType() == Node.DOCUMENT_NODE) {
+            doc = (Document) node;
+        } else {
+            try {
+                doc = DocumentBuilderFactory.newInstance()
+                    .newDocumentBuilder().newDocument();
+            } catch (final ParserConfigurationException ex) {
+                throw new IllegalStateException(ex);
+            }
+            doc.appendChild(doc.importNode(node, true));
+        }
+        return doc;
+    }
+
+    /**
+     * The node as a text.
+     * @param node The node
+     * @return Text
+     * @throws IOException If fails
+     */
+    private String serialized(final Node node) throws IOException {
+        final StringWriter writer = new StringWriter();
+        this.serialize(node, new StreamResult(writer));
+        return writer.toString();
+    }
+
+    /**
+     * Serialize the node into the result.
+     * @param node The node
+     * @param result The result
+     * @throws IOException If fails
+     */
+    private void serialize(final Node node, final Result result)
+        throws IOException {
+        final Transformer transformer;
+        try {
+            synchronized (this.factory) {
+                transformer = this.factory.newTransformer();
+            }
+            transformer.transform(new DOMSource(node), result);
+        } catch (final TransformerException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Read the cached result from the file.
+     * @param path The file
+     * @return The result, if it's there and not broken
+     * @throws IOException If fails
+     */
+    private static Optional<Node> read(final Path path) throws IOException {
+        Optional<Node> result = Optional.empty();
+        if (Files.exists(path)) {
+            try (InputStream input = Files.newInputStream(path)) {
+                result = Optional.of(
+                    DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                        .parse(input).getDocumentElement()
+                );
+            } catch (final SAXException ex) {
+                Logger.warn(
+                    Cached.class, "Broken result %s ignored: %s",
+                    path, ex.getMessage()
+                );
+            } catch (final ParserConfigurationException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Save the result to the file, replacing it at once, so that
+     * a concurrent reader never sees it half-written.
+     * @param result The result
+     * @param path The file
+     * @throws IOException If fails
+     */
+    private void write(final Node result, final Path path)
+        throws IOException {
+        Files.createDirectories(path.getParent());
+        final Path temp = Files.createTempFile(path.getParent(), "class", ".tmp");
+        try (OutputStream output = Files.newOutputStream(temp)) {
+            this.serialize(result, new StreamResult(output));
+        } catch (final IOException ex) {
+            Files.delete(temp);
+            throw ex;
+        }
+        Files.move(
+            temp, path,
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE
+        );
+    }
+}
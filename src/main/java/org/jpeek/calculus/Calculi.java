@@ -0,0 +1,47 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus;
+
+import com.jcabi.xml.XML;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Calculus chosen per metric.
+ *
+ * <p>Metrics that have their own calculus in the map are calculated
+ * by it, all others by the default one.</p>
+ *
+ * @since 1.0
+ */
+public final class Calculi implements Calculus {
+
+    /**
+     * Default calculus.
+     */
+    private final Calculus fallback;
+
+    /**
+     * Calculi by metric names.
+     */
+    private final Map<String, Calculus> chosen;
+
+    /**
+     * Ctor.
+     * @param dflt Default calculus
+     * @param map Calculi by metric names
+     */
+    public Calculi(final Calculus dflt, final Map<String, Calculus> map) {
+        this.fallback = dflt;
+        this.chosen = map;
+    }
+
+    @Override
+    public XML node(final String metric, final Map<String, Object> params,
+        final XML skeleton) throws IOException {
+        return this.chosen.getOrDefault(metric, this.fallback)
+            .node(metric, params, skeleton);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.cactoos.list.ListEnvelope;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Child elements, found by their names, level by level, the way
+ * a simple XPath like {@code ops/op} finds them, but without XPath.
+ *
+ * <p>There is no thread-safety guarantee.
+ *
+ * @since 1.0
+ */
+public final class Elements extends ListEnvelope<Element> {
+
+    /**
+     * Ctor.
+     * @param node Where to start
+     * @param path Names of elements on every level
+     */
+    public Elements(final Node node, final String... path) {
+        super(Elements.found(node, path));
+    }
+
+    /**
+     * Find the elements.
+     * @param node Where to start
+     * @param path Names of elements on every level
+     * @return Elements found
+     */
+    private static List<Element> found(final Node node,
+        final String... path) {
+        List<Element> found = Collections.singletonList((Element) node);
+        for (final String name : path) {
+            final List<Element> next = new ArrayList<>(0);
+            for (final Element parent : found) {
+                final NodeList kids = parent.getChildNodes();
+                for (int idx = 0; idx < kids.getLength(); ++idx) {
+                    final Node kid = kids.item(idx);
+                    if (kid.getNodeType() == Node.ELEMENT_NODE
+                        && name.equals(kid.getNodeName())) {
+                        next.add((Element) kid);
+                    }
+                }
+            }
+            found = next;
+        }
+        return found;
+    }
+}
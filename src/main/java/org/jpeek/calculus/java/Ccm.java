@@ -5,17 +5,24 @@
 package org.jpeek.calculus.java;
 
 import com.jcabi.xml.XML;
-import com.jcabi.xml.XSLDocument;
-import java.util.List;
+import java.io.IOException;
 import java.util.Map;
-import org.cactoos.io.ResourceOf;
-import org.cactoos.io.UncheckedInput;
 import org.cactoos.text.FormattedText;
-import org.cactoos.text.Joined;
 import org.jpeek.calculus.Calculus;
+import org.xembly.Directives;
 
 /**
  * CCM metric Java calculus.
+ *
+ * <p>CCM = NC / (NMP * NCC), where NC is the number of connected
+ * pairs of methods, NMP is the number of all pairs and NCC is the
+ * number of connected components of the graph of methods.</p>
+ *
+ * <p>Methods are connected if they use the same attribute or one of
+ * them calls the other, as the paper defines it, while the XSL calculus
+ * connects methods with any common operation, so the values of the two
+ * differ.</p>
+ *
  * @since 0.30.25
  */
 public final class Ccm implements Calculus {
@@ -25,7 +32,7 @@ public final class Ccm implements Calculus {
         final String metric,
         final Map<String, Object> params,
         final XML skeleton
-    ) {
+    ) throws IOException {
         if (!"ccm".equalsIgnoreCase(metric)) {
             throw new IllegalArgumentException(
                 new FormattedText(
@@ -33,38 +40,33 @@ public final class Ccm implements Calculus {
                 ).toString()
             );
         }
-        return Ccm.withFixedNcc(
-            new XSLDocument(
-                new UncheckedInput(
-                    new ResourceOf("org/jpeek/metrics/CCM.xsl")
-                ).stream()
-            ).transform(skeleton),
-            skeleton
-        );
+        return new Cohesion("CCM", Ccm::calculated)
+            .node(metric, params, skeleton);
     }
 
-    private static XML withFixedNcc(final XML transformed, final XML skeleton) {
-        final List<XML> packages = transformed.nodes("//package");
-        for (final XML elt : packages) {
-            final String pack = elt.xpath("/@id").get(0);
-            final List<XML> classes = elt.nodes("//class");
-            for (final XML clazz : classes) {
-                Ccm.updateNcc(skeleton, pack, clazz);
-            }
+    /**
+     * Value and variables of the class.
+     * @param usage Usage of attributes of the class
+     * @return Directives
+     */
+    static Directives calculated(final Usage usage) {
+        final MethodGraph graph = usage.graph();
+        final long nc = graph.connected();
+        final long nmp = (long) graph.methods() * (graph.methods() - 1) / 2;
+        final int ncc = graph.components();
+        final String value;
+        if (nmp == 0 || ncc == 0) {
+            value = "NaN";
+        } else {
+            value = Cohesion.format(nc / (double) (nmp * ncc));
         }
-        return transformed;
-    }
-
-    private static void updateNcc(
-        final XML skeleton, final String pack, final XML clazz
-    ) {
-        throw new UnsupportedOperationException(
-            new Joined(
-                "",
-                skeleton.toString(),
-                pack,
-                clazz.toString()
-            ).toString()
-        );
+        return new Directives()
+            .attr("value", value)
+            .add("vars")
+            .add("var").attr("id", "methods").set(graph.methods()).up()
+            .add("var").attr("id", "nc").set(nc).up()
+            .add("var").attr("id", "ncc").set(ncc).up()
+            .add("var").attr("id", "nmp").set(nmp).up()
+            .up();
     }
 }
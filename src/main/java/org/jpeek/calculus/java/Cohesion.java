@@ -0,0 +1,271 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus.java;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.cactoos.Func;
+import org.cactoos.func.IoCheckedFunc;
+import org.cactoos.io.ResourceOf;
+import org.cactoos.text.TextOf;
+import org.cactoos.text.UncheckedText;
+import org.jpeek.calculus.Calculus;
+import org.jpeek.calculus.Elements;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xembly.Directives;
+import org.xembly.Xembler;
+
+/**
+ * Calculus that walks the skeleton in Java and asks the formula
+ * for the value of every class.
+ *
+ * <p>The result is the same XML the metric's XSL stylesheet produces:
+ * the skeleton is copied, the title and the description are taken
+ * from the stylesheet, and every class is replaced by the element
+ * with its value and variables, built by the formula.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+final class Cohesion implements Calculus {
+
+    /**
+     * Title and description of every metric, taken from its XSL.
+     */
+    private static final ConcurrentMap<String, List<String>> HEADERS =
+        new ConcurrentHashMap<>(0);
+
+    /**
+     * Name of the metric.
+     */
+    private final String name;
+
+    /**
+     * Directives for a class, applied to its copy.
+     */
+    private final Func<Usage, Directives> formula;
+
+    /**
+     * Ctor.
+     * @param metric Name of the metric, like its XSL is named
+     * @param func Directives for a class, applied to its copy
+     */
+    Cohesion(final String metric, final Func<Usage, Directives> func) {
+        this.name = metric;
+        this.formula = func;
+    }
+
+    @Override
+    public XML node(final String metric, final Map<String, Object> params,
+        final XML skeleton) throws IOException {
+        final Node src = skeleton.node();
+        final Element root;
+        if (src.getNodeType() == Node.DOCUMENT_NODE) {
+            root = ((Document) src).getDocumentElement();
+        } else {
+            root = (Element) src;
+        }
+        final Document doc;
+        try {
+            doc = DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder().newDocument();
+        } catch (final ParserConfigurationException ex) {
+            throw new IllegalStateException(ex);
+        }
+        final Element top = doc.createElement("metric");
+        final NamedNodeMap attrs = root.getAttributes();
+        for (int idx = 0; idx < attrs.getLength(); ++idx) {
+            top.setAttributeNodeNS((Attr) doc.importNode(attrs.item(idx), false));
+        }
+        final List<String> header = Cohesion.header(this.name);
+        top.appendChild(doc.createElement("title"))
+            .setTextContent(header.get(0));
+        top.appendChild(doc.createElement("description"))
+            .setTextContent(header.get(1));
+        final NodeList children = root.getChildNodes();
+        for (int idx = 0; idx < children.getLength(); ++idx) {
+            top.appendChild(this.copy(children.item(idx), doc));
+        }
+        doc.appendChild(top);
+        return new XMLDocument(doc);
+    }
+
+    /**
+     * String values of the operations of the method, which are
+     * the names of the attributes for {@code get} and {@code put}.
+     * @param method The method
+     * @param codes Codes of operations to take, all if empty
+     * @return Names
+     */
+    static List<String> ops(final Element method, final String... codes) {
+        final List<Element> ops = new Elements(method, "ops", "op");
+        final List<String> names = new ArrayList<>(ops.size());
+        final List<String> allowed = Arrays.asList(codes);
+        for (final Element op : ops) {
+            if (allowed.isEmpty() || allowed.contains(op.getAttribute("code"))) {
+                names.add(op.getTextContent());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Names of the attributes of the class, the empty ones skipped,
+     * like {@code attributes/attribute/text()} does.
+     * @param clazz The class
+     * @return Names
+     */
+    static List<String> attributes(final Element clazz) {
+        final List<String> names = new ArrayList<>(0);
+        for (final Element attr
+            : new Elements(clazz, "attributes", "attribute")) {
+            final String name = attr.getTextContent();
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Names of the attributes of the class, where static ones are
+     * prefixed with the fully qualified name of the class, since
+     * static fields are referred to this way in operations.
+     * @param clazz The class
+     * @return Names
+     */
+    static List<String> qualified(final Element clazz) {
+        final String fqn = Cohesion.fqn(clazz);
+        final List<String> names = new ArrayList<>(0);
+        for (final Element attr
+            : new Elements(clazz, "attributes", "attribute")) {
+            final String name;
+            if ("true".equals(attr.getAttribute("static")) && !fqn.isEmpty()) {
+                name = String.format("%s.%s", fqn, attr.getTextContent());
+            } else {
+                name = attr.getTextContent();
+            }
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Fully qualified name of the class.
+     * @param clazz The class
+     * @return Package and class names, joined with a dot
+     */
+    static String fqn(final Element clazz) {
+        return String.join(
+            ".", ((Element) clazz.getParentNode()).getAttribute("id"),
+            clazz.getAttribute("id")
+        ).replaceAll("^\\.", "");
+    }
+
+    /**
+     * Format the number like XSL {@code format-number($x, '0.####')} does.
+     * @param value The number
+     * @return Text
+     */
+    static String format(final double value) {
+        final String text;
+        if (Double.isNaN(value)) {
+            text = "NaN";
+        } else if (Double.isInfinite(value)) {
+            if (value > 0) {
+                text = "Infinity";
+            } else {
+                text = "-Infinity";
+            }
+        } else {
+            final BigDecimal rounded = new BigDecimal(Double.toString(value))
+                .setScale(4, RoundingMode.HALF_EVEN);
+            if (rounded.signum() != 0) {
+                text = rounded.stripTrailingZeros().toPlainString();
+            } else if (value < 0 || 1 / value < 0) {
+                text = "-0";
+            } else {
+                text = "0";
+            }
+        }
+        return text;
+    }
+
+    /**
+     * Copy the node of the skeleton, replacing classes.
+     * @param node The node
+     * @param doc Document to copy to
+     * @return The copy
+     * @throws IOException If fails
+     */
+    private Node copy(final Node node, final Document doc) throws IOException {
+        final Node copy = doc.importNode(node, false);
+        if (node.getNodeType() == Node.ELEMENT_NODE) {
+            if ("class".equals(node.getNodeName())) {
+                new Xembler(
+                    new IoCheckedFunc<>(this.formula).apply(
+                        new Usage((Element) node)
+                    )
+                ).applyQuietly(copy);
+            } else {
+                final NodeList children = node.getChildNodes();
+                for (int idx = 0; idx < children.getLength(); ++idx) {
+                    copy.appendChild(this.copy(children.item(idx), doc));
+                }
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Title and description of the metric, from its XSL.
+     * @param metric Name of the metric
+     * @return Title and description
+     */
+    private static List<String> header(final String metric) {
+        return Cohesion.HEADERS.computeIfAbsent(
+            metric,
+            name -> {
+                final XML xsl = new XMLDocument(
+                    new UncheckedText(
+                        new TextOf(
+                            new ResourceOf(
+                                String.format("org/jpeek/metrics/%s.xsl", name)
+                            )
+                        )
+                    ).asString()
+                );
+                return Collections.unmodifiableList(
+                    Arrays.asList(
+                        xsl.xpath("//*[local-name()='title']/text()").get(0),
+                        xsl.xpath(
+                            "//*[local-name()='description']//text()[normalize-space()]"
+                        ).get(0)
+                    )
+                );
+            }
+        );
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus.java;
+
+import com.jcabi.log.Logger;
+import com.jcabi.log.VerboseThreads;
+import com.jcabi.xml.XML;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.cactoos.Func;
+import org.cactoos.text.FormattedText;
+import org.jpeek.calculus.Calculus;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xembly.Directives;
+
+/**
+ * Calculus of all Java metrics at once, class by class.
+ *
+ * <p>When a metric is asked for the first time for a skeleton, every
+ * class is visited once, its {@link Usage} is read once, and all
+ * chosen metrics are calculated from it. Metrics are chosen by their
+ * names in the ctor, and the asked one is always calculated, but no
+ * others, even if the params enable them for XSL. Classes
+ * are calculated in parallel, in slices, each slice in its own copy
+ * of the classes, since the DOM of the skeleton can't be read by many
+ * threads. The results are remembered, so the other metrics of the
+ * same skeleton are only put into their reports, which are the same
+ * as the calculi of single metrics build. Only the results of the last
+ * skeleton are remembered.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+public final class Fused implements Calculus {
+
+    /**
+     * How many slices of classes per thread.
+     */
+    private static final int SLICES = 4;
+
+    /**
+     * Formulas of metrics, by their names.
+     */
+    private static final Map<String, Func<Usage, Directives>> FORMULAS =
+        Fused.formulas();
+
+    /**
+     * How many threads to calculate classes with.
+     */
+    private final int threads;
+
+    /**
+     * Names of metrics to calculate together.
+     */
+    private final Set<String> chosen;
+
+    /**
+     * Directives of all classes by metrics, for the last skeleton.
+     */
+    private final Map<XML, Map<String, List<Directives>>> done;
+
+    /**
+     * Ctor, with all metrics it knows chosen.
+     * @param total How many threads to calculate classes with
+     */
+    public Fused(final int total) {
+        this(total, Fused.FORMULAS.keySet());
+    }
+
+    /**
+     * Ctor.
+     * @param total How many threads to calculate classes with
+     * @param names Names of metrics to calculate together
+     */
+    public Fused(final int total, final Iterable<String> names) {
+        if (total < 1) {
+            throw new IllegalArgumentException(
+                String.format("Number of threads must be positive: %d", total)
+            );
+        }
+        this.threads = total;
+        this.chosen = new HashSet<>(0);
+        for (final String name : names) {
+            if (Fused.FORMULAS.containsKey(name)) {
+                this.chosen.add(name);
+            }
+        }
+        this.done = new IdentityHashMap<>(1);
+    }
+
+    /**
+     * Names of chosen metrics, which this calculus knows.
+     * @return Names
+     */
+    public Iterable<String> metrics() {
+        return Collections.unmodifiableSet(this.chosen);
+    }
+
+    @Override
+    public XML node(final String metric, final Map<String, Object> params,
+        final XML skeleton) throws IOException {
+        if (!Fused.FORMULAS.containsKey(metric)) {
+            throw new IllegalArgumentException(
+                new FormattedText(
+                    "Metric %s can't be calculated in Java", metric
+                ).toString()
+            );
+        }
+        final Map<String, List<Directives>> results;
+        synchronized (this.done) {
+            if (!this.done.containsKey(skeleton)
+                || !this.done.get(skeleton).containsKey(metric)) {
+                this.done.clear();
+                this.done.put(skeleton, this.calculated(metric, skeleton));
+            }
+            results = this.done.get(skeleton);
+        }
+        final Iterator<Directives> dirs = results.get(metric).iterator();
+        return new Cohesion(metric, usage -> dirs.next())
+            .node(metric, params, skeleton);
+    }
+
+    /**
+     * Calculate the chosen metrics and the asked one for all classes.
+     * @param metric The metric asked for
+     * @param skeleton The skeleton
+     * @return Directives of classes, in their order, by metrics
+     * @throws IOException If fails
+     */
+    private Map<String, List<Directives>> calculated(final String metric,
+        final XML skeleton) throws IOException {
+        final long start = System.currentTimeMillis();
+        final List<String> names = new ArrayList<>(Fused.FORMULAS.size());
+        for (final String name : Fused.FORMULAS.keySet()) {
+            if (name.equals(metric) || this.chosen.contains(name)) {
+                names.add(name);
+            }
+        }
+        final List<Element> classes = new ArrayList<>(0);
+        Fused.classes(skeleton.node(), classes);
+        final int slices = Math.max(
+            1, Math.min(classes.size(), this.threads * Fused.SLICES)
+        );
+        final ExecutorService service = Executors.newFixedThreadPool(
+            this.threads, new VerboseThreads(Fused.class)
+        );
+        final Map<String, List<Directives>> results = new HashMap<>(0);
+        for (final String name : names) {
+            results.put(name, new ArrayList<>(classes.size()));
+        }
+        try {
+            final List<Future<List<Map<String, Directives>>>> futures =
+                new ArrayList<>(slices);
+            for (int idx = 0; idx < slices; ++idx) {
+                final List<Element> slice = Fused.copied(
+                    classes.subList(
+                        classes.size() * idx / slices,
+                        classes.size() * (idx + 1) / slices
+                    )
+                );
+                futures.add(service.submit(() -> Fused.slice(slice, names)));
+            }
+            for (final Future<List<Map<String, Directives>>> future : futures) {
+                for (final Map<String, Directives> clazz : future.get()) {
+                    for (final String name : names) {
+                        results.get(name).add(clazz.get(name));
+                    }
+                }
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (final ExecutionException ex) {
+            throw new IOException(ex.getCause());
+        } finally {
+            service.shutdownNow();
+        }
+        Logger.debug(
+            this, "%d metrics of %d classes calculated in %d threads in %[ms]s",
+            names.size(), classes.size(), this.threads,
+            System.currentTimeMillis() - start
+        );
+        return results;
+    }
+
+    /**
+     * Calculate metrics for classes of the slice.
+     * @param slice Classes, in their own document
+     * @param names Names of metrics
+     * @return Directives by metrics, for every class
+     * @throws Exception If fails
+     */
+    private static List<Map<String, Directives>> slice(
+        final List<Element> slice, final List<String> names) throws Exception {
+        final List<Map<String, Directives>> results =
+            new ArrayList<>(slice.size());
+        for (final Element clazz : slice) {
+            final Usage usage = new Usage(clazz);
+            final Map<String, Directives> dirs = new HashMap<>(names.size());
+            for (final String name : names) {
+                dirs.put(name, Fused.FORMULAS.get(name).apply(usage));
+            }
+            results.add(dirs);
+        }
+        return results;
+    }
+
+    /**
+     * Copy classes into a new document, each with its package, but
+     * without other classes of the package.
+     * @param classes Classes of the skeleton
+     * @return Copies
+     */
+    private static List<Element> copied(final List<Element> classes) {
+        final Document doc;
+        try {
+            doc = DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder().newDocument();
+        } catch (final ParserConfigurationException ex) {
+            throw new IllegalStateException(ex);
+        }
+        final Element root = doc.createElement("slice");
+        doc.appendChild(root);
+        final List<Element> copies = new ArrayList<>(classes.size());
+        for (final Element clazz : classes) {
+            final Node pkg = root.appendChild(
+                doc.importNode(clazz.getParentNode(), false)
+            );
+            copies.add((Element) pkg.appendChild(doc.importNode(clazz, true)));
+        }
+        return copies;
+    }
+
+    /**
+     * Find classes, the same way {@link Cohesion} finds them.
+     * @param node Where to look
+     * @param classes Where to add classes found
+     */
+    private static void classes(final Node node, final List<Element> classes) {
+        if ("class".equals(node.getNodeName())
+            && node.getNodeType() == Node.ELEMENT_NODE) {
+            classes.add((Element) node);
+        } else {
+            final NodeList children = node.getChildNodes();
+            for (int idx = 0; idx < children.getLength(); ++idx) {
+                Fused.classes(children.item(idx), classes);
+            }
+        }
+    }
+
+    /**
+     * Formulas of all metrics.
+     * @return Formulas by names
+     */
+    private static Map<String, Func<Usage, Directives>> formulas() {
+        final Map<String, Func<Usage, Directives>> map = new LinkedHashMap<>(0);
+        map.put("LCOM", Lcom::calculated);
+        map.put("LCOM2", Lcom2::calculated);
+        map.put("LCOM3", Lcom3::calculated);
+        map.put("LCOM4", Lcom4::calculated);
+        map.put("LCOM5", Lcom5::calculated);
+        map.put("CCM", Ccm::calculated);
+        return Collections.unmodifiableMap(map);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus.java;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incidence matrix of methods and attributes of one class.
+ *
+ * <p>Every method is a row, which is a bit set of the attributes
+ * it uses, so the overlap of two methods is one AND of their rows,
+ * and the number of uses is one population count.</p>
+ *
+ * <p>There is no thread-safety guarantee.</p>
+ *
+ * @since 1.0
+ */
+final class Incidence {
+
+    /**
+     * Rows, one per method.
+     */
+    private final List<BitSet> rows;
+
+    /**
+     * Number of columns.
+     */
+    private final int columns;
+
+    /**
+     * Ctor.
+     * @param methods Names used by every method
+     * @param attrs Names of the attributes, which are the columns
+     */
+    Incidence(final List<? extends Collection<String>> methods,
+        final List<String> attrs) {
+        final Map<String, BitSet> index = new HashMap<>(attrs.size() * 2);
+        for (int col = 0; col < attrs.size(); ++col) {
+            index.computeIfAbsent(attrs.get(col), key -> new BitSet())
+                .set(col);
+        }
+        this.rows = new ArrayList<>(methods.size());
+        for (final Collection<String> names : methods) {
+            final BitSet row = new BitSet(attrs.size());
+            for (final String name : names) {
+                final BitSet cols = index.get(name);
+                if (cols != null) {
+                    row.or(cols);
+                }
+            }
+            this.rows.add(row);
+        }
+        this.columns = attrs.size();
+    }
+
+    /**
+     * Number of methods.
+     * @return Rows count
+     */
+    int methods() {
+        return this.rows.size();
+    }
+
+    /**
+     * Number of attributes.
+     * @return Columns count
+     */
+    int attributes() {
+        return this.columns;
+    }
+
+    /**
+     * Total number of method-attribute uses, which is the same
+     * as the sum of methods using every attribute.
+     * @return Number of bits set in the matrix
+     */
+    long uses() {
+        long total = 0L;
+        for (final BitSet row : this.rows) {
+            total += row.cardinality();
+        }
+        return total;
+    }
+
+    /**
+     * Number of pairs of methods that share no attributes.
+     * @return Count of disjoint pairs
+     */
+    long disjoint() {
+        long total = 0L;
+        for (int left = 0; left < this.rows.size(); ++left) {
+            final BitSet row = this.rows.get(left);
+            for (int right = left + 1; right < this.rows.size(); ++right) {
+                if (!row.intersects(this.rows.get(right))) {
+                    ++total;
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus.java;
+
+import com.jcabi.xml.XML;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jpeek.calculus.Calculus;
+import org.w3c.dom.Element;
+import org.xembly.Directives;
+
+/**
+ * LCOM metric Java calculus.
+ *
+ * <p>Produces the same XML as {@code LCOM.xsl}: the number of pairs
+ * of methods without shared attributes minus the number of pairs
+ * with them, or zero if it's negative.</p>
+ *
+ * @since 1.0
+ */
+public final class Lcom implements Calculus {
+
+    @Override
+    public XML node(final String metric, final Map<String, Object> params,
+        final XML skeleton) throws IOException {
+        return new Cohesion("LCOM", Lcom::calculated)
+            .node(metric, params, skeleton);
+    }
+
+    /**
+     * Value and variables of the class.
+     * @param usage Usage of attributes of the class
+     * @return Directives
+     */
+    static Directives calculated(final Usage usage) {
+        final List<Element> methods = usage.methods();
+        final List<List<String>> ops = new ArrayList<>(methods.size());
+        final Set<String> attrs = new LinkedHashSet<>(0);
+        for (final Element method : methods) {
+            final List<String> names = Cohesion.ops(method, "get", "put");
+            attrs.addAll(names);
+            ops.add(names);
+        }
+        final Incidence matrix = new Incidence(ops, new ArrayList<>(attrs));
+        final long pairs = (long) methods.size() * (methods.size() - 1) / 2;
+        final long empty = matrix.disjoint();
+        final long nonempty = pairs - empty;
+        final long value;
+        if (nonempty > empty) {
+            value = 0L;
+        } else {
+            value = empty - nonempty;
+        }
+        return new Directives()
+            .attr("value", value)
+            .add("vars")
+            .add("var").attr("id", "methods").set(methods.size()).up()
+            .add("var").attr("id", "pairs").set(pairs).up()
+            .add("var").attr("id", "empty").set(empty).up()
+            .add("var").attr("id", "nonempty").set(nonempty).up()
+            .up();
+    }
+}
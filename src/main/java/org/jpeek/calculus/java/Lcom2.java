@@ -0,0 +1,73 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus.java;
+
+import com.jcabi.xml.XML;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.jpeek.calculus.Calculus;
+import org.w3c.dom.Element;
+import org.xembly.Directives;
+
+/**
+ * LCOM2 metric Java calculus.
+ *
+ * <p>Produces the same XML as {@code LCOM2.xsl}. Bridge methods
+ * are not taken into account.</p>
+ *
+ * @since 1.0
+ */
+public final class Lcom2 implements Calculus {
+
+    @Override
+    public XML node(final String metric, final Map<String, Object> params,
+        final XML skeleton) throws IOException {
+        return new Cohesion("LCOM2", Lcom2::calculated)
+            .node(metric, params, skeleton);
+    }
+
+    /**
+     * Value and variables of the class.
+     * @param usage Usage of attributes of the class
+     * @return Directives
+     */
+    static Directives calculated(final Usage usage) {
+        final List<List<String>> ops = new ArrayList<>(0);
+        for (int idx = 0; idx < usage.methods().size(); ++idx) {
+            if (Lcom2.regular(usage.methods().get(idx))) {
+                ops.add(usage.ops().get(idx));
+            }
+        }
+        final Incidence matrix = new Incidence(ops, usage.attributes());
+        final String value;
+        if (matrix.methods() == 0 || matrix.attributes() == 0) {
+            value = "0";
+        } else {
+            value = Cohesion.format(
+                1 - matrix.uses()
+                    / (double) (matrix.methods() * matrix.attributes())
+            );
+        }
+        return new Directives()
+            .attr("value", value)
+            .add("vars")
+            .add("var").attr("id", "methods").set(matrix.methods()).up()
+            .add("var").attr("id", "attributes").set(matrix.attributes()).up()
+            .up();
+    }
+
+    /**
+     * Is it a regular method, not a bridge one, the way
+     * {@code @bridge=false()} sees it in XPath 2.0.
+     * @param method The method
+     * @return TRUE if regular
+     */
+    private static boolean regular(final Element method) {
+        final String bridge = method.getAttribute("bridge").trim();
+        return "false".equals(bridge) || "0".equals(bridge);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus.java;
+
+import com.jcabi.xml.XML;
+import java.io.IOException;
+import java.util.Map;
+import org.jpeek.calculus.Calculus;
+import org.xembly.Directives;
+
+/**
+ * LCOM3 metric Java calculus.
+ *
+ * <p>Produces the same XML as {@code LCOM3.xsl}.</p>
+ *
+ * @since 1.0
+ */
+public final class Lcom3 implements Calculus {
+
+    @Override
+    public XML node(final String metric, final Map<String, Object> params,
+        final XML skeleton) throws IOException {
+        return new Cohesion("LCOM3", Lcom3::calculated)
+            .node(metric, params, skeleton);
+    }
+
+    /**
+     * Value and variables of the class.
+     * @param usage Usage of attributes of the class
+     * @return Directives
+     */
+    static Directives calculated(final Usage usage) {
+        final Incidence matrix = new Incidence(
+            usage.ops(), usage.attributes()
+        );
+        final String value;
+        if (matrix.methods() < 2 || matrix.attributes() == 0) {
+            value = "0";
+        } else {
+            value = Cohesion.format(
+                (matrix.methods() - matrix.uses() / (double) matrix.attributes())
+                    / (matrix.methods() - 1)
+            );
+        }
+        return new Directives()
+            .attr("value", value)
+            .add("vars")
+            .add("var").attr("id", "methods").set(matrix.methods()).up()
+            .add("var").attr("id", "attributes").set(matrix.attributes()).up()
+            .up();
+    }
+}
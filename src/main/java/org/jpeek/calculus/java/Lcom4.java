@@ -4,20 +4,22 @@
  */
 package org.jpeek.calculus.java;
 
-import com.jcabi.xml.Sources;
 import com.jcabi.xml.XML;
-import com.jcabi.xml.XSLDocument;
 import java.io.IOException;
-import java.util.List;
 import java.util.Map;
-import org.cactoos.io.ResourceOf;
-import org.cactoos.text.Joined;
-import org.cactoos.text.TextOf;
-import org.cactoos.text.UncheckedText;
 import org.jpeek.calculus.Calculus;
+import org.xembly.Directives;
 
 /**
  * LCOM4 Metrics java calculus.
+ *
+ * <p>The value is the number of connected components of the graph
+ * of methods, where two methods are connected if they use the same
+ * attribute or one of them calls the other.</p>
+ *
+ * <p>The XSL calculus only approximates the components, so the values
+ * of the two differ.</p>
+ *
  * @since 0.30.9
  */
 public final class Lcom4 implements Calculus {
@@ -25,31 +27,22 @@ public final class Lcom4 implements Calculus {
     @Override
     public XML node(final String metric, final Map<String, Object> params,
         final XML skeleton) throws IOException {
-        final XML result = new XSLDocument(
-            new UncheckedText(
-                new TextOf(
-                    new ResourceOf("org/jpeek/metrics/LCOM4.xsl")
-                )
-            ).asString(),
-            Sources.DUMMY,
-            params
-        ).transform(skeleton);
-        final List<XML> packages = result.nodes("//package");
-        for (final XML elt : packages) {
-            final String pack = elt.xpath("/@id").get(0);
-            final List<XML> classes = elt.nodes("//class");
-            for (final XML clazz : classes) {
-                this.update(skeleton, pack, clazz);
-            }
-        }
-        return result;
+        return new Cohesion("LCOM4", Lcom4::calculated)
+            .node(metric, params, skeleton);
     }
 
-    private void update(final XML skeleton, final String pack, final XML clazz) throws IOException {
-        throw new UnsupportedOperationException(
-            new UncheckedText(
-                new Joined("", skeleton.toString(), pack, clazz.toString())
-            ).asString()
-        );
+    /**
+     * Value and variables of the class.
+     * @param usage Usage of attributes of the class
+     * @return Directives
+     */
+    static Directives calculated(final Usage usage) {
+        final MethodGraph graph = usage.graph();
+        return new Directives()
+            .attr("value", graph.components())
+            .add("vars")
+            .add("var").attr("id", "methods").set(graph.methods()).up()
+            .add("var").attr("id", "attributes").set(graph.attributes()).up()
+            .up();
     }
 }
@@ -0,0 +1,71 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus.java;
+
+import com.jcabi.xml.XML;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import org.jpeek.calculus.Calculus;
+import org.xembly.Directives;
+
+/**
+ * LCOM5 metric Java calculus.
+ *
+ * <p>Produces the same XML as {@code LCOM5.xsl}. Static attributes
+ * are referred to by their fully qualified names.</p>
+ *
+ * @since 1.0
+ */
+public final class Lcom5 implements Calculus {
+
+    @Override
+    public XML node(final String metric, final Map<String, Object> params,
+        final XML skeleton) throws IOException {
+        return new Cohesion("LCOM5", Lcom5::calculated)
+            .node(metric, params, skeleton);
+    }
+
+    /**
+     * Value and variables of the class.
+     * @param usage Usage of attributes of the class
+     * @return Directives
+     */
+    static Directives calculated(final Usage usage) {
+        final Incidence matrix = new Incidence(
+            usage.ops(), usage.qualified()
+        );
+        final int attributes = matrix.attributes();
+        final int methods = matrix.methods();
+        final String value;
+        if (attributes == 0 || methods == 1) {
+            value = "NaN";
+        } else {
+            value = Cohesion.format(
+                (Lcom5.inverse(attributes) * matrix.uses() - methods)
+                    / (1 - methods)
+            );
+        }
+        return new Directives()
+            .attr("value", value)
+            .add("vars")
+            .add("var").attr("id", "m").set(methods).up()
+            .add("var").attr("id", "a").set(attributes).up()
+            .up();
+    }
+
+    /**
+     * One divided by the number, the way XPath 2.0 divides integers:
+     * as decimals, truncated to 18 digits.
+     * @param num The number
+     * @return Inverse number
+     */
+    private static double inverse(final int num) {
+        return BigDecimal.ONE.divide(
+            BigDecimal.valueOf(num), 18, RoundingMode.DOWN
+        ).doubleValue();
+    }
+}
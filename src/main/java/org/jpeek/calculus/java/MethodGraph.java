@@ -0,0 +1,266 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus.java;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jpeek.calculus.Elements;
+import org.jpeek.graph.UnionFind;
+import org.w3c.dom.Element;
+
+/**
+ * Graph of the methods of one class, where two methods are connected
+ * if they use the same attribute or one of them calls the other.
+ *
+ * <p>Methods are numbered in the order of the skeleton. Constructors
+ * and abstract methods are not in the graph.</p>
+ *
+ * <p>There is no thread-safety guarantee.</p>
+ *
+ * @since 1.0
+ */
+final class MethodGraph {
+
+    /**
+     * Number of methods.
+     */
+    private final int size;
+
+    /**
+     * Methods using every attribute.
+     */
+    private final List<List<Integer>> users;
+
+    /**
+     * Calls between methods of the class, as pairs of nodes.
+     */
+    private final List<int[]> calls;
+
+    /**
+     * Ctor.
+     * @param clazz The class
+     */
+    MethodGraph(final Element clazz) {
+        final List<Element> methods = new ArrayList<>(0);
+        for (final Element method
+            : new Elements(clazz, "methods", "method")) {
+            if (!"true".equals(method.getAttribute("ctor"))
+                && !"true".equals(method.getAttribute("abstract"))) {
+                methods.add(method);
+            }
+        }
+        final List<String> attrs = Cohesion.qualified(clazz);
+        final Map<String, Integer> columns = new HashMap<>(attrs.size() * 2);
+        this.users = new ArrayList<>(attrs.size());
+        for (final String attr : attrs) {
+            columns.putIfAbsent(attr, this.users.size());
+            this.users.add(new ArrayList<>(1));
+        }
+        final Map<String, Integer> signatures = new HashMap<>(methods.size() * 2);
+        for (int idx = 0; idx < methods.size(); ++idx) {
+            signatures.put(
+                MethodGraph.signature(
+                    methods.get(idx).getAttribute("name"), methods.get(idx)
+                ),
+                idx
+            );
+        }
+        final String prefix = Cohesion.fqn(clazz).concat(".");
+        this.calls = new ArrayList<>(0);
+        for (int idx = 0; idx < methods.size(); ++idx) {
+            final Set<Integer> used = new LinkedHashSet<>(0);
+            for (final Element op
+                : new Elements(methods.get(idx), "ops", "op")) {
+                if ("call".equals(op.getAttribute("code"))) {
+                    final String name = new Elements(op, "name").get(0)
+                        .getTextContent();
+                    final Integer callee = signatures.get(
+                        MethodGraph.signature(
+                            name.substring(Math.min(prefix.length(), name.length())),
+                            op
+                        )
+                    );
+                    if (name.startsWith(prefix) && callee != null
+                        && callee != idx) {
+                        this.calls.add(new int[] {idx, callee});
+                    }
+                } else {
+                    final Integer col = columns.get(op.getTextContent());
+                    if (col != null) {
+                        used.add(col);
+                    }
+                }
+            }
+            for (final Integer col : used) {
+                this.users.get(col).add(idx);
+            }
+        }
+        this.size = methods.size();
+    }
+
+    /**
+     * Number of methods, which are the nodes.
+     * @return Count of methods
+     */
+    int methods() {
+        return this.size;
+    }
+
+    /**
+     * Number of attributes.
+     * @return Count of attributes
+     */
+    int attributes() {
+        return this.users.size();
+    }
+
+    /**
+     * Number of connected components, found without building
+     * the pairs: methods of every attribute are joined one after
+     * another, so it takes near-linear time of all uses and calls.
+     * @return Count of components
+     */
+    int components() {
+        final UnionFind sets = new UnionFind(this.size);
+        for (final List<Integer> methods : this.users) {
+            for (int idx = 1; idx < methods.size(); ++idx) {
+                sets.union(methods.get(idx - 1), methods.get(idx));
+            }
+        }
+        for (final int[] call : this.calls) {
+            sets.union(call[0], call[1]);
+        }
+        return sets.components();
+    }
+
+    /**
+     * Number of connected pairs of methods, each pair once, counted
+     * without keeping them: for every method, its neighbours through
+     * attributes and calls are stamped with the number of the method,
+     * so a neighbour of many attributes is counted only once. It takes
+     * time of the pairs, but memory of the methods, uses and calls.
+     * @return Count of pairs
+     */
+    long connected() {
+        final int[][] attrs = this.attrsOfMethods();
+        final int[][] callees = this.callsOfMethods();
+        final int[][] users = new int[this.users.size()][];
+        for (int col = 0; col < users.length; ++col) {
+            users[col] = this.users.get(col).stream()
+                .mapToInt(Integer::intValue).toArray();
+        }
+        final int[] stamps = new int[this.size];
+        Arrays.fill(stamps, -1);
+        long pairs = 0L;
+        for (int left = 0; left < this.size; ++left) {
+            for (final int col : attrs[left]) {
+                for (final int right : users[col]) {
+                    pairs += MethodGraph.stamped(stamps, left, right);
+                }
+            }
+            for (final int right : callees[left]) {
+                pairs += MethodGraph.stamped(stamps, left, right);
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Attributes used by every method.
+     * @return Columns of attributes, by methods
+     */
+    private int[][] attrsOfMethods() {
+        final int[] counts = new int[this.size];
+        for (final List<Integer> methods : this.users) {
+            for (final int method : methods) {
+                ++counts[method];
+            }
+        }
+        final int[][] attrs = MethodGraph.rows(counts);
+        Arrays.fill(counts, 0);
+        for (int col = 0; col < this.users.size(); ++col) {
+            for (final int method : this.users.get(col)) {
+                attrs[method][counts[method]] = col;
+                ++counts[method];
+            }
+        }
+        return attrs;
+    }
+
+    /**
+     * Methods every method calls or is called by.
+     * @return Methods, by methods
+     */
+    private int[][] callsOfMethods() {
+        final int[] counts = new int[this.size];
+        for (final int[] call : this.calls) {
+            ++counts[call[0]];
+            ++counts[call[1]];
+        }
+        final int[][] callees = MethodGraph.rows(counts);
+        Arrays.fill(counts, 0);
+        for (final int[] call : this.calls) {
+            callees[call[0]][counts[call[0]]] = call[1];
+            ++counts[call[0]];
+            callees[call[1]][counts[call[1]]] = call[0];
+            ++counts[call[1]];
+        }
+        return callees;
+    }
+
+    /**
+     * Stamp the right method, if it goes after the left one and
+     * is not stamped by it yet.
+     * @param stamps Stamps of methods
+     * @param left The left method
+     * @param right The right method
+     * @return One if stamped now, zero otherwise
+     */
+    private static int stamped(final int[] stamps, final int left,
+        final int right) {
+        int stamped = 0;
+        if (right > left && stamps[right] != left) {
+            stamps[right] = left;
+            stamped = 1;
+        }
+        return stamped;
+    }
+
+    /**
+     * Rows of the given lengths.
+     * @param counts Lengths of rows
+     * @return Rows
+     */
+    private static int[][] rows(final int[] counts) {
+        final int[][] rows = new int[counts.length][];
+        for (int idx = 0; idx < counts.length; ++idx) {
+            rows[idx] = new int[counts[idx]];
+        }
+        return rows;
+    }
+
+    /**
+     * Signature of the method or the call, with types of arguments.
+     * @param name Name of the method
+     * @param node The method or the call
+     * @return Signature
+     */
+    private static String signature(final String name, final Element node) {
+        final StringBuilder sig = new StringBuilder(name).append('.');
+        final List<Element> args = new Elements(node, "args", "arg");
+        for (int idx = 0; idx < args.size(); ++idx) {
+            if (idx > 0) {
+                sig.append(':');
+            }
+            sig.append(args.get(idx).getAttribute("type"));
+        }
+        return sig.toString();
+    }
+}
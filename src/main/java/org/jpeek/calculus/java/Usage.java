@@ -0,0 +1,126 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus.java;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.cactoos.scalar.Solid;
+import org.cactoos.scalar.Unchecked;
+import org.jpeek.calculus.Elements;
+import org.w3c.dom.Element;
+
+/**
+ * How methods of a class use its attributes, read from the skeleton
+ * once and shared by all formulas of the class.
+ *
+ * <p>Every part is read when it's asked for the first time.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+final class Usage {
+
+    /**
+     * Methods of the class.
+     */
+    private final Unchecked<List<Element>> all;
+
+    /**
+     * Operations of every method, in the order of methods.
+     */
+    private final Unchecked<List<List<String>>> operations;
+
+    /**
+     * Attributes of the class.
+     */
+    private final Unchecked<List<String>> attrs;
+
+    /**
+     * Attributes of the class, static ones qualified.
+     */
+    private final Unchecked<List<String>> full;
+
+    /**
+     * Graph of methods of the class.
+     */
+    private final Unchecked<MethodGraph> methods;
+
+    /**
+     * Ctor.
+     * @param element The class in the skeleton
+     */
+    Usage(final Element element) {
+        this.all = new Unchecked<>(
+            new Solid<>(
+                () -> new Elements(element, "methods", "method")
+            )
+        );
+        this.operations = new Unchecked<>(
+            new Solid<>(
+                () -> {
+                    final List<List<String>> ops = new ArrayList<>(
+                        this.methods().size()
+                    );
+                    for (final Element method : this.methods()) {
+                        ops.add(Cohesion.ops(method));
+                    }
+                    return ops;
+                }
+            )
+        );
+        this.attrs = new Unchecked<>(
+            new Solid<>(() -> Cohesion.attributes(element))
+        );
+        this.full = new Unchecked<>(
+            new Solid<>(() -> Cohesion.qualified(element))
+        );
+        this.methods = new Unchecked<>(
+            new Solid<>(() -> new MethodGraph(element))
+        );
+    }
+
+    /**
+     * Methods of the class.
+     * @return Elements of methods
+     */
+    List<Element> methods() {
+        return this.all.value();
+    }
+
+    /**
+     * Names in all operations of every method, in the order
+     * of {@link #methods()}.
+     * @return Names per method
+     */
+    List<List<String>> ops() {
+        return this.operations.value();
+    }
+
+    /**
+     * Names of the attributes, the empty ones skipped.
+     * @return Names
+     */
+    List<String> attributes() {
+        return this.attrs.value();
+    }
+
+    /**
+     * Names of the attributes, static ones qualified with the name
+     * of the class.
+     * @return Names
+     */
+    List<String> qualified() {
+        return this.full.value();
+    }
+
+    /**
+     * Graph of methods, connected by attributes and calls.
+     * @return Graph
+     */
+    MethodGraph graph() {
+        return this.methods.value();
+    }
+}
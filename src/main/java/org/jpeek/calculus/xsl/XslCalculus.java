@@ -4,20 +4,16 @@
  */
 package org.jpeek.calculus.xsl;
 
-import com.jcabi.xml.Sources;
 import com.jcabi.xml.XML;
-import com.jcabi.xml.XSLDocument;
 import java.io.IOException;
 import java.util.Map;
-import org.cactoos.io.ResourceOf;
-import org.cactoos.text.FormattedText;
-import org.cactoos.text.TextOf;
-import org.cactoos.text.UncheckedText;
+import org.jpeek.CompiledXsl;
 import org.jpeek.calculus.Calculus;
 
 /**
  * Metrics xsl calculus. Use an xsl sheet to transform the input skeleton into
- * the xml containing the calculation.
+ * the xml containing the calculation. Stylesheets are compiled once
+ * per JVM, see {@link CompiledXsl}.
  * @since 0.30.9
  */
 public final class XslCalculus implements Calculus {
@@ -25,16 +21,8 @@ public final class XslCalculus implements Calculus {
     @Override
     public XML node(final String metric, final Map<String, Object> params,
         final XML skeleton) throws IOException {
-        return new XSLDocument(
-            new UncheckedText(
-                new TextOf(
-                    new ResourceOf(
-                        new FormattedText("org/jpeek/metrics/%s.xsl", metric)
-                    )
-                )
-            ).asString(),
-            Sources.DUMMY,
-            params
+        return new CompiledXsl(
+            String.format("org/jpeek/metrics/%s.xsl", metric), params
         ).transform(skeleton);
     }
 }
@@ -0,0 +1,103 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.graph;
+
+import java.util.Arrays;
+
+/**
+ * Undirected graph over nodes numbered from zero, stored in the
+ * compressed sparse row form.
+ *
+ * <p>Neighbors of all nodes are kept in one array of ints, and the
+ * neighbors of the node {@code n} are in the range from
+ * {@code offsets[n]} to {@code offsets[n + 1]}, so the graph takes
+ * no objects per node or per edge.</p>
+ *
+ * <p>The class is immutable and thread-safe.</p>
+ *
+ * @since 1.0
+ */
+public final class CsrGraph {
+
+    /**
+     * Where the neighbors of every node start, plus the end.
+     */
+    private final int[] offsets;
+
+    /**
+     * Neighbors of all nodes.
+     */
+    private final int[] targets;
+
+    /**
+     * Ctor.
+     * @param nodes Number of nodes
+     * @param edges Edges, as pairs of nodes: two ints per edge
+     */
+    public CsrGraph(final int nodes, final int... edges) {
+        if (edges.length % 2 != 0) {
+            throw new IllegalArgumentException(
+                "Edges must be given as pairs of nodes"
+            );
+        }
+        this.offsets = new int[nodes + 1];
+        for (final int node : edges) {
+            ++this.offsets[node + 1];
+        }
+        for (int idx = 0; idx < nodes; ++idx) {
+            this.offsets[idx + 1] += this.offsets[idx];
+        }
+        this.targets = new int[edges.length];
+        final int[] next = Arrays.copyOf(this.offsets, nodes);
+        for (int idx = 0; idx < edges.length; idx += 2) {
+            this.targets[next[edges[idx]]] = edges[idx + 1];
+            ++next[edges[idx]];
+            this.targets[next[edges[idx + 1]]] = edges[idx];
+            ++next[edges[idx + 1]];
+        }
+    }
+
+    /**
+     * Number of nodes.
+     * @return Count of nodes
+     */
+    public int nodes() {
+        return this.offsets.length - 1;
+    }
+
+    /**
+     * Number of edges.
+     * @return Count of edges
+     */
+    public int edges() {
+        return this.targets.length / 2;
+    }
+
+    /**
+     * Neighbors of the node.
+     * @param node The node
+     * @return Nodes connected to it
+     */
+    public int[] neighbors(final int node) {
+        return Arrays.copyOfRange(
+            this.targets, this.offsets[node], this.offsets[node + 1]
+        );
+    }
+
+    /**
+     * Number of connected components.
+     * @return Count of components
+     */
+    public int components() {
+        final UnionFind sets = new UnionFind(this.nodes());
+        for (int node = 0; node < this.nodes(); ++node) {
+            for (int idx = this.offsets[node]; idx < this.offsets[node + 1];
+                ++idx) {
+                sets.union(node, this.targets[idx]);
+            }
+        }
+        return sets.components();
+    }
+}
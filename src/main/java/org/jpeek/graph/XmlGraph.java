@@ -8,6 +8,7 @@ import com.jcabi.xml.XML;
 import java.util.List;
 import java.util.Map;
 import org.cactoos.list.ListOf;
+import org.cactoos.Scalar;
 import org.cactoos.map.MapOf;
 import org.cactoos.scalar.Sticky;
 import org.cactoos.scalar.Unchecked;
@@ -16,6 +17,10 @@ import org.jpeek.skeleton.Skeleton;
 
 /**
  * Graph implementation built on skeleton.
+ *
+ * <p>Nodes are the methods of the class only, except constructors and
+ * abstract methods, connected if one of them calls the other.</p>
+ *
  * @since 0.30.9
  * @todo #473:30min Find a way to eliminate this
  *  ClassDataAbstractionCouplingCheck. The class probably needs to be split
@@ -36,9 +41,30 @@ public final class XmlGraph implements Graph {
      * @param cname Class in the skeleton this graph is for
      */
     public XmlGraph(final Skeleton skeleton, final String pname, final String cname) {
+        this(skeleton::xml, pname, cname);
+    }
+
+    /**
+     * Ctor.
+     * @param skeleton XML of the skeleton, already built
+     * @param pname Package of the class this graph is for
+     * @param cname Class in the skeleton this graph is for
+     */
+    public XmlGraph(final XML skeleton, final String pname, final String cname) {
+        this(() -> skeleton, pname, cname);
+    }
+
+    /**
+     * Ctor.
+     * @param skeleton XML of the skeleton
+     * @param pname Package of the class this graph is for
+     * @param cname Class in the skeleton this graph is for
+     */
+    private XmlGraph(final Scalar<XML> skeleton, final String pname,
+        final String cname) {
         this.nds = new Unchecked<>(
             new Sticky<>(
-                () -> XmlGraph.build(skeleton, pname, cname)
+                () -> XmlGraph.build(skeleton.value(), pname, cname)
             )
         );
     }
@@ -48,23 +74,19 @@ public final class XmlGraph implements Graph {
         return this.nds.value();
     }
 
-    private static List<Node> build(final Skeleton skeleton, final String pname,
+    private static List<Node> build(final XML skeleton, final String pname,
         final String cname) {
+        final XML clazz = skeleton.nodes(
+            new FormattedText(
+                "/skeleton/app/package[@id='%s']/class[@id='%s']", pname, cname
+            ).toString()
+        ).get(0);
         final Map<XML, Node> byxml = new MapOf<>(
             method -> method,
             method -> new Node.Simple(
-                new XmlMethodSignature(
-                    skeleton.xml()
-                        .nodes(new FormattedText("//package[@id='%s']", pname).toString())
-                        .get(0)
-                        .nodes(new FormattedText("//class[@id='%s']", cname).toString())
-                        .get(0),
-                    method
-                ).asString()
+                new XmlMethodSignature(clazz, method).asString()
             ),
-            skeleton.xml().nodes(
-                "//methods/method[@ctor='false' and @abstract='false']"
-            )
+            clazz.nodes("methods/method[@ctor='false' and @abstract='false']")
         );
         final Map<String, Node> byname = new MapOf<>(
             Node::name,
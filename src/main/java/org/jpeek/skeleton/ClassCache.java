@@ -0,0 +1,152 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.skeleton;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.cactoos.Func;
+import org.cactoos.scalar.Solid;
+import org.cactoos.scalar.Unchecked;
+import org.jpeek.VersionedDir;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * Fragments of the skeleton, one per class, cached on disk by
+ * the digest of the class file.
+ *
+ * <p>Fragments live in the {@link VersionedDir}, since another version
+ * of jpeek may build them differently. A fragment that is missing or
+ * can't be read is built by the origin and saved.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+final class ClassCache implements Func<ClassFile, Node> {
+
+    /**
+     * Directory of fragments of the current version.
+     */
+    private final Unchecked<Path> dir;
+
+    /**
+     * Origin that builds fragments.
+     */
+    private final Func<ClassFile, Node> origin;
+
+    /**
+     * Factory of transformers that save fragments.
+     */
+    private final TransformerFactory factory;
+
+    /**
+     * Ctor.
+     * @param path Directory of the cache
+     * @param fnc Origin that builds fragments
+     */
+    ClassCache(final Path path, final Func<ClassFile, Node> fnc) {
+        this.dir = new Unchecked<>(
+            new Solid<>(
+                () -> new VersionedDir(path).value().resolve("classes")
+            )
+        );
+        this.origin = fnc;
+        this.factory = TransformerFactory.newInstance();
+    }
+
+    @Override
+    public Node apply(final ClassFile file) throws Exception {
+        final String digest = file.digest();
+        final Path path = this.dir.value()
+            .resolve(digest.substring(0, 2))
+            .resolve(String.format("%s.xml", digest));
+        Node fragment;
+        if (Files.exists(path)) {
+            try {
+                fragment = ClassCache.read(path);
+            } catch (final SAXException ex) {
+                Logger.warn(
+                    this, "Broken fragment %s ignored: %s",
+                    path, ex.getMessage()
+                );
+                fragment = this.built(file, path);
+            }
+        } else {
+            fragment = this.built(file, path);
+        }
+        return fragment;
+    }
+
+    /**
+     * Build the fragment by the origin and save it.
+     * @param file The class file
+     * @param path Where to save the fragment
+     * @return The fragment
+     * @throws Exception If fails
+     */
+    private Node built(final ClassFile file, final Path path) throws Exception {
+        final Node fragment = this.origin.apply(file);
+        this.write(fragment, path);
+        return fragment;
+    }
+
+    /**
+     * Read the fragment from the file.
+     * @param path The file
+     * @return The fragment
+     * @throws IOException If fails
+     * @throws SAXException If the file is broken
+     */
+    private static Node read(final Path path) throws IOException, SAXException {
+        try (InputStream input = Files.newInputStream(path)) {
+            return DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder().parse(input).getDocumentElement();
+        } catch (final ParserConfigurationException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Save the fragment to the file, replacing it at once, so that
+     * a concurrent reader never sees it half-written.
+     * @param fragment The fragment
+     * @param path The file
+     * @throws IOException If fails
+     */
+    private void write(final Node fragment, final Path path)
+        throws IOException {
+        Files.createDirectories(path.getParent());
+        final Path temp = Files.createTempFile(path.getParent(), "class", ".tmp");
+        try (OutputStream output = Files.newOutputStream(temp)) {
+            final Transformer transformer;
+            synchronized (this.factory) {
+                transformer = this.factory.newTransformer();
+            }
+            transformer.transform(
+                new DOMSource(fragment), new StreamResult(output)
+            );
+        } catch (final TransformerException ex) {
+            Files.delete(temp);
+            throw new IOException(ex);
+        }
+        Files.move(
+            temp, path,
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE
+        );
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.skeleton;
+
+import java.io.IOException;
+import org.jpeek.Sha256;
+import org.objectweb.asm.ClassReader;
+
+/**
+ * Bytes of a class file, with the ASM reader of them.
+ *
+ * <p>The class is immutable and thread-safe.</p>
+ *
+ * @since 1.0
+ */
+final class ClassFile {
+
+    /**
+     * The bytes.
+     */
+    private final byte[] bytes;
+
+    /**
+     * The reader of the bytes.
+     */
+    private final ClassReader source;
+
+    /**
+     * Ctor.
+     * @param data The bytes of the class file
+     */
+    ClassFile(final byte[] data) {
+        this.bytes = data;
+        this.source = new ClassReader(this.bytes);
+    }
+
+    /**
+     * ASM reader of the class.
+     * @return Reader
+     */
+    ClassReader reader() {
+        return this.source;
+    }
+
+    /**
+     * SHA-256 digest of the bytes, in hex.
+     * @return Digest
+     * @throws IOException If fails
+     */
+    String digest() throws IOException {
+        return new Sha256(this.bytes).asString();
+    }
+}
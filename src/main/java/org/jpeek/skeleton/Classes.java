@@ -6,40 +6,46 @@ package org.jpeek.skeleton;
 
 import com.jcabi.log.Logger;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
-import java.util.Collection;
-import java.util.Comparator;
+import java.nio.file.Path;
 import java.util.Iterator;
-import java.util.TreeSet;
-import javassist.ClassPool;
-import javassist.CtClass;
-import org.cactoos.iterable.Filtered;
+import java.util.Map;
+import java.util.TreeMap;
 import org.cactoos.iterable.Mapped;
-import org.cactoos.list.ListOf;
 import org.jpeek.Base;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
 
 /**
- * List of Javassist classes.
+ * List of class files, each with its ASM reader.
  *
- * <p>We take into account only classes. Interfaces are ignored.</p>
+ * <p>We take into account only classes. Interfaces, enums, annotations
+ * and anonymous classes are ignored, judging by the class file header
+ * only, without parsing the rest of the bytecode.</p>
+ *
+ * <p>Classes are sorted by package and then by name, so the classes
+ * of one package always come together. Only paths of classes are kept
+ * in memory, sorted by their names, which are read from the headers of
+ * class files, while the bytes of every class are read again when the
+ * iterator gets to it.</p>
  *
  * <p>There is no thread-safety guarantee.</p>
  *
  * @see <a href="http://www.pitt.edu/~ckemerer/CK%20research%20papers/MetricForOOD_ChidamberKemerer94.pdf">A packages suite for object oriented design</a>
  * @since 0.27
  */
-final class Classes implements Iterable<CtClass> {
+final class Classes implements Iterable<ClassFile> {
 
     /**
-     * The base.
+     * Access flags of the types we ignore.
      */
-    private final Base base;
+    private static final int IGNORED = Opcodes.ACC_INTERFACE
+        | Opcodes.ACC_ENUM | Opcodes.ACC_ANNOTATION;
 
     /**
-     * Javassist pool.
+     * The base.
      */
-    private final ClassPool pool;
+    private final Base base;
 
     /**
      * Ctor.
@@ -47,45 +53,56 @@ final class Classes implements Iterable<CtClass> {
      */
     Classes(final Base bse) {
         this.base = bse;
-        this.pool = new ClassPool();
     }
 
     @Override
-    public Iterator<CtClass> iterator() {
-        final Iterable<CtClass> classes;
+    public Iterator<ClassFile> iterator() {
         final long start = System.currentTimeMillis();
+        final Map<String, Path> paths = new TreeMap<>();
         try {
-            classes = new Filtered<CtClass>(
-                // @checkstyle BooleanExpressionComplexityCheck (10 lines)
-                ctClass -> !ctClass.isInterface()
-                    && !ctClass.isEnum()
-                    && !ctClass.isAnnotation()
-                    && !ctClass.getName().matches("^.+\\$[0-9]+$")
-                    && !ctClass.getName().matches("^.+\\$AjcClosure[0-9]+$"),
-                new Mapped<>(
-                    path -> {
-                        try (InputStream stream = Files.newInputStream(path)) {
-                            return this.pool.makeClassIfNew(stream);
-                        }
-                    },
-                    new Filtered<>(
-                        path -> Files.isRegularFile(path)
-                            && path.toString().endsWith(".class"),
-                        new ListOf<>(this.base.files())
-                    )
-                )
-            );
+            for (final Path path : this.base.files()) {
+                if (Files.isRegularFile(path)
+                    && path.toString().endsWith(".class")) {
+                    final ClassFile file = new ClassFile(Files.readAllBytes(path));
+                    if (Classes.accepted(file.reader())) {
+                        paths.putIfAbsent(Classes.key(file.reader()), path);
+                    }
+                }
+            }
         } catch (final IOException ex) {
             throw new IllegalStateException(ex);
         }
-        final Collection<CtClass> unique = new TreeSet<>(
-            Comparator.comparing(CtClass::getName)
-        );
-        unique.addAll(new ListOf<>(classes));
         Logger.debug(
-            this, "%d classes found and parsed via Javassist in %[ms]s",
-            unique.size(), System.currentTimeMillis() - start
+            this, "%d classes found and read via ASM in %[ms]s",
+            paths.size(), System.currentTimeMillis() - start
+        );
+        return new Mapped<>(
+            path -> new ClassFile(Files.readAllBytes(path)), paths.values()
+        ).iterator();
+    }
+
+    /**
+     * The class is not one of those we ignore.
+     * @param reader The class
+     * @return TRUE if it's taken into account
+     */
+    private static boolean accepted(final ClassReader reader) {
+        return (reader.getAccess() & Classes.IGNORED) == 0
+            && !reader.getClassName().matches("^.+\\$[0-9]+$")
+            && !reader.getClassName().matches("^.+\\$AjcClosure[0-9]+$");
+    }
+
+    /**
+     * Key of the class, which sorts it by package and then by name,
+     * since a space goes before any character of a package.
+     * @param reader The class
+     * @return Key
+     */
+    private static String key(final ClassReader reader) {
+        final String name = reader.getClassName();
+        final int slash = Math.max(0, name.lastIndexOf('/'));
+        return String.format(
+            "%s %s", name.substring(0, slash), name
         );
-        return unique.iterator();
     }
 }
@@ -5,32 +5,68 @@
 package org.jpeek.skeleton;
 
 import com.jcabi.log.Logger;
+import com.jcabi.log.VerboseThreads;
 import com.jcabi.xml.StrictXML;
 import com.jcabi.xml.XML;
 import com.jcabi.xml.XMLDocument;
 import com.jcabi.xml.XSD;
 import com.jcabi.xml.XSDDocument;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
-import javassist.CtClass;
-import org.cactoos.iterable.Joined;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.stream.StreamSource;
+import org.cactoos.Func;
 import org.cactoos.iterable.Mapped;
+import org.cactoos.list.ListOf;
 import org.cactoos.map.MapEntry;
-import org.cactoos.scalar.AndInThreads;
-import org.cactoos.scalar.Unchecked;
+import org.cactoos.text.Joined;
 import org.jpeek.App;
 import org.jpeek.Base;
 import org.jpeek.Header;
+import org.jpeek.Timings;
+import org.objectweb.asm.ClassReader;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 import org.xembly.Directives;
 import org.xembly.Xembler;
+import org.xml.sax.SAXParseException;
 
 /**
  * Classes into XML.
  *
  * <p>We take into account only classes. Interfaces are ignored.</p>
  *
+ * <p>Classes are parsed in parallel by a pool of threads, which is
+ * created for each call of {@link #xml()} and is not shared with other
+ * skeletons. Each thread parses its own slice of classes and collects
+ * the results on its own. Classes come sorted by package and name, so
+ * the slices are streamed out in their order, package after package,
+ * as soon as they are parsed, and the output doesn't depend on
+ * scheduling. Only a few slices are in memory at a time, however
+ * many classes there are. The skeleton is never built as one Xembly
+ * tree or DOM in memory: {@link #xml(Path)} writes it straight into a
+ * file, validates the file as a stream, and returns a read-only view,
+ * which parses the file only when, and if, it is queried.</p>
+ *
  * <p>There is no thread-safety guarantee.</p>
  *
  * @see <a href="http://www.pitt.edu/~ckemerer/CK%20research%20papers/MetricForOOD_ChidamberKemerer94.pdf">A packages suite for object oriented design</a>
@@ -38,6 +74,11 @@ import org.xembly.Xembler;
  */
 public final class Skeleton {
 
+    /**
+     * How many classes in a slice.
+     */
+    private static final int SLICE = 64;
+
     /**
      * Path to skeleton XSD schema.
      */
@@ -55,12 +96,90 @@ public final class Skeleton {
      */
     private final Base base;
 
+    /**
+     * How many threads to parse classes with.
+     */
+    private final int threads;
+
+    /**
+     * Fragment of the skeleton for a class.
+     */
+    private final Func<ClassFile, Node> fragments;
+
+    /**
+     * Timings of stages.
+     */
+    private final Timings timings;
+
     /**
      * Ctor.
      * @param bse The base
      */
     public Skeleton(final Base bse) {
+        this(bse, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Ctor.
+     * @param bse The base
+     * @param total How many threads to parse classes with
+     */
+    public Skeleton(final Base bse, final int total) {
+        this(bse, total, new Timings());
+    }
+
+    /**
+     * Ctor.
+     * @param bse The base
+     * @param total How many threads to parse classes with
+     * @param tms Timings to record stages of parsing into
+     */
+    public Skeleton(final Base bse, final int total, final Timings tms) {
+        this(bse, total, Skeleton::fragment, tms);
+    }
+
+    /**
+     * Ctor.
+     * @param bse The base
+     * @param total How many threads to parse classes with
+     * @param cache Directory where fragments of classes are cached
+     *  between runs, so unchanged classes are not parsed again
+     */
+    public Skeleton(final Base bse, final int total, final Path cache) {
+        this(bse, total, cache, new Timings());
+    }
+
+    /**
+     * Ctor.
+     * @param bse The base
+     * @param total How many threads to parse classes with
+     * @param cache Directory where fragments of classes are cached
+     *  between runs, so unchanged classes are not parsed again
+     * @param tms Timings to record stages of parsing into
+     */
+    public Skeleton(final Base bse, final int total, final Path cache,
+        final Timings tms) {
+        this(bse, total, new ClassCache(cache, Skeleton::fragment), tms);
+    }
+
+    /**
+     * Ctor.
+     * @param bse The base
+     * @param total How many threads to parse classes with
+     * @param fnc Fragment of the skeleton for a class
+     * @param tms Timings to record stages of parsing into
+     */
+    private Skeleton(final Base bse, final int total,
+        final Func<ClassFile, Node> fnc, final Timings tms) {
+        if (total < 1) {
+            throw new IllegalArgumentException(
+                String.format("Number of threads must be positive: %d", total)
+            );
+        }
         this.base = bse;
+        this.threads = total;
+        this.fragments = fnc;
+        this.timings = tms;
     }
 
     /**
@@ -69,34 +188,64 @@ public final class Skeleton {
      */
     public XML xml() {
         final long start = System.currentTimeMillis();
-        final XML xml = new StrictXML(
-            new XMLDocument(
-                new Xembler(
-                    new Directives()
-                        .add("skeleton")
-                        .append(new Header()).append(
-                            () -> new Directives()
-                                .attr("schema", Skeleton.SKELETON_XSD)
-                                .iterator()
-                        )
-                        .add("app")
-                        .attr("id", this.base).append(
-                            new Joined<>(
-                                new Mapped<>(
-                                    ent -> new Directives()
-                                        .add("package")
-                                        .attr("id", ent.getKey())
-                                        .append(ent.getValue())
-                                        .up(),
-                                    this.packages()
-                                )
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final long total;
+        final XML xml;
+        try {
+            total = this.timings.measured("skeleton", () -> this.write(out));
+            xml = this.timings.measured(
+                "validation",
+                () -> new StrictXML(
+                    new XMLDocument(out.toByteArray()), Skeleton.SCHEMA
+                )
+            );
+        } catch (final IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        this.log(total, start);
+        return xml;
+    }
+
+    /**
+     * Write it to the file, as XML, and return a read-only view of it.
+     * @param file The file to write to
+     * @return XML structure, which is read from the file on demand
+     * @throws IOException If fails
+     */
+    public XML xml(final Path file) throws IOException {
+        final long start = System.currentTimeMillis();
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        final long total;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            total = this.timings.measured("skeleton", () -> this.write(out));
+        }
+        final Collection<SAXParseException> errors = this.timings.measured(
+            "validation",
+            () -> Skeleton.SCHEMA.validate(new StreamSource(file.toFile()))
+        );
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException(
+                String.format(
+                    "%d XML validation error(s) in %s: %s",
+                    errors.size(), file,
+                    new Joined(
+                        "; ",
+                        new ListOf<>(
+                            new Mapped<>(
+                                SAXParseException::getMessage, errors
                             )
                         )
-                ).xmlQuietly()
-            ),
-            Skeleton.SCHEMA
-        );
-        final long total = Long.parseLong(xml.xpath("count(//class)").get(0));
+                    ).toString()
+                )
+            );
+        }
+        this.log(total, start);
+        return new XmlFile(file);
+    }
+
+    private void log(final long total, final long start) {
         final long time = System.currentTimeMillis() - start;
         if (total == 0L) {
             Logger.info(this, "No classes parsed in %[ms]s", time);
@@ -106,55 +255,251 @@ public final class Skeleton {
                 total, time, time / total
             );
         }
-        return xml;
     }
 
-    private Iterable<Map.Entry<String, Directives>> packages() {
+    /**
+     * Stream the skeleton into the output.
+     * @param out Where to write it
+     * @return How many classes were written
+     * @throws IOException If fails
+     */
+    private long write(final OutputStream out) throws IOException {
+        try {
+            final XMLStreamWriter writer = XMLOutputFactory.newInstance()
+                .createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            final Element root = new Xembler(
+                new Directives()
+                    .add("skeleton")
+                    .append(new Header()).append(
+                        () -> new Directives()
+                            .attr("schema", Skeleton.SKELETON_XSD)
+                            .iterator()
+                    )
+                    .add("app")
+                    .attr("id", this.base)
+            ).domQuietly().getDocumentElement();
+            Skeleton.start(root, writer);
+            Skeleton.indent(writer, 1);
+            Skeleton.start(root.getFirstChild(), writer);
+            final long total = this.packages(writer);
+            Skeleton.indent(writer, 1);
+            writer.writeEndElement();
+            Skeleton.indent(writer, 0);
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+            return total;
+        } catch (final XMLStreamException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * Parse all classes and stream them into the writer, package by package.
+     *
+     * <p>Only a few slices are parsed at a time, one more than there
+     * are threads, and the next one is submitted as soon as the earliest
+     * one is written and dropped, so memory doesn't grow with the number
+     * of classes.</p>
+     *
+     * @param writer The writer
+     * @return How many classes were written
+     * @throws XMLStreamException If fails
+     * @throws IOException If fails to read classes
+     */
+    private long packages(final XMLStreamWriter writer)
+        throws XMLStreamException, IOException {
         final long start = System.currentTimeMillis();
-        final Collection<Map.Entry<String, Directives>> all =
-            new CopyOnWriteArrayList<>();
-        new Unchecked<>(
-            new AndInThreads(
-                new Mapped<>(
-                    clz -> () -> all.add(Skeleton.xembly(clz)),
-                    new Classes(this.base)
-                )
-            )
-        ).value();
-        final Map<String, Directives> map = new HashMap<>(0);
-        for (final Map.Entry<String, Directives> ent : all) {
-            map.putIfAbsent(ent.getKey(), new Directives());
-            map.get(ent.getKey()).append(ent.getValue());
+        final Iterator<ClassFile> classes = this.timings.measured(
+            "files", () -> new Classes(this.base).iterator()
+        );
+        final ExecutorService service = Executors.newFixedThreadPool(
+            this.threads, new VerboseThreads(Skeleton.class)
+        );
+        final Queue<Future<List<Map.Entry<String, Node>>>> futures =
+            new LinkedList<>();
+        String pkg = null;
+        long total = 0L;
+        try {
+            total += this.submit(classes, futures, service);
+            while (!futures.isEmpty()) {
+                pkg = Skeleton.written(futures.remove().get(), writer, pkg);
+                total += this.submit(classes, futures, service);
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (final ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            service.shutdownNow();
+        }
+        if (pkg != null) {
+            Skeleton.indent(writer, 2);
+            writer.writeEndElement();
         }
         Logger.debug(
-            this, "%d classes parsed via ASM in %[ms]s",
-            map.size(), System.currentTimeMillis() - start
+            this, "%d classes parsed via ASM in %d threads in %[ms]s",
+            total, this.threads, System.currentTimeMillis() - start
         );
-        return map.entrySet();
+        return total;
+    }
+
+    /**
+     * Submit slices of classes to parse, until there are one more
+     * of them than threads, or no more classes.
+     * @param classes Classes to parse
+     * @param futures Slices being parsed
+     * @param service The service that parses them
+     * @return How many classes were submitted
+     */
+    private long submit(final Iterator<ClassFile> classes,
+        final Queue<Future<List<Map.Entry<String, Node>>>> futures,
+        final ExecutorService service) {
+        long total = 0L;
+        while (classes.hasNext() && futures.size() <= this.threads) {
+            final List<ClassFile> slice = new ArrayList<>(Skeleton.SLICE);
+            while (classes.hasNext() && slice.size() < Skeleton.SLICE) {
+                slice.add(classes.next());
+            }
+            total += slice.size();
+            futures.add(
+                service.submit(
+                    () -> this.timings.measured(
+                        "parse", () -> this.parsed(slice)
+                    )
+                )
+            );
+        }
+        return total;
+    }
+
+    /**
+     * Write parsed classes, opening and closing packages.
+     * @param parsed Classes with their packages
+     * @param writer The writer
+     * @param current Package that is open, or NULL if none is
+     * @return Package that is open now
+     * @throws XMLStreamException If fails
+     */
+    private static String written(final List<Map.Entry<String, Node>> parsed,
+        final XMLStreamWriter writer, final String current)
+        throws XMLStreamException {
+        String pkg = current;
+        for (final Map.Entry<String, Node> ent : parsed) {
+            if (!ent.getKey().equals(pkg)) {
+                if (pkg != null) {
+                    Skeleton.indent(writer, 2);
+                    writer.writeEndElement();
+                }
+                pkg = ent.getKey();
+                Skeleton.indent(writer, 2);
+                writer.writeStartElement("package");
+                writer.writeAttribute("id", pkg);
+            }
+            Skeleton.copy(ent.getValue(), writer, 3);
+        }
+        return pkg;
+    }
+
+    private List<Map.Entry<String, Node>> parsed(final List<ClassFile> slice)
+        throws Exception {
+        final List<Map.Entry<String, Node>> parsed =
+            new ArrayList<>(slice.size());
+        for (final ClassFile file : slice) {
+            parsed.add(
+                new MapEntry<>(
+                    Skeleton.pkg(file.reader()), this.fragments.apply(file)
+                )
+            );
+        }
+        return parsed;
+    }
+
+    private static void start(final Node node, final XMLStreamWriter writer)
+        throws XMLStreamException {
+        writer.writeStartElement(node.getNodeName());
+        final NamedNodeMap attrs = node.getAttributes();
+        for (int idx = 0; idx < attrs.getLength(); ++idx) {
+            final Node attr = attrs.item(idx);
+            writer.writeAttribute(attr.getNodeName(), attr.getNodeValue());
+        }
     }
 
-    private static Map.Entry<String, Directives> xembly(final CtClass ctc) {
-        ctc.defrost();
-        String pkg = ctc.getPackageName();
-        if (pkg == null) {
-            pkg = "";
+    /**
+     * Copy the node into the writer, indented the same way
+     * {@link com.jcabi.xml.XMLDocument} prints it, since some
+     * metrics take whitespace text nodes into account.
+     * @param node The node
+     * @param writer The writer
+     * @param depth Depth of the node
+     * @throws XMLStreamException If fails
+     */
+    private static void copy(final Node node, final XMLStreamWriter writer,
+        final int depth) throws XMLStreamException {
+        if (node.getNodeType() == Node.ELEMENT_NODE) {
+            Skeleton.indent(writer, depth);
+            Skeleton.start(node, writer);
+            final NodeList children = node.getChildNodes();
+            boolean nested = false;
+            for (int idx = 0; idx < children.getLength(); ++idx) {
+                final Node child = children.item(idx);
+                nested |= child.getNodeType() == Node.ELEMENT_NODE;
+                Skeleton.copy(child, writer, depth + 1);
+            }
+            if (nested) {
+                Skeleton.indent(writer, depth);
+            }
+            writer.writeEndElement();
+        } else if (node.getNodeType() == Node.COMMENT_NODE) {
+            writer.writeComment(node.getNodeValue());
+        } else if (node.getNodeType() == Node.TEXT_NODE) {
+            writer.writeCharacters(node.getNodeValue());
         }
-        return new MapEntry<>(
-            pkg,
+    }
+
+    private static void indent(final XMLStreamWriter writer, final int depth)
+        throws XMLStreamException {
+        final StringBuilder spaces = new StringBuilder("\n");
+        for (int idx = 0; idx < depth * 3; ++idx) {
+            spaces.append(' ');
+        }
+        writer.writeCharacters(spaces.toString());
+    }
+
+    /**
+     * Package of the class.
+     * @param reader The class
+     * @return Package name, with dots, or empty if it's the default one
+     */
+    private static String pkg(final ClassReader reader) {
+        final String name = reader.getClassName().replace('/', '.');
+        return name.substring(0, Math.max(0, name.lastIndexOf('.')));
+    }
+
+    /**
+     * Fragment of the skeleton for a class, parsed from its bytecode.
+     * @param file The class file
+     * @return The {@code class} element
+     */
+    private static Node fragment(final ClassFile file) {
+        final ClassReader reader = file.reader();
+        final String name = reader.getClassName().replace('/', '.');
+        final String pkg = Skeleton.pkg(reader);
+        return new Xembler(
             new Directives()
                 .add("class").comment(
                     Xembler.escape(
                         String.format(
                             "Package: %s; name: %s; file: %s",
-                            ctc.getPackageName(),
-                            ctc.getName(),
-                            ctc.getClassFile().getName()
+                            pkg, name, name
                         )
                     )
                 )
-                .attr("id", ctc.getSimpleName())
-                .append(new XmlClass(ctc))
+                .attr("id", name.substring(name.lastIndexOf('.') + 1))
+                .append(new XmlClass(reader))
                 .up()
-        );
+        ).domQuietly().getDocumentElement();
     }
 }
@@ -4,12 +4,9 @@
  */
 package org.jpeek.skeleton;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import javassist.CannotCompileException;
-import javassist.CtClass;
 import org.cactoos.iterable.Joined;
 import org.cactoos.iterable.Mapped;
 import org.objectweb.asm.ClassReader;
@@ -33,7 +30,7 @@ final class XmlClass extends ClassVisitor implements Iterable<Directive> {
     /**
      * The class.
      */
-    private final CtClass source;
+    private final ClassReader source;
 
     /**
      * Attributes.
@@ -49,7 +46,7 @@ final class XmlClass extends ClassVisitor implements Iterable<Directive> {
      * Ctor.
      * @param src The source
      */
-    XmlClass(final CtClass src) {
+    XmlClass(final ClassReader src) {
         super(Opcodes.ASM9);
         this.source = src;
         this.attrs = new Directives();
@@ -58,14 +55,8 @@ final class XmlClass extends ClassVisitor implements Iterable<Directive> {
 
     @Override
     public Iterator<Directive> iterator() {
-        final ClassReader reader;
-        try {
-            reader = new ClassReader(this.source.toBytecode());
-        } catch (final IOException | CannotCompileException ex) {
-            throw new IllegalStateException(ex);
-        }
         this.attrs.add("attributes");
-        reader.accept(this, 0);
+        this.source.accept(this, 0);
         return new Directives()
             .append(this.attrs)
             .up()
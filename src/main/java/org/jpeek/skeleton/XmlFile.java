@@ -0,0 +1,73 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.skeleton;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.nio.file.Path;
+import java.util.List;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.transform.stream.StreamSource;
+import org.cactoos.scalar.Solid;
+import org.cactoos.scalar.Unchecked;
+import org.w3c.dom.Node;
+
+/**
+ * Read-only XML view of a file, which is parsed only when queried.
+ *
+ * <p>The file is parsed straight into a DOM, without reading it
+ * into a string first.</p>
+ *
+ * <p>There is no thread-safety guarantee.</p>
+ *
+ * @since 1.0
+ */
+final class XmlFile implements XML {
+
+    /**
+     * The parsed file.
+     */
+    private final Unchecked<XML> origin;
+
+    /**
+     * Ctor.
+     * @param file The file
+     */
+    XmlFile(final Path file) {
+        this.origin = new Unchecked<>(
+            new Solid<>(() -> new XMLDocument(new StreamSource(file.toFile())))
+        );
+    }
+
+    @Override
+    public String toString() {
+        return this.origin.value().toString();
+    }
+
+    @Override
+    public List<String> xpath(final String query) {
+        return this.origin.value().xpath(query);
+    }
+
+    @Override
+    public List<XML> nodes(final String query) {
+        return this.origin.value().nodes(query);
+    }
+
+    @Override
+    public XML registerNs(final String prefix, final Object uri) {
+        return this.origin.value().registerNs(prefix, uri);
+    }
+
+    @Override
+    public XML merge(final NamespaceContext context) {
+        return this.origin.value().merge(context);
+    }
+
+    @Override
+    public Node node() {
+        return this.origin.value().node();
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.jpeek.Sha256;
+
+/**
+ * Repository that keeps JARs of another one in a local directory.
+ *
+ * <p>JARs are kept once per SHA-256 of their content, while the index
+ * maps every version of every artifact to its JAR. When their total
+ * size is above the limit, the JARs fetched least recently are deleted.
+ * Versions are always asked from the origin, since they change.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+final class CachedRepository implements Repository {
+
+    /**
+     * Original repository.
+     */
+    private final Repository origin;
+
+    /**
+     * Directory of the cache.
+     */
+    private final Path dir;
+
+    /**
+     * Max total size of JARs, in bytes.
+     */
+    private final long max;
+
+    /**
+     * Metrics of hits, misses and evictions of the cache.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Lock held while evicting.
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * Ctor.
+     * @param repo Original repository
+     * @param path Directory of the cache
+     * @param limit Max total size of JARs, in bytes
+     * @param mtx Metrics of hits, misses and evictions of the cache
+     */
+    CachedRepository(final Repository repo, final Path path, final long limit,
+        final Metrics mtx) {
+        this.origin = repo;
+        this.dir = path;
+        this.max = limit;
+        this.metrics = mtx;
+        this.lock = new ReentrantLock();
+    }
+
+    @Override
+    public String latest(final String group, final String artifact)
+        throws IOException {
+        return this.origin.latest(group, artifact);
+    }
+
+    @Override
+    public boolean fetch(final String group, final String artifact,
+        final String version, final Path jar) throws IOException {
+        final Path entry = this.entry(group, artifact, version);
+        final Path cached = this.cached(entry);
+        final boolean found;
+        if (cached != null) {
+            Files.setLastModifiedTime(
+                cached, FileTime.fromMillis(System.currentTimeMillis())
+            );
+            Files.copy(cached, jar, StandardCopyOption.REPLACE_EXISTING);
+            this.metrics.count("jpeek_jar_cache_hits_total", 1L);
+            found = true;
+        } else {
+            this.metrics.count("jpeek_jar_cache_misses_total", 1L);
+            found = this.origin.fetch(group, artifact, version, jar);
+            if (found) {
+                this.keep(jar, entry);
+                this.evict();
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public long size(final String group, final String artifact,
+        final String version) throws IOException {
+        final Path cached = this.cached(this.entry(group, artifact, version));
+        final long size;
+        if (cached == null) {
+            size = this.origin.size(group, artifact, version);
+        } else {
+            size = Files.size(cached);
+        }
+        return size;
+    }
+
+    /**
+     * Entry of the version of the artifact in the index.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @param version Version of the artifact
+     * @return The entry, which may be absent
+     */
+    private Path entry(final String group, final String artifact,
+        final String version) {
+        return this.dir.resolve("index").resolve(group)
+            .resolve(artifact).resolve(String.format("%s.txt", version));
+    }
+
+    /**
+     * Cached JAR the entry of the index points to.
+     * @param entry The entry
+     * @return The JAR, or NULL if it's not in the cache
+     * @throws IOException If fails
+     */
+    private Path cached(final Path entry) throws IOException {
+        Path cached = null;
+        if (Files.exists(entry)) {
+            final Path jar = this.jars().resolve(
+                new String(Files.readAllBytes(entry), StandardCharsets.UTF_8)
+                    .trim()
+            );
+            if (Files.exists(jar)) {
+                cached = jar;
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Keep a copy of the JAR and point the entry of the index to it.
+     * @param jar The JAR
+     * @param entry The entry of the index
+     * @throws IOException If fails
+     */
+    private void keep(final Path jar, final Path entry) throws IOException {
+        final String digest = new Sha256(jar).asString();
+        final Path jars = Files.createDirectories(this.jars());
+        final Path temp = Files.createTempFile(jars, "jar", ".tmp");
+        Files.copy(jar, temp, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(
+            temp, jars.resolve(digest),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE
+        );
+        Files.createDirectories(entry.getParent());
+        final Path index = Files.createTempFile(
+            entry.getParent(), "entry", ".tmp"
+        );
+        Files.write(index, digest.getBytes(StandardCharsets.UTF_8));
+        Files.move(
+            index, entry,
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE
+        );
+    }
+
+    /**
+     * Delete the JARs fetched least recently, until their total size
+     * is not above the limit, unless another thread is evicting already.
+     * Entries of the index that point to deleted JARs are misses.
+     * @throws IOException If fails
+     */
+    private void evict() throws IOException {
+        if (this.lock.tryLock()) {
+            try {
+                final List<Path> all;
+                try (Stream<Path> files = Files.list(this.jars())) {
+                    all = files
+                        .filter(file -> !file.toString().endsWith(".tmp"))
+                        .sorted(
+                            Comparator.comparingLong(
+                                file -> file.toFile().lastModified()
+                            )
+                        )
+                        .collect(Collectors.toList());
+                }
+                long total = all.stream()
+                    .mapToLong(file -> file.toFile().length()).sum();
+                final Iterator<Path> iter = all.iterator();
+                while (total > this.max && iter.hasNext()) {
+                    final Path victim = iter.next();
+                    total -= victim.toFile().length();
+                    Files.deleteIfExists(victim);
+                    this.metrics.count("jpeek_jar_cache_evictions_total", 1L);
+                    Logger.debug(this, "JAR %s evicted", victim);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Directory of JARs.
+     * @return The directory
+     */
+    private Path jars() {
+        return this.dir.resolve("jars");
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import org.cactoos.list.ListOf;
+
+/**
+ * Repositories, which are asked one by one, until one of them knows
+ * the artifact.
+ *
+ * <p>Thus, a local mirror may be asked before Maven Central. Mind that
+ * the latest version is taken from the first repository that knows
+ * the artifact, even if the next ones know a later one.</p>
+ *
+ * <p>The class is thread-safe, if the repositories are.</p>
+ *
+ * @since 1.0
+ */
+final class ChainedRepository implements Repository {
+
+    /**
+     * Repositories, in the order of preference.
+     */
+    private final List<Repository> repos;
+
+    /**
+     * Ctor.
+     * @param list Repositories, in the order of preference
+     */
+    ChainedRepository(final Repository... list) {
+        this.repos = new ListOf<>(list);
+    }
+
+    @Override
+    public String latest(final String group, final String artifact)
+        throws IOException {
+        String version = null;
+        for (final Repository repo : this.repos) {
+            if (version == null) {
+                version = repo.latest(group, artifact);
+            }
+        }
+        return version;
+    }
+
+    @Override
+    public boolean fetch(final String group, final String artifact,
+        final String version, final Path jar) throws IOException {
+        boolean found = false;
+        for (final Repository repo : this.repos) {
+            if (!found) {
+                found = repo.fetch(group, artifact, version, jar);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public long size(final String group, final String artifact,
+        final String version) throws IOException {
+        long size = 0L;
+        for (final Repository repo : this.repos) {
+            if (size == 0L) {
+                size = repo.size(group, artifact, version);
+            }
+        }
+        return size;
+    }
+}
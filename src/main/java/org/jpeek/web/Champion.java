@@ -0,0 +1,187 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+/**
+ * The best mean and sigma of a metric, for {@link Sigmas}.
+ *
+ * <p>A report is a champion if its sigma is smaller than the best one,
+ * or its mean is on the right side of the best one. The best values
+ * are kept between merges, while the champions are counted since the
+ * last one.</p>
+ *
+ * <p>The class is thread-safe. Every champion has its own lock, so
+ * threads adding reports never wait for each other on different
+ * metrics.</p>
+ *
+ * @since 1.0
+ */
+final class Champion {
+
+    /**
+     * Smaller mean is better.
+     */
+    private boolean reverse;
+
+    /**
+     * The best mean.
+     */
+    private double mean;
+
+    /**
+     * The best sigma.
+     */
+    private double sigma;
+
+    /**
+     * Artifact of the best values, empty if none.
+     */
+    private String artifact;
+
+    /**
+     * Champions since the last merge.
+     */
+    private long count;
+
+    /**
+     * Ctor.
+     */
+    Champion() {
+        this.sigma = Double.MAX_VALUE;
+        this.artifact = "";
+    }
+
+    /**
+     * Add the values of the metric in a report.
+     * @param avg The mean
+     * @param sgm The sigma
+     * @param rvs Smaller mean is better
+     * @param art The artifact of the report
+     */
+    synchronized void add(final double avg, final double sgm,
+        final boolean rvs, final String art) {
+        this.reverse = rvs;
+        if (Champion.beats(avg, sgm, this.mean, this.sigma, rvs)) {
+            this.mean = avg;
+            this.sigma = sgm;
+            this.artifact = art;
+            ++this.count;
+        }
+    }
+
+    /**
+     * Add the champions of another one, which were not merged, taking
+     * its best values, unless the ones here are better.
+     * @param other The other one
+     */
+    synchronized void add(final Champion other) {
+        synchronized (other) {
+            this.count += other.count;
+            if (!other.artifact.isEmpty() && !Champion.beats(
+                this.mean, this.sigma, other.mean, other.sigma, other.reverse
+            )) {
+                this.reverse = other.reverse;
+                this.mean = other.mean;
+                this.sigma = other.sigma;
+                this.artifact = other.artifact;
+            }
+        }
+    }
+
+    /**
+     * Take the best values found elsewhere, if they are better, without
+     * counting them as a champion.
+     * @param avg The mean
+     * @param sgm The sigma
+     */
+    synchronized void known(final double avg, final double sgm) {
+        if (Champion.beats(avg, sgm, this.mean, this.sigma, this.reverse)) {
+            this.mean = avg;
+            this.sigma = sgm;
+            this.artifact = "";
+        }
+    }
+
+    /**
+     * Take the champions out of it, keeping the best values.
+     * @return The champion with them
+     */
+    synchronized Champion drain() {
+        final Champion copy = new Champion();
+        copy.reverse = this.reverse;
+        copy.mean = this.mean;
+        copy.sigma = this.sigma;
+        copy.artifact = this.artifact;
+        copy.count = this.count;
+        this.count = 0L;
+        this.artifact = "";
+        return copy;
+    }
+
+    /**
+     * It has no champions.
+     * @return TRUE if empty
+     */
+    synchronized boolean isEmpty() {
+        return this.count == 0L;
+    }
+
+    /**
+     * The best values are better than these ones.
+     * @param avg The mean
+     * @param sgm The sigma
+     * @return TRUE if better
+     */
+    synchronized boolean better(final double avg, final double sgm) {
+        return Champion.beats(this.mean, this.sigma, avg, sgm, this.reverse);
+    }
+
+    /**
+     * The best mean.
+     * @return Mean
+     */
+    synchronized double mean() {
+        return this.mean;
+    }
+
+    /**
+     * The best sigma.
+     * @return Sigma
+     */
+    synchronized double sigma() {
+        return this.sigma;
+    }
+
+    /**
+     * Artifact of the best values.
+     * @return Artifact
+     */
+    synchronized String artifact() {
+        return this.artifact;
+    }
+
+    /**
+     * Champions since the last merge.
+     * @return Count
+     */
+    synchronized long count() {
+        return this.count;
+    }
+
+    /**
+     * The first values beat the second ones.
+     * @param avg The first mean
+     * @param sgm The first sigma
+     * @param before The second mean
+     * @param sbefore The second sigma
+     * @param rvs Smaller mean is better
+     * @return TRUE if they do
+     */
+    private static boolean beats(final double avg, final double sgm,
+        final double before, final double sbefore, final boolean rvs) {
+        // @checkstyle BooleanExpressionComplexityCheck (1 line)
+        return sgm < sbefore || avg < before && rvs || avg > before && !rvs;
+    }
+}
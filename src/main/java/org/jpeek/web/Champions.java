@@ -0,0 +1,103 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Champions of all metrics, in memory, until they are merged
+ * into {@link Sigmas}.
+ *
+ * <p>Only reports of big artifacts with few defects compete, the
+ * others are ignored.</p>
+ *
+ * <p>The class is thread-safe. Reports are added by many threads at
+ * the same time, while the champions are drained by another one.</p>
+ *
+ * @since 1.0
+ */
+final class Champions {
+
+    /**
+     * Champions, by metrics.
+     */
+    private final Map<String, Champion> map;
+
+    /**
+     * Ctor.
+     */
+    Champions() {
+        this.map = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Add means and sigmas of all metrics of the report.
+     * @param dir Directory with the report
+     * @throws IOException If fails
+     */
+    void add(final Path dir) throws IOException {
+        final XML index = new XMLDocument(dir.resolve("index.xml").toFile());
+        final double defects = Double.parseDouble(
+            index.xpath("/index/@defects").get(0)
+        );
+        final int classes = Integer.parseInt(
+            index.xpath("/index/metric[1]/classes/text()").get(0)
+        );
+        if (defects < 0.15d && classes > 200) {
+            final String artifact = index.xpath("/index/@artifact").get(0);
+            for (final XML metric : index.nodes("//metric")) {
+                this.map.computeIfAbsent(
+                    metric.xpath("@name").get(0), name -> new Champion()
+                ).add(
+                    Double.parseDouble(metric.xpath("mean/text()").get(0)),
+                    Double.parseDouble(metric.xpath("sigma/text()").get(0)),
+                    Boolean.parseBoolean(metric.xpath("reverse/text()").get(0)),
+                    artifact
+                );
+            }
+        }
+    }
+
+    /**
+     * Take all champions out of them.
+     * @return Champions, by metrics, without empty ones
+     */
+    Map<String, Champion> drain() {
+        final Map<String, Champion> drained = new TreeMap<>();
+        for (final Map.Entry<String, Champion> ent : this.map.entrySet()) {
+            final Champion champion = ent.getValue().drain();
+            if (!champion.isEmpty()) {
+                drained.put(ent.getKey(), champion);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Put back the champions of the metric, which were not merged.
+     * @param metric The metric
+     * @param champion Its champion
+     */
+    void restore(final String metric, final Champion champion) {
+        this.map.computeIfAbsent(metric, name -> new Champion())
+            .add(champion);
+    }
+
+    /**
+     * Take the best values of the metric, which are in the table now.
+     * @param metric The metric
+     * @param champion Its champion, merged into the table
+     */
+    void known(final String metric, final Champion champion) {
+        this.map.computeIfAbsent(metric, name -> new Champion())
+            .known(champion.mean(), champion.sigma());
+    }
+}
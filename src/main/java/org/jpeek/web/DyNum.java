@@ -57,7 +57,15 @@ final class DyNum extends Number {
      * @throws IOException If fails
      */
     DyNum(final Item item, final String attr) throws IOException {
-        this(Double.parseDouble(item.get(attr).getN()) / DyNum.MULTIPLIER);
+        this(item.get(attr));
+    }
+
+    /**
+     * Ctor.
+     * @param value The value of an attribute
+     */
+    DyNum(final AttributeValue value) {
+        this(Double.parseDouble(value.getN()) / DyNum.MULTIPLIER);
     }
 
     /**
@@ -0,0 +1,243 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import com.jcabi.log.Logger;
+import com.jcabi.log.VerboseThreads;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Scheduler that starts the cheapest waiting task first.
+ *
+ * <p>The cost of a task is in seconds: its size, where a megabyte of
+ * JAR costs a second, plus ten minutes if it's a bulk one, minus the
+ * time it is waiting already. Thus, small tasks go before big ones,
+ * interactive ones go before bulk ones, and every task starts sooner
+ * or later, since its cost goes down while it waits.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+final class FairScheduler implements Scheduler {
+
+    /**
+     * Bytes of JAR analyzed in a second, roughly.
+     */
+    private static final double RATE = 1024.0d * 1024.0d;
+
+    /**
+     * Extra cost of a bulk task, in seconds.
+     */
+    private static final double BULK = 600.0d;
+
+    /**
+     * Threads running the tasks.
+     */
+    private final ExecutorService service;
+
+    /**
+     * Waiting tasks.
+     */
+    private final List<Task<?>> waiting;
+
+    /**
+     * Lock guarding the waiting tasks.
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * Signal of a new waiting task.
+     */
+    private final Condition ready;
+
+    /**
+     * Ctor.
+     * @param threads How many tasks to run at the same time
+     */
+    FairScheduler(final int threads) {
+        this.service = Executors.newFixedThreadPool(
+            threads, new VerboseThreads(FairScheduler.class)
+        );
+        this.waiting = new LinkedList<>();
+        this.lock = new ReentrantLock();
+        this.ready = this.lock.newCondition();
+        for (int idx = 0; idx < threads; ++idx) {
+            this.service.execute(this::work);
+        }
+    }
+
+    @Override
+    public <T> Future<T> submit(final Priority priority, final long size,
+        final Callable<T> task) {
+        final Task<T> future = new Task<>(task, priority, size);
+        this.lock.lock();
+        try {
+            this.waiting.add(future);
+            this.ready.signal();
+        } finally {
+            this.lock.unlock();
+        }
+        return future;
+    }
+
+    @Override
+    public boolean promote(final Future<?> future) {
+        this.lock.lock();
+        try {
+            final boolean found = this.waiting.contains(future);
+            if (found) {
+                ((Task<?>) future).priority = Priority.INTERACTIVE;
+            }
+            return found;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean shutdown() throws InterruptedException {
+        this.lock.lock();
+        try {
+            for (final Task<?> task : this.waiting) {
+                task.drop();
+            }
+            this.waiting.clear();
+        } finally {
+            this.lock.unlock();
+        }
+        this.service.shutdownNow();
+        final boolean stopped =
+            this.service.awaitTermination(1L, TimeUnit.MINUTES);
+        if (!stopped) {
+            Logger.info(this, "Shutdown is not completed after 1min");
+        }
+        return stopped;
+    }
+
+    /**
+     * Run the cheapest waiting tasks, one by one, until shut down.
+     *
+     * <p>Tasks may swallow the interruption, that's why the state of
+     * the service is checked, not the flag of the thread.</p>
+     */
+    private void work() {
+        try {
+            while (!this.service.isShutdown()) {
+                this.next().run();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Take the cheapest waiting task, waiting for one if there are none.
+     * @return The task
+     * @throws InterruptedException If interrupted while waiting
+     */
+    private Task<?> next() throws InterruptedException {
+        this.lock.lock();
+        try {
+            while (this.waiting.isEmpty()) {
+                this.ready.await();
+            }
+            final long now = System.nanoTime();
+            Task<?> best = this.waiting.get(0);
+            for (final Task<?> task : this.waiting) {
+                if (task.cost(now) < best.cost(now)) {
+                    best = task;
+                }
+            }
+            this.waiting.remove(best);
+            return best;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Task, waiting or running.
+     *
+     * @param <T> Type of the result
+     * @since 1.0
+     */
+    private final class Task<T> extends FutureTask<T> {
+
+        /**
+         * Priority, which may be promoted while waiting.
+         */
+        private volatile Priority priority;
+
+        /**
+         * Estimated size, in bytes.
+         */
+        private final long size;
+
+        /**
+         * When it was submitted, in nanoseconds.
+         */
+        private final long start;
+
+        /**
+         * Ctor.
+         * @param task The task
+         * @param prt Priority
+         * @param bytes Estimated size, in bytes
+         */
+        Task(final Callable<T> task, final Priority prt, final long bytes) {
+            super(task);
+            this.priority = prt;
+            this.size = bytes;
+            this.start = System.nanoTime();
+        }
+
+        /**
+         * Cancel it, only if it's still waiting.
+         * @param interrupt Ignored, since a waiting task has no thread
+         * @return TRUE if cancelled
+         */
+        @Override
+        public boolean cancel(final boolean interrupt) {
+            FairScheduler.this.lock.lock();
+            try {
+                return FairScheduler.this.waiting.remove(this) && this.drop();
+            } finally {
+                FairScheduler.this.lock.unlock();
+            }
+        }
+
+        /**
+         * Cancel it, no matter where it is.
+         * @return TRUE if cancelled
+         */
+        boolean drop() {
+            return super.cancel(false);
+        }
+
+        /**
+         * Cost of the task at the moment.
+         * @param now The moment, in nanoseconds
+         * @return Cost, in seconds
+         */
+        double cost(final long now) {
+            double cost = this.size / FairScheduler.RATE
+                - (now - this.start) / 1.0e9d;
+            if (this.priority == Priority.BULK) {
+                cost += FairScheduler.BULK;
+            }
+            return cost;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recent frequencies of keys, estimated in fixed memory.
+ *
+ * <p>This is a count-min sketch: every key is counted in a few
+ * counters, chosen by hashes, and its frequency is the smallest of
+ * them, which is never less than the real one. Every time the number
+ * of additions reaches ten times the number of counters, all counters
+ * are halved, so old popularity fades away, as in TinyLFU. Keys are
+ * remembered even after they are evicted from a cache.</p>
+ *
+ * <p>The class is thread-safe and doesn't lock, but counters may be
+ * slightly off while they are halved.</p>
+ *
+ * @since 1.0
+ */
+final class Frequencies {
+
+    /**
+     * Seeds of hashes, one per row of counters.
+     */
+    private static final int[] SEEDS = {
+        0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F,
+    };
+
+    /**
+     * Counters, row by row.
+     */
+    private final AtomicIntegerArray counters;
+
+    /**
+     * Counters in a row, a power of two.
+     */
+    private final int width;
+
+    /**
+     * Additions since the start.
+     */
+    private final AtomicLong additions;
+
+    /**
+     * Ctor.
+     * @param keys How many keys to tell apart, roughly
+     */
+    Frequencies(final int keys) {
+        this.width = Integer.highestOneBit(Math.max(16, keys * 4 - 1)) << 1;
+        this.counters = new AtomicIntegerArray(
+            this.width * Frequencies.SEEDS.length
+        );
+        this.additions = new AtomicLong();
+    }
+
+    /**
+     * Count the key once more.
+     * @param key The key
+     */
+    void add(final String key) {
+        for (int row = 0; row < Frequencies.SEEDS.length; ++row) {
+            this.counters.incrementAndGet(this.index(key, row));
+        }
+        if (this.additions.incrementAndGet() % (this.width * 10L) == 0L) {
+            for (int idx = 0; idx < this.counters.length(); ++idx) {
+                this.counters.set(idx, this.counters.get(idx) >>> 1);
+            }
+        }
+    }
+
+    /**
+     * Estimated recent frequency of the key.
+     * @param key The key
+     * @return Frequency, maybe a bit more than the real one
+     */
+    int estimate(final String key) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < Frequencies.SEEDS.length; ++row) {
+            min = Math.min(min, this.counters.get(this.index(key, row)));
+        }
+        return min;
+    }
+
+    /**
+     * Index of the counter of the key in the row.
+     * @param key The key
+     * @param row The row
+     * @return Index in all counters
+     */
+    private int index(final String key, final int row) {
+        int hash = key.hashCode() * Frequencies.SEEDS[row];
+        hash ^= hash >>> 16;
+        return row * this.width + (hash & (this.width - 1));
+    }
+}
@@ -6,22 +6,19 @@ package org.jpeek.web;
 
 import com.jcabi.log.Logger;
 import com.jcabi.log.VerboseCallable;
-import com.jcabi.log.VerboseThreads;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import org.cactoos.BiFunc;
 import org.cactoos.Func;
 import org.cactoos.Text;
 import org.cactoos.io.InputOf;
 import org.cactoos.iterable.IterableOf;
 import org.cactoos.iterable.Mapped;
-import org.cactoos.number.AvgOf;
 import org.cactoos.text.Joined;
 import org.cactoos.text.TextOf;
 import org.cactoos.text.UncheckedText;
@@ -45,83 +42,144 @@ final class Futures implements
     private final BiFunc<String, String, Func<String, Response>> origin;
 
     /**
-     * Service.
+     * Scheduler of analyses.
      */
-    private final ExecutorService service;
+    private final Scheduler scheduler;
 
     /**
-     * Queue.
+     * Estimated sizes of artifacts.
      */
-    private final Map<String, Long> queue;
+    private final BiFunc<String, String, Long> sizes;
 
     /**
-     * Long.
+     * Queue, waiting and running analyses, and maybe some finished
+     * ones, which are removed when the next one is submitted.
      */
-    private final Collection<Long> times;
+    private final Map<String, Future<Func<String, Response>>> queue;
+
+    /**
+     * Lock guarding the queue while analyses are submitted.
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * Metrics of the queue and of analyses.
+     */
+    private final Metrics metrics;
 
     /**
      * Ctor.
      * @param func Original bi-function
      */
     Futures(final BiFunc<String, String, Func<String, Response>> func) {
+        this(func, new Metrics());
+    }
+
+    /**
+     * Ctor.
+     * @param func Original bi-function
+     * @param mtx Metrics of the queue and of analyses
+     */
+    Futures(final BiFunc<String, String, Func<String, Response>> func,
+        final Metrics mtx) {
         this(
-            func,
-            Executors.newFixedThreadPool(
-                Math.min(Runtime.getRuntime().availableProcessors(), 4),
-                new VerboseThreads(Futures.class)
-            )
+            func, mtx,
+            new FairScheduler(
+                Math.min(Runtime.getRuntime().availableProcessors(), 4)
+            ),
+            (group, artifact) -> 0L
         );
     }
 
     /**
      * Ctor.
      * @param func Original bi-function
-     * @param exec Executor service
+     * @param mtx Metrics of the queue and of analyses
+     * @param schd Scheduler of analyses
+     * @param szs Estimated sizes of artifacts, in bytes
      */
-    private Futures(final BiFunc<String, String, Func<String, Response>> func,
-        final ExecutorService exec) {
+    Futures(final BiFunc<String, String, Func<String, Response>> func,
+        final Metrics mtx, final Scheduler schd,
+        final BiFunc<String, String, Long> szs) {
         this.origin = func;
-        this.service = exec;
+        this.metrics = mtx;
+        this.scheduler = schd;
+        this.sizes = szs;
         this.queue = new ConcurrentSkipListMap<>();
-        this.times = new CopyOnWriteArrayList<>();
+        this.lock = new ReentrantLock();
     }
 
+    /**
+     * Submit an analysis for an interactive page view, or promote
+     * the one that is waiting already.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @return Future of the page
+     * @throws Exception If fails
+     */
     @Override
     public Future<Func<String, Response>> apply(final String group,
-        final String artifact) {
+        final String artifact) throws Exception {
+        return this.submit(group, artifact, Scheduler.Priority.INTERACTIVE);
+    }
+
+    /**
+     * Futures for bulk uploads, which go after interactive ones.
+     * @return Futures
+     */
+    BiFunc<String, String, Future<Func<String, Response>>> bulk() {
+        return (group, artifact) -> this.submit(
+            group, artifact, Scheduler.Priority.BULK
+        );
+    }
+
+    /**
+     * Cancel the analysis, if it's not started yet.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @return TRUE if cancelled
+     */
+    boolean cancel(final String group, final String artifact) {
         final String target = String.format("%s:%s", group, artifact);
-        this.queue.put(target, System.currentTimeMillis());
-        if (this.times.size() > 1000) {
-            this.times.clear();
+        this.lock.lock();
+        try {
+            final Future<Func<String, Response>> future = this.queue.get(target);
+            final boolean cancelled = future != null && future.cancel(false);
+            if (cancelled) {
+                this.queue.remove(target);
+                this.metrics.gauge("jpeek_queue_depth", -1L);
+            }
+            return cancelled;
+        } finally {
+            this.lock.unlock();
         }
-        return this.service.submit(
-            new VerboseCallable<>(
-                () -> this.process(group, artifact, target),
-                true, true
-            )
-        );
     }
 
     @Override
     public String asString() throws Exception {
+        final Set<Thread> threads = Thread.getAllStackTraces().keySet();
+        final List<String> targets = new ArrayList<>(this.queue.size());
+        for (final Map.Entry<String, Future<Func<String, Response>>> ent
+            : this.queue.entrySet()) {
+            if (!ent.getValue().isDone()) {
+                targets.add(ent.getKey());
+            }
+        }
         return Logger.format(
             "Artifacts=%d, processors=%d, threads=%d, freeMemory=%dM, maxMemory=%dM, totalMemory=%dM, ETA=%[ms]s:%n%s%n%nThreads: %s",
-            this.queue.size(),
+            targets.size(),
             Runtime.getRuntime().availableProcessors(),
-            Thread.getAllStackTraces().keySet().size(),
+            threads.size(),
             Runtime.getRuntime().freeMemory() / (1024L << 10),
             Runtime.getRuntime().maxMemory() / (1024L << 10),
             Runtime.getRuntime().totalMemory() / (1024L << 10),
-            new AvgOf(
-                this.times.toArray(new Long[0])
-            ).longValue() * this.queue.size(),
-            new Joined(", ", this.queue.keySet()).asString(),
+            (long) (
+                this.metrics.mean("jpeek_analysis_seconds") * 1000.0d
+            ) * targets.size(),
+            new Joined(", ", targets).asString(),
             new Joined(
                 ", ",
-                new Mapped<>(
-                    Thread::getName,
-                    Thread.getAllStackTraces().keySet()
-                )
+                new Mapped<>(Thread::getName, threads)
             ).asString()
         );
     }
@@ -132,34 +190,90 @@ final class Futures implements
      * @throws InterruptedException If interrupted while waiting
      */
     boolean shutdown() throws InterruptedException {
-        this.service.shutdownNow();
-        final boolean stopped =
-            this.service.awaitTermination(1L, TimeUnit.MINUTES);
-        if (!stopped) {
-            Logger.info(this, "Shutdown is not completed after 1min");
+        return this.scheduler.shutdown();
+    }
+
+    /**
+     * Submit the analysis, unless it's in the queue already. Its size
+     * is estimated without holding the lock, since it may take a request
+     * to the repository.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @param priority Priority of the analysis
+     * @return Future of the page
+     * @throws Exception If fails
+     */
+    private Future<Func<String, Response>> submit(final String group,
+        final String artifact, final Scheduler.Priority priority)
+        throws Exception {
+        final String target = String.format("%s:%s", group, artifact);
+        Future<Func<String, Response>> future = this.queued(target, priority);
+        if (future == null) {
+            final long size = this.sizes.apply(group, artifact);
+            this.lock.lock();
+            try {
+                future = this.queue.get(target);
+                if (future == null) {
+                    future = this.scheduler.submit(
+                        priority, size,
+                        new VerboseCallable<>(
+                            () -> this.process(group, artifact), true, true
+                        )
+                    );
+                    this.queue.put(target, future);
+                    this.metrics.gauge("jpeek_queue_depth", 1L);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+        return future;
+    }
+
+    /**
+     * The analysis in the queue, promoted, if the page is viewed.
+     * @param target The artifact, like "org.jpeek:jpeek"
+     * @param priority Priority of the analysis
+     * @return Future of the page, or NULL if it's not in the queue
+     */
+    private Future<Func<String, Response>> queued(final String target,
+        final Scheduler.Priority priority) {
+        this.lock.lock();
+        try {
+            this.queue.values().removeIf(Future::isDone);
+            final Future<Func<String, Response>> future =
+                this.queue.get(target);
+            if (future != null
+                && priority == Scheduler.Priority.INTERACTIVE) {
+                this.scheduler.promote(future);
+            }
+            return future;
+        } finally {
+            this.lock.unlock();
         }
-        return stopped;
     }
 
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
-    private Func<String, Response> process(final String group, final String artifact,
-        final String target) {
+    private Func<String, Response> process(final String group,
+        final String artifact) {
         Func<String, Response> front;
+        this.metrics.gauge("jpeek_queue_depth", -1L);
+        this.metrics.gauge("jpeek_analyses_in_flight", 1L);
+        final long start = System.nanoTime();
         try {
             Logger.info(
                 this, "Started processing of %s:%s...",
                 group, artifact
             );
             front = this.origin.apply(group, artifact);
-            this.times.add(
-                System.currentTimeMillis() - this.queue.remove(target)
-            );
+            this.metrics.count("jpeek_analyses_total", 1L);
             Logger.info(
                 this, "Finished processing of %s:%s",
                 group, artifact
             );
         // @checkstyle IllegalCatchCheck (4 lines)
         } catch (final Exception ex) {
+            this.metrics.count("jpeek_analysis_failures_total", 1L);
             Logger.error(
                 this, "Failure in %s:%s: %s",
                 group, artifact, ex.getMessage()
@@ -178,6 +292,11 @@ final class Futures implements
                     )
                 )
             );
+        } finally {
+            this.metrics.gauge("jpeek_analyses_in_flight", -1L);
+            this.metrics.observe(
+                "jpeek_analysis_seconds", (System.nanoTime() - start) / 1.0e9d
+            );
         }
         return front;
     }
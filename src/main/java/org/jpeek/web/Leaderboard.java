@@ -0,0 +1,120 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.cactoos.Func;
+import org.cactoos.Scalar;
+import org.cactoos.func.UncheckedFunc;
+import org.cactoos.scalar.Solid;
+import org.cactoos.scalar.Unchecked;
+import org.xembly.Directive;
+
+/**
+ * Items of {@link Results} in memory, with views of them, like the best
+ * or the recent ones, rendered once and kept until the items change.
+ *
+ * <p>Items are loaded from the table when they are needed for the first
+ * time, and then updated by {@link Results}, so that the views cost no
+ * reads of the table.</p>
+ *
+ * <p>The class is thread-safe. A view that is rendered while the items
+ * change is rendered again next time, since it may miss the change.</p>
+ *
+ * @since 1.0
+ */
+final class Leaderboard {
+
+    /**
+     * Items, by artifacts.
+     */
+    private final Unchecked<Map<String, Map<String, AttributeValue>>> items;
+
+    /**
+     * Rendered views, with generations of items they are rendered from.
+     */
+    private final Map<String, Map.Entry<Long, List<Iterable<Directive>>>> views;
+
+    /**
+     * Generation of items, which grows every time they change.
+     */
+    private final AtomicLong generation;
+
+    /**
+     * Ctor.
+     * @param load Items, by artifacts, loaded from the table
+     */
+    Leaderboard(final Scalar<Map<String, Map<String, AttributeValue>>> load) {
+        this.items = new Unchecked<>(
+            new Solid<>(() -> new ConcurrentHashMap<>(load.value()))
+        );
+        this.views = new ConcurrentHashMap<>(0);
+        this.generation = new AtomicLong();
+    }
+
+    /**
+     * Put the item of the artifact, replacing the one it had.
+     * @param artifact The artifact, like "org.jpeek:jpeek"
+     * @param item The item
+     */
+    void put(final String artifact, final Map<String, AttributeValue> item) {
+        this.items.value().put(artifact, item);
+        this.generation.incrementAndGet();
+    }
+
+    /**
+     * Delete all items.
+     */
+    void clear() {
+        this.items.value().clear();
+        this.generation.incrementAndGet();
+    }
+
+    /**
+     * Item of the artifact.
+     * @param artifact The artifact, like "org.jpeek:jpeek"
+     * @return The item or NULL if there is none
+     */
+    Map<String, AttributeValue> get(final String artifact) {
+        return this.items.value().get(artifact);
+    }
+
+    /**
+     * The view, rendered now, or before, if the items didn't change since.
+     * @param name Name of the view
+     * @param render How to render the view of the items
+     * @return The view
+     */
+    List<Iterable<Directive>> view(final String name,
+        final Func<Collection<Map<String, AttributeValue>>,
+            List<Iterable<Directive>>> render) {
+        final long gen = this.generation.get();
+        final Map.Entry<Long, List<Iterable<Directive>>> before =
+            this.views.get(name);
+        final List<Iterable<Directive>> view;
+        if (before != null && before.getKey() == gen) {
+            view = before.getValue();
+        } else {
+            view = Collections.unmodifiableList(
+                new UncheckedFunc<>(render).apply(
+                    Collections.unmodifiableCollection(
+                        this.items.value().values()
+                    )
+                )
+            );
+            this.views.put(
+                name, new AbstractMap.SimpleImmutableEntry<>(gen, view)
+            );
+        }
+        return view;
+    }
+}
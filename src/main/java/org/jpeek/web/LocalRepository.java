@@ -0,0 +1,105 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import com.jcabi.xml.XMLDocument;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import org.cactoos.list.ListOf;
+
+/**
+ * Repository in a local directory, with the layout of Maven, like
+ * {@code ~/.m2/repository} or a mirror of Maven Central.
+ *
+ * <p>The latest version is taken from {@code maven-metadata.xml} of
+ * the artifact, as in a mirror, or from the metadata that Maven keeps
+ * in {@code ~/.m2}, if there is no such file.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+final class LocalRepository implements Repository {
+
+    /**
+     * Names of files with metadata, in the order of preference.
+     */
+    private static final List<String> METADATA = new ListOf<>(
+        "maven-metadata.xml",
+        "maven-metadata-central.xml",
+        "maven-metadata-local.xml"
+    );
+
+    /**
+     * Directory of the repository.
+     */
+    private final Path dir;
+
+    /**
+     * Ctor.
+     * @param path Directory of the repository
+     */
+    LocalRepository(final Path path) {
+        this.dir = path;
+    }
+
+    @Override
+    public String latest(final String group, final String artifact)
+        throws IOException {
+        final Path home = this.dir.resolve(group.replace(".", "/"))
+            .resolve(artifact);
+        String version = null;
+        for (final String name : LocalRepository.METADATA) {
+            final Path file = home.resolve(name);
+            if (version == null && Files.exists(file)) {
+                final List<String> found = new XMLDocument(file.toFile())
+                    .xpath("/metadata/versioning/latest/text()");
+                if (!found.isEmpty()) {
+                    version = found.get(0);
+                }
+            }
+        }
+        return version;
+    }
+
+    @Override
+    public boolean fetch(final String group, final String artifact,
+        final String version, final Path jar) throws IOException {
+        final Path file = this.jar(group, artifact, version);
+        final boolean found = Files.exists(file);
+        if (found) {
+            Files.copy(file, jar, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return found;
+    }
+
+    @Override
+    public long size(final String group, final String artifact,
+        final String version) throws IOException {
+        final Path file = this.jar(group, artifact, version);
+        long size = 0L;
+        if (Files.exists(file)) {
+            size = Files.size(file);
+        }
+        return size;
+    }
+
+    /**
+     * JAR of the version of the artifact.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @param version Version of the artifact
+     * @return The file, which may be absent
+     */
+    private Path jar(final String group, final String artifact,
+        final String version) {
+        return this.dir.resolve(group.replace(".", "/"))
+            .resolve(artifact).resolve(version)
+            .resolve(String.format("%s-%s.jar", artifact, version));
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import org.cactoos.Text;
+
+/**
+ * Counters, gauges and histograms of the web app, printed in the text
+ * format of Prometheus.
+ *
+ * <p>A series is a name of a metric, maybe with labels, like
+ * {@code jpeek_stage_seconds{stage="parse"}}, which are made by
+ * {@link #series(String, String, String)}. Series are created when they
+ * are touched for the first time and are never removed, but there may
+ * be no more than {@link #MAX} of them of every kind, and the numbers
+ * of other ones are dropped and counted in
+ * {@code jpeek_metrics_dropped_total}, so the memory is bounded.
+ * Histograms count seconds in fixed buckets.</p>
+ *
+ * <p>The class is thread-safe and doesn't lock, since all numbers
+ * are adders.</p>
+ *
+ * @since 1.0
+ */
+final class Metrics implements Text {
+
+    /**
+     * Max number of series of every kind.
+     */
+    private static final int MAX = 256;
+
+    /**
+     * Upper bounds of buckets of histograms, in seconds.
+     */
+    private static final double[] BOUNDS = {
+        0.005d, 0.01d, 0.05d, 0.1d, 0.5d, 1.0d, 5.0d,
+        10.0d, 30.0d, 60.0d, 300.0d, 600.0d, 1800.0d,
+    };
+
+    /**
+     * Counters, by series.
+     */
+    private final Map<String, LongAdder> counters;
+
+    /**
+     * Gauges, by series.
+     */
+    private final Map<String, LongAdder> gauges;
+
+    /**
+     * Histograms, by series.
+     */
+    private final Map<String, Histogram> histograms;
+
+    /**
+     * Numbers dropped, since there were too many series.
+     */
+    private final LongAdder dropped;
+
+    /**
+     * Ctor.
+     */
+    Metrics() {
+        this.counters = new ConcurrentSkipListMap<>();
+        this.gauges = new ConcurrentSkipListMap<>();
+        this.histograms = new ConcurrentSkipListMap<>();
+        this.dropped = new LongAdder();
+    }
+
+    /**
+     * Increase the counter.
+     * @param series The series
+     * @param delta How much to add, not negative
+     */
+    void count(final String series, final long delta) {
+        final LongAdder adder = this.adder(this.counters, series);
+        if (adder != null) {
+            adder.add(delta);
+        }
+    }
+
+    /**
+     * Move the gauge up or down.
+     * @param series The series
+     * @param delta How much to add, maybe negative
+     */
+    void gauge(final String series, final long delta) {
+        final LongAdder adder = this.adder(this.gauges, series);
+        if (adder != null) {
+            adder.add(delta);
+        }
+    }
+
+    /**
+     * Add the duration to the histogram.
+     * @param series The series
+     * @param seconds The duration
+     */
+    void observe(final String series, final double seconds) {
+        Histogram hist = this.histograms.get(series);
+        if (hist == null && this.histograms.size() < Metrics.MAX) {
+            hist = this.histograms.computeIfAbsent(
+                series, key -> new Histogram()
+            );
+        }
+        if (hist == null) {
+            this.dropped.increment();
+        } else {
+            hist.add(seconds);
+        }
+    }
+
+    /**
+     * Mean of durations in the histogram.
+     * @param series The series
+     * @return Seconds, or zero if there are no durations
+     */
+    double mean(final String series) {
+        final Histogram hist = this.histograms.get(series);
+        final double mean;
+        if (hist == null || hist.total.sum() == 0L) {
+            mean = 0.0d;
+        } else {
+            mean = hist.seconds.sum() / hist.total.sum();
+        }
+        return mean;
+    }
+
+    @Override
+    public String asString() {
+        final StringBuilder out = new StringBuilder(0);
+        String last = "";
+        for (final Map.Entry<String, LongAdder> ent : this.counters.entrySet()) {
+            last = Metrics.type(out, last, ent.getKey(), "counter");
+            Metrics.line(out, ent.getKey(), "", ent.getValue().sum());
+        }
+        for (final Map.Entry<String, LongAdder> ent : this.gauges.entrySet()) {
+            last = Metrics.type(out, last, ent.getKey(), "gauge");
+            Metrics.line(out, ent.getKey(), "", ent.getValue().sum());
+        }
+        for (final Map.Entry<String, Histogram> ent
+            : this.histograms.entrySet()) {
+            last = Metrics.type(out, last, ent.getKey(), "histogram");
+            ent.getValue().print(out, ent.getKey());
+        }
+        Metrics.type(out, last, "jpeek_metrics_dropped_total", "counter");
+        Metrics.line(
+            out, "jpeek_metrics_dropped_total", "", this.dropped.sum()
+        );
+        return out.toString();
+    }
+
+    /**
+     * Series with the label.
+     * @param name Name of the metric
+     * @param label Name of the label
+     * @param value Value of the label
+     * @return Series
+     */
+    static String series(final String name, final String label,
+        final String value) {
+        return String.format(
+            "%s{%s=\"%s\"}", name, label,
+            value.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\n", "\\n")
+        );
+    }
+
+    /**
+     * Find or create the adder of the series.
+     * @param adders Adders, by series
+     * @param series The series
+     * @return The adder, or NULL if there are too many series
+     */
+    private LongAdder adder(final Map<String, LongAdder> adders,
+        final String series) {
+        LongAdder adder = adders.get(series);
+        if (adder == null && adders.size() < Metrics.MAX) {
+            adder = adders.computeIfAbsent(series, key -> new LongAdder());
+        }
+        if (adder == null) {
+            this.dropped.increment();
+        }
+        return adder;
+    }
+
+    /**
+     * Print the type of the metric, if it's not printed yet.
+     * @param out Where to print
+     * @param last Name of the metric printed last
+     * @param series The series
+     * @param type Type of the metric
+     * @return Name of the metric
+     */
+    private static String type(final StringBuilder out, final String last,
+        final String series, final String type) {
+        final String name = Metrics.name(series);
+        if (!name.equals(last)) {
+            out.append("# TYPE ").append(name).append(' ')
+                .append(type).append('\n');
+        }
+        return name;
+    }
+
+    /**
+     * Print the number of the series, with the suffix of the name.
+     * @param out Where to print
+     * @param series The series
+     * @param suffix Suffix of the name, like {@code _sum}
+     * @param value The number
+     */
+    private static void line(final StringBuilder out, final String series,
+        final String suffix, final Object value) {
+        final String name = Metrics.name(series);
+        out.append(name).append(suffix)
+            .append(series.substring(name.length()))
+            .append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Name of the metric of the series.
+     * @param series The series
+     * @return Name, without labels
+     */
+    private static String name(final String series) {
+        final int brace = series.indexOf('{');
+        final String name;
+        if (brace < 0) {
+            name = series;
+        } else {
+            name = series.substring(0, brace);
+        }
+        return name;
+    }
+
+    /**
+     * Series with one more label.
+     * @param series The series
+     * @param label Name of the label
+     * @param value Value of the label
+     * @return Series
+     */
+    private static String with(final String series, final String label,
+        final String value) {
+        final String result;
+        if (series.endsWith("}")) {
+            result = String.format(
+                "%s,%s=\"%s\"}",
+                series.substring(0, series.length() - 1), label, value
+            );
+        } else {
+            result = Metrics.series(series, label, value);
+        }
+        return result;
+    }
+
+    /**
+     * Histogram of durations.
+     *
+     * @since 1.0
+     */
+    private static final class Histogram {
+
+        /**
+         * Counts of durations in buckets, the last one is for
+         * durations above all bounds.
+         */
+        private final LongAdder[] buckets;
+
+        /**
+         * How many durations.
+         */
+        private final LongAdder total;
+
+        /**
+         * Sum of durations.
+         */
+        private final DoubleAdder seconds;
+
+        /**
+         * Ctor.
+         */
+        Histogram() {
+            this.buckets = new LongAdder[Metrics.BOUNDS.length + 1];
+            for (int idx = 0; idx < this.buckets.length; ++idx) {
+                this.buckets[idx] = new LongAdder();
+            }
+            this.total = new LongAdder();
+            this.seconds = new DoubleAdder();
+        }
+
+        /**
+         * Add the duration.
+         * @param value Seconds
+         */
+        void add(final double value) {
+            int idx = 0;
+            while (idx < Metrics.BOUNDS.length && value > Metrics.BOUNDS[idx]) {
+                ++idx;
+            }
+            this.buckets[idx].increment();
+            this.total.increment();
+            this.seconds.add(value);
+        }
+
+        /**
+         * Print the cumulative buckets, the sum and the count.
+         * @param out Where to print
+         * @param series The series
+         */
+        void print(final StringBuilder out, final String series) {
+            long seen = 0L;
+            for (int idx = 0; idx < this.buckets.length; ++idx) {
+                seen += this.buckets[idx].sum();
+                final String bound;
+                if (idx < Metrics.BOUNDS.length) {
+                    bound = String.format(
+                        Locale.ENGLISH, "%s", Metrics.BOUNDS[idx]
+                    );
+                } else {
+                    bound = "+Inf";
+                }
+                Metrics.line(
+                    out, Metrics.with(series, "le", bound), "_bucket", seen
+                );
+            }
+            Metrics.line(
+                out, series, "_sum",
+                String.format(Locale.ENGLISH, "%.6f", this.seconds.sum())
+            );
+            Metrics.line(out, series, "_count", this.total.sum());
+        }
+    }
+}
@@ -13,11 +13,10 @@ import com.jcabi.dynamo.Attributes;
 import com.jcabi.dynamo.Item;
 import com.jcabi.dynamo.QueryValve;
 import com.jcabi.dynamo.Table;
-import com.jcabi.xml.XML;
-import com.jcabi.xml.XMLDocument;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import org.cactoos.iterable.Mapped;
 import org.jpeek.Version;
@@ -27,6 +26,10 @@ import org.xembly.Directives;
 /**
  * Futures for {@link AsyncReports}.
  *
+ * <p>Counts and sums of diffs are merged with an atomic ADD, so that
+ * none of them are lost, while averages are calculated from what
+ * is in the table after that.</p>
+ *
  * <p>There is no thread-safety guarantee.
  *
  * @since 0.8
@@ -59,14 +62,10 @@ final class Mistakes {
      * @throws IOException If fails
      */
     void add(final Path dir) throws IOException {
-        final XML index = new XMLDocument(
-            dir.resolve("index.xml").toFile()
-        );
-        for (final XML metric : index.nodes("//metric")) {
-            this.add(
-                metric.xpath("@name").get(0),
-                Double.parseDouble(metric.xpath("@diff").get(0))
-            );
+        final Tallies tallies = new Tallies();
+        tallies.add(dir);
+        for (final Map.Entry<String, Tally> ent : tallies.drain().entrySet()) {
+            this.add(ent.getKey(), ent.getValue());
         }
     }
 
@@ -104,7 +103,13 @@ final class Mistakes {
         );
     }
 
-    private void add(final String name, final double diff) throws IOException {
+    /**
+     * Merge the tally of diffs of the metric.
+     * @param name The metric
+     * @param tally Its diffs
+     * @throws IOException If fails
+     */
+    void add(final String name, final Tally tally) throws IOException {
         final String version = new Version().value();
         final Iterator<Item> items = this.table.frame().through(
             new QueryValve()
@@ -140,24 +145,17 @@ final class Mistakes {
                     .with("sigma", Integer.MAX_VALUE)
             );
         }
-        if (diff > 0.0d) {
-            before.put(
-                new AttributeUpdates().with(
-                    "pos",
-                    new AttributeValueUpdate()
-                        .withValue(new AttributeValue().withN("1"))
-                        .withAction(AttributeAction.ADD)
-                ).with("psum", new DyNum(diff).update(AttributeAction.ADD))
-            );
-        } else {
-            before.put(
-                new AttributeUpdates().with(
-                    "neg",
-                    new AttributeValueUpdate()
-                        .withValue(new AttributeValue().withN("1"))
-                        .withAction(AttributeAction.ADD)
-                ).with("nsum", new DyNum(-diff).update(AttributeAction.ADD))
-            );
+        AttributeUpdates diffs = new AttributeUpdates();
+        if (tally.pos() > 0L) {
+            diffs = diffs.with("pos", Mistakes.plus(tally.pos()))
+                .with("psum", Mistakes.plus(tally.psum()));
+        }
+        if (tally.neg() > 0L) {
+            diffs = diffs.with("neg", Mistakes.plus(tally.neg()))
+                .with("nsum", Mistakes.plus(tally.nsum()));
+        }
+        if (!diffs.isEmpty()) {
+            before.put(diffs);
         }
         final Item after = this.table.frame().through(
             new QueryValve()
@@ -168,46 +166,38 @@ final class Mistakes {
             .where("version", version)
             .iterator()
             .next();
-        after.put(
-            new AttributeUpdates().with(
-                "navg",
-                new DyNum(
-                    Mistakes.div(
-                        Long.parseLong(after.get("nsum").getN()),
-                        Long.parseLong(after.get("neg").getN())
-                    )
-                ).update()
-            ).with(
-                "pavg",
-                new DyNum(
-                    Mistakes.div(
-                        Long.parseLong(after.get("psum").getN()),
-                        Long.parseLong(after.get("pos").getN())
-                    )
-                ).update()
-            )
+        final long pos = Long.parseLong(after.get("pos").getN());
+        final long neg = Long.parseLong(after.get("neg").getN());
+        final long pavg = Mistakes.div(
+            Long.parseLong(after.get("psum").getN()), pos
         );
-        final Item fin = this.table.frame().through(
-            new QueryValve()
-                .withLimit(1)
-                .withSelect(Select.ALL_ATTRIBUTES)
-            )
-            .where("metric", name)
-            .where("version", version)
-            .iterator()
-            .next();
-        final double pos = Long.parseLong(fin.get("pos").getN());
-        final double neg = Long.parseLong(fin.get("neg").getN());
-        fin.put(
-            new AttributeUpdates().with(
-                "avg",
-                new DyNum(
-                    (new DyNum(fin, "pavg").doubleValue() * pos
-                    + new DyNum(fin, "navg").doubleValue() * neg)
-                    / (pos + neg)
-                ).update()
-            )
+        final long navg = Mistakes.div(
+            Long.parseLong(after.get("nsum").getN()), neg
         );
+        after.put(
+            new AttributeUpdates()
+                .with("pavg", new DyNum(pavg).update())
+                .with("navg", new DyNum(navg).update())
+                .with(
+                    "avg",
+                    new DyNum(
+                        (new DyNum(pavg).doubleValue() * pos
+                        + new DyNum(navg).doubleValue() * neg)
+                        / Math.max(1L, pos + neg)
+                    ).update()
+                )
+        );
+    }
+
+    /**
+     * Atomic increment.
+     * @param value How much to add
+     * @return The update
+     */
+    private static AttributeValueUpdate plus(final long value) {
+        return new AttributeValueUpdate()
+            .withValue(new AttributeValue().withN(Long.toString(value)))
+            .withAction(AttributeAction.ADD);
     }
 
     private static long div(final long head, final long div) {
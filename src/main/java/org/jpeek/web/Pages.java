@@ -5,17 +5,29 @@
 package org.jpeek.web;
 
 import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import org.cactoos.Func;
-import org.cactoos.text.TextOf;
-import org.cactoos.text.UncheckedText;
+import org.cactoos.scalar.Solid;
+import org.cactoos.scalar.Unchecked;
 import org.takes.Response;
-import org.takes.rs.RsWithBody;
+import org.takes.rs.ResponseOf;
+import org.takes.rs.RsWithStatus;
 
 /**
  * Pages in one report.
  *
- * <p>There is no thread-safety guarantee.
+ * <p>Files are streamed from the disk, never read into memory, with
+ * their exact length and their ETags, if the {@link Store} computed
+ * their digests. Files, which are absent, are not found.</p>
+ *
+ * <p>The class is thread-safe.</p>
  *
  * @since 0.8
  */
@@ -26,22 +38,69 @@ final class Pages implements Func<String, Response> {
      */
     private final Path home;
 
+    /**
+     * Digests of files, by their paths.
+     */
+    private final Unchecked<Map<String, String>> digests;
+
     /**
      * Ctor.
      * @param dir Home dir
      */
     Pages(final Path dir) {
         this.home = dir;
+        this.digests = new Unchecked<>(new Solid<>(() -> Pages.digests(dir)));
     }
 
     @Override
     public Response apply(final String path) throws IOException {
-        return new RsWithBody(
-            new UncheckedText(
-                new TextOf(
-                    this.home.resolve(path)
-                )
-            ).asString()
-        );
+        final Path file = this.home.resolve(path).normalize();
+        final Response response;
+        if (file.startsWith(this.home.normalize())
+            && Files.isRegularFile(file)) {
+            response = new ResponseOf(
+                () -> {
+                    final List<String> head = new LinkedList<>();
+                    head.add("HTTP/1.1 200 OK");
+                    head.add(
+                        String.format("Content-Length: %d", Files.size(file))
+                    );
+                    head.add("Accept-Ranges: bytes");
+                    final String digest = this.digests.value().get(
+                        this.home.normalize().relativize(file).toString()
+                    );
+                    if (digest != null) {
+                        head.add(String.format("ETag: \"%s\"", digest));
+                    }
+                    return head;
+                },
+                () -> Files.newInputStream(file)
+            );
+        } else {
+            response = new RsWithStatus(HttpURLConnection.HTTP_NOT_FOUND);
+        }
+        return response;
+    }
+
+    /**
+     * Read digests of files in the directory.
+     * @param dir The directory
+     * @return Digests, by paths of files
+     * @throws IOException If fails
+     */
+    private static Map<String, String> digests(final Path dir)
+        throws IOException {
+        final Map<String, String> map = new HashMap<>(0);
+        final Path file = dir.resolve(Store.DIGESTS);
+        if (Files.exists(file)) {
+            for (final String line
+                : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                final String[] parts = line.split(" {2}", 2);
+                if (parts.length == 2) {
+                    map.put(parts[1], parts[0]);
+                }
+            }
+        }
+        return map;
     }
 }
@@ -0,0 +1,217 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import com.jcabi.log.Logger;
+import com.jcabi.xml.XMLDocument;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import org.cactoos.io.TeeInput;
+import org.cactoos.scalar.IoChecked;
+import org.cactoos.scalar.LengthOf;
+
+/**
+ * Remote repository, like Maven Central.
+ *
+ * <p>Metadata of artifacts are kept in a local directory and refreshed
+ * with conditional requests, with {@code If-Modified-Since} and
+ * {@code If-None-Match}, so that the repository sends them again only
+ * if they changed. Connections are reused by the JDK, since all
+ * responses are read to the end.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+final class RemoteRepository implements Repository {
+
+    /**
+     * Base URL of the repository, without the trailing slash.
+     */
+    private final String base;
+
+    /**
+     * Directory with metadata.
+     */
+    private final Path dir;
+
+    /**
+     * Metrics of downloads.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Ctor.
+     * @param path Directory with metadata
+     * @param mtx Metrics of downloads
+     */
+    RemoteRepository(final Path path, final Metrics mtx) {
+        this("https://repo1.maven.org/maven2", path, mtx);
+    }
+
+    /**
+     * Ctor.
+     * @param url Base URL of the repository, without the trailing slash
+     * @param path Directory with metadata
+     * @param mtx Metrics of downloads
+     */
+    RemoteRepository(final String url, final Path path, final Metrics mtx) {
+        this.base = url;
+        this.dir = path;
+        this.metrics = mtx;
+    }
+
+    @Override
+    public String latest(final String group, final String artifact)
+        throws IOException {
+        final String grp = group.replace(".", "/");
+        final Path file = this.dir.resolve(grp).resolve(artifact)
+            .resolve("maven-metadata.xml");
+        final Path etag = file.resolveSibling("maven-metadata.etag");
+        final URLConnection conn = RemoteRepository.toUrl(
+            String.format("%s/%s/%s/maven-metadata.xml", this.base, grp, artifact)
+        ).openConnection();
+        if (Files.exists(file)) {
+            conn.setIfModifiedSince(Files.getLastModifiedTime(file).toMillis());
+            if (Files.exists(etag)) {
+                conn.setRequestProperty(
+                    "If-None-Match",
+                    new String(Files.readAllBytes(etag), StandardCharsets.UTF_8)
+                );
+            }
+        }
+        if (conn instanceof HttpURLConnection
+            && ((HttpURLConnection) conn).getResponseCode()
+                == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            conn.getInputStream().close();
+            this.metrics.count("jpeek_metadata_not_modified_total", 1L);
+        } else {
+            this.refresh(conn, file, etag);
+            Logger.debug(this, "Metadata of %s:%s refreshed", group, artifact);
+        }
+        return new XMLDocument(file.toFile())
+            .xpath("/metadata/versioning/latest/text()").get(0);
+    }
+
+    @Override
+    public boolean fetch(final String group, final String artifact,
+        final String version, final Path jar) throws IOException {
+        final long start = System.nanoTime();
+        final long bytes = new IoChecked<>(
+            new LengthOf(
+                new TeeInput(this.jar(group, artifact, version), jar)
+            )
+        ).value();
+        this.metrics.count("jpeek_download_bytes_total", bytes);
+        this.metrics.observe(
+            "jpeek_download_seconds", (System.nanoTime() - start) / 1.0e9d
+        );
+        return true;
+    }
+
+    /**
+     * Size of the JAR, which the repository tells in the response to
+     * a {@code HEAD} request, without sending the JAR.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @param version Version of the artifact
+     * @return Bytes, or zero if the repository doesn't tell it
+     * @throws IOException If fails
+     */
+    @Override
+    public long size(final String group, final String artifact,
+        final String version) throws IOException {
+        final URLConnection conn = this.jar(group, artifact, version)
+            .openConnection();
+        boolean found = true;
+        if (conn instanceof HttpURLConnection) {
+            final HttpURLConnection http = (HttpURLConnection) conn;
+            http.setRequestMethod("HEAD");
+            found = http.getResponseCode() == HttpURLConnection.HTTP_OK;
+        }
+        long size = 0L;
+        if (found) {
+            size = Math.max(0L, conn.getContentLengthLong());
+            conn.getInputStream().close();
+        }
+        return size;
+    }
+
+    /**
+     * URL of the JAR of the version of the artifact.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @param version Version of the artifact
+     * @return URL
+     */
+    private URL jar(final String group, final String artifact,
+        final String version) {
+        return RemoteRepository.toUrl(
+            String.format(
+                "%s/%s/%s/%s/%s-%s.jar",
+                this.base, group.replace(".", "/"),
+                artifact, version, artifact, version
+            )
+        );
+    }
+
+    /**
+     * Save the metadata from the connection, with its time of
+     * modification and ETag, if the repository sent them.
+     * @param conn The connection
+     * @param file File of metadata
+     * @param etag File of the ETag
+     * @throws IOException If fails
+     */
+    private void refresh(final URLConnection conn, final Path file,
+        final Path etag) throws IOException {
+        Files.createDirectories(file.getParent());
+        final Path temp = Files.createTempFile(
+            file.getParent(), "metadata", ".tmp"
+        );
+        try (InputStream input = conn.getInputStream()) {
+            Files.copy(input, temp, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (conn.getLastModified() > 0L) {
+            Files.setLastModifiedTime(
+                temp, FileTime.fromMillis(conn.getLastModified())
+            );
+        }
+        Files.move(
+            temp, file,
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE
+        );
+        final String tag = conn.getHeaderField("ETag");
+        if (tag == null) {
+            Files.deleteIfExists(etag);
+        } else {
+            Files.write(etag, tag.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Make URL from a string.
+     * @param uri The string
+     * @return URL
+     */
+    private static URL toUrl(final String uri) {
+        try {
+            return new URI(uri).toURL();
+        } catch (final MalformedURLException | URISyntaxException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+}
@@ -4,32 +4,20 @@
  */
 package org.jpeek.web;
 
+import com.jcabi.xml.XML;
 import com.jcabi.xml.XMLDocument;
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
-import java.util.Enumeration;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
 import java.util.stream.Stream;
 import org.cactoos.BiFunc;
 import org.cactoos.Func;
-import org.cactoos.io.InputOf;
-import org.cactoos.io.TeeInput;
-import org.cactoos.scalar.IoChecked;
-import org.cactoos.scalar.LengthOf;
-import org.cactoos.scalar.Unchecked;
-import org.cactoos.text.TextOf;
-import org.cactoos.text.UncheckedText;
 import org.jpeek.App;
+import org.jpeek.JarBase;
 import org.takes.Response;
+import org.xembly.Xembler;
 
 /**
  * All reports.
@@ -53,100 +41,129 @@ final class Reports implements BiFunc<String, String, Func<String, Response>> {
     private final Path target;
 
     /**
-     * Lock guarding the shared results/mistakes/sigmas files.
+     * Results, mistakes and sigmas, saved in the background.
      */
-    private final ReentrantLock lock;
+    private final WriteBehind writes;
+
+    /**
+     * Repository of artifacts.
+     */
+    private final Repository repo;
+
+    /**
+     * Store of reports, which are kept between restarts.
+     */
+    private final Store store;
+
+    /**
+     * Metrics of stages and the store.
+     */
+    private final Metrics metrics;
 
     /**
      * Ctor.
      * @param home Home dir
      */
     Reports(final Path home) {
-        this(home.resolve("sources"), home.resolve("target"));
+        this(home, new Metrics());
+    }
+
+    /**
+     * Ctor.
+     * @param home Home dir
+     * @param mtx Metrics of downloads, stages and DynamoDB
+     */
+    Reports(final Path home, final Metrics mtx) {
+        this(
+            home.resolve("sources"), home.resolve("target"),
+            new CachedRepository(
+                new RemoteRepository(home.resolve("metadata"), mtx),
+                home.resolve("jars"), 1L << 30, mtx
+            ),
+            new Store(home.resolve("store")), new WriteBehind(mtx), mtx
+        );
     }
 
     /**
      * Ctor.
      * @param input Dir with sources
-     * @param output Dir with reports
+     * @param output Dir with reports, while they are made
+     * @param rep Repository of artifacts
+     * @param str Store of reports, which are kept between restarts
+     * @param wrt Results, mistakes and sigmas, saved in the background
+     * @param mtx Metrics of stages and the store
      */
-    Reports(final Path input, final Path output) {
+    Reports(final Path input, final Path output, final Repository rep,
+        final Store str, final WriteBehind wrt, final Metrics mtx) {
         this.sources = input;
         this.target = output;
-        this.lock = new ReentrantLock();
+        this.repo = rep;
+        this.store = str;
+        this.writes = wrt;
+        this.metrics = mtx;
     }
 
     @Override
     public Func<String, Response> apply(final String group,
         final String artifact) throws IOException {
+        final String version = this.repo.latest(group, artifact);
+        if (version == null) {
+            throw new IOException(
+                String.format("Can't find %s:%s", group, artifact)
+            );
+        }
+        Path bundle = this.store.bundle(group, artifact, version);
+        if (bundle == null) {
+            bundle = this.analyzed(group, artifact, version);
+        } else {
+            this.metrics.count("jpeek_store_hits_total", 1L);
+        }
+        return new TypedPages(new Pages(bundle));
+    }
+
+    /**
+     * Download the version of the artifact, analyze it, save the results
+     * and keep the report in the store.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @param version Version of the artifact
+     * @return Bundle of the report in the store
+     * @throws IOException If fails
+     */
+    private Path analyzed(final String group, final String artifact,
+        final String version) throws IOException {
         final String grp = group.replace(".", "/");
         final Path input = this.sources.resolve(grp).resolve(artifact);
         Reports.deleteIfPresent(input);
-        final String version = new XMLDocument(
-            new UncheckedText(
-                new TextOf(
-                    Reports.toUrl(
-                        String.format(
-                            "https://repo1.maven.org/maven2/%s/%s/maven-metadata.xml",
-                            grp, artifact
-                        )
-                    )
-                )
-            ).asString()
-        ).xpath("/metadata/versioning/latest/text()").get(0);
         final String name = String.format("%s-%s.jar", artifact, version);
-        new IoChecked<>(
-            new LengthOf(
-                new TeeInput(
-                    Reports.toUrl(
-                        String.format(
-                            "https://repo1.maven.org/maven2/%s/%s/%s/%s",
-                            grp, artifact, version, name
-                        )
-                    ),
-                    input.resolve(name)
-                )
-            )
-        ).value();
-        extractClasses(input.resolve(name));
+        Files.createDirectories(input);
+        if (!this.repo.fetch(group, artifact, version, input.resolve(name))) {
+            throw new IOException(
+                String.format("Can't find %s:%s:%s", group, artifact, version)
+            );
+        }
         final Path output = this.target.resolve(grp).resolve(artifact);
         Reports.deleteIfPresent(output);
-        new App(input, output).analyze();
-        this.lock.lock();
-        try {
-            new Results().add(String.format("%s:%s", group, artifact), output);
-            new Mistakes().add(output);
-            new Sigmas().add(output);
-        } finally {
-            this.lock.unlock();
-        }
-        return new TypedPages(new Pages(output));
-    }
-
-    private static void extractClasses(final Path path) throws IOException {
-        try (JarFile jar = new JarFile(path.toFile())) {
-            final Enumeration<JarEntry> entries = jar.entries();
-            while (entries.hasMoreElements()) {
-                final JarEntry entry = entries.nextElement();
-                final Path item = path.getParent().resolve(entry.getName());
-                if (entry.isDirectory()) {
-                    item.toFile().mkdir();
-                    continue;
-                }
-                final Path parent = item.getParent();
-                if (!parent.toFile().exists()) {
-                    parent.toFile().mkdirs();
-                }
-                new Unchecked<>(
-                    new LengthOf(
-                        new TeeInput(
-                            new InputOf(jar.getInputStream(entry)),
-                            item
-                        )
-                    )
-                ).value();
+        try (JarBase base = new JarBase(input.resolve(name))) {
+            final App app = new App(base, output);
+            app.analyze();
+            for (final XML stage : new XMLDocument(
+                new Xembler(app.timings()).xmlQuietly()
+            ).nodes("/timings/stage")) {
+                this.metrics.observe(
+                    Metrics.series(
+                        "jpeek_stage_seconds", "stage",
+                        stage.xpath("@id").get(0)
+                    ),
+                    Double.parseDouble(stage.xpath("@wall").get(0)) / 1000.0d
+                );
             }
         }
+        final Path bundle = this.store.save(
+            group, artifact, version, input.resolve(name), output
+        );
+        this.writes.add(String.format("%s:%s", group, artifact), bundle);
+        return bundle;
     }
 
     private static void deleteIfPresent(final Path dir) throws IOException {
@@ -158,12 +175,4 @@ final class Reports implements BiFunc<String, String, Func<String, Response>> {
             }
         }
     }
-
-    private static URL toUrl(final String uri) {
-        try {
-            return new URI(uri).toURL();
-        } catch (final MalformedURLException | URISyntaxException ex) {
-            throw new IllegalArgumentException(ex);
-        }
-    }
 }
@@ -0,0 +1,48 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Maven repository, where {@link Reports} find artifacts.
+ *
+ * @since 1.0
+ */
+interface Repository {
+
+    /**
+     * The latest version of the artifact.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @return Version, or NULL if the repository doesn't know it
+     * @throws IOException If fails
+     */
+    String latest(String group, String artifact) throws IOException;
+
+    /**
+     * Save the JAR of the version of the artifact into the file.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @param version Version of the artifact
+     * @param jar The file to save it to, which is overwritten
+     * @return TRUE if saved, FALSE if the repository doesn't have it
+     * @throws IOException If fails
+     */
+    boolean fetch(String group, String artifact, String version, Path jar)
+        throws IOException;
+
+    /**
+     * Size of the JAR of the version of the artifact, without fetching it.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @param version Version of the artifact
+     * @return Bytes, or zero if the repository doesn't know it
+     * @throws IOException If fails
+     */
+    long size(String group, String artifact, String version)
+        throws IOException;
+}
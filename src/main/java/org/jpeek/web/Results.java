@@ -5,11 +5,8 @@
 package org.jpeek.web;
 
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
-import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
-import com.amazonaws.services.dynamodbv2.model.Condition;
 import com.jcabi.dynamo.Attributes;
 import com.jcabi.dynamo.Item;
-import com.jcabi.dynamo.QueryValve;
 import com.jcabi.dynamo.ScanValve;
 import com.jcabi.dynamo.Table;
 import com.jcabi.log.Logger;
@@ -19,9 +16,12 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import org.cactoos.iterable.Mapped;
+import java.util.stream.Collectors;
 import org.jpeek.Version;
 import org.xembly.Directive;
 import org.xembly.Directives;
@@ -29,17 +29,35 @@ import org.xembly.Directives;
 /**
  * Futures for {@link AsyncReports}.
  *
- * <p>There is no thread-safety guarantee.
+ * <p>Lists of results are taken from the {@link Leaderboard}, which
+ * reads the table only once, and then is updated by {@link #add(String, Path)}
+ * and {@link #flush()}. Thus, one instance has to be shared by all of
+ * them, and the table must not be changed by others.</p>
+ *
+ * <p>The class is thread-safe.</p>
  *
  * @since 0.8
  */
 final class Results {
 
+    /**
+     * Attributes of items.
+     */
+    private static final String[] ATTRS = {
+        "artifact", "good", "rank", "score", "diff", "defects",
+        "elements", "classes", "version", "added", "ttl",
+    };
+
     /**
      * DynamoDB table.
      */
     private final Table table;
 
+    /**
+     * Items of the table, in memory.
+     */
+    private final Leaderboard board;
+
     /**
      * Ctor.
      */
@@ -53,6 +71,7 @@ final class Results {
      */
     Results(final Table tbl) {
         this.table = tbl;
+        this.board = new Leaderboard(() -> Results.load(tbl));
     }
 
     /**
@@ -67,6 +86,7 @@ final class Results {
             items.remove();
             ++total;
         }
+        this.board.clear();
         return total;
     }
 
@@ -95,8 +115,7 @@ final class Results {
                 Integer.parseInt(index.xpath("count(/index/metric)").get(0))
             );
         } else {
-            this.table.put(
-                new Attributes()
+            final Attributes item = new Attributes()
                     .with("good", "true")
                     .with("artifact", artifact)
                     .with("rank", rank)
@@ -121,8 +140,9 @@ final class Results {
                         System.currentTimeMillis()
                             / TimeUnit.SECONDS.toMillis(1L)
                             + TimeUnit.DAYS.toSeconds(100L)
-                    )
-            );
+                    );
+            this.table.put(item);
+            this.board.put(artifact, item);
             Logger.info(
                 this, "%d elements saved for %s by %s, rank=%d, score=%d",
                 elements, artifact, new Version().value(), rank, score
@@ -136,10 +156,8 @@ final class Results {
      * @return TRUE if it exists
      */
     boolean exists(final String artifact) {
-        return !this.table.frame()
-            .where("good", "true")
-            .where("artifact", artifact)
-            .isEmpty();
+        final Map<String, AttributeValue> item = this.board.get(artifact);
+        return item != null && "true".equals(Results.text(item, "good"));
     }
 
     /**
@@ -149,39 +167,38 @@ final class Results {
      * @throws IOException If fails
      */
     double score(final String artifact) throws IOException {
-        return new DyNum(
-            this.table.frame()
-                .where("good", "true")
-                .where("artifact", artifact)
-                .iterator()
-                .next(),
-            "score"
-        ).doubleValue();
+        final Map<String, AttributeValue> item = this.board.get(artifact);
+        if (item == null) {
+            throw new IOException(
+                String.format("There is no score of %s", artifact)
+            );
+        }
+        return new DyNum(item.get("score")).doubleValue();
     }
 
     /**
      * Recent artifacts..
      * @return List of them
      */
-    Iterable<Iterable<? extends Directive>> recent() {
-        return new Mapped<>(
-            item -> {
-                final String[] parts = item.get("artifact").getS().split(":", -1);
-                return new Directives()
-                    .add("repo")
-                    .add("group").set(parts[0]).up()
-                    .add("artifact").set(parts[1]).up()
-                    .up();
-            },
-            this.table.frame()
-                .where("good", "true").through(
-                    new QueryValve()
-                        .withScanIndexForward(false)
-                        .withIndexName("recent")
-                        .withConsistentRead(false)
-                        .withLimit(25)
-                        .withAttributesToGet("artifact")
+    Iterable<Iterable<Directive>> recent() {
+        return this.board.view(
+            "recent",
+            items -> items.stream()
+                .filter(item -> "true".equals(Results.text(item, "good")))
+                .sorted(Results.descending("added"))
+                .limit(25L)
+                .<Iterable<Directive>>map(
+                    item -> {
+                        final String[] parts = item.get("artifact").getS()
+                            .split(":", -1);
+                        return new Directives()
+                            .add("repo")
+                            .add("group").set(parts[0]).up()
+                            .add("artifact").set(parts[1]).up()
+                            .up();
+                    }
                 )
+                .collect(Collectors.toList())
         );
     }
 
@@ -189,21 +206,14 @@ final class Results {
      * All of them.
      * @return List of them
      */
-    Iterable<Iterable<? extends Directive>> all() {
-        return new Mapped<>(
-            Results::toAllDirectives,
-            this.table.frame().where(
-                "elements",
-                new Condition()
-                    .withAttributeValueList(new AttributeValue().withN("99"))
-                    .withComparisonOperator(ComparisonOperator.GT)
-            ).through(
-                new ScanValve()
-                    .withLimit(1000).withAttributeToGet(
-                        "artifact", "classes", "defects", "version",
-                        "rank", "score", "elements", "added"
-                    )
-            )
+    Iterable<Iterable<Directive>> all() {
+        return this.board.view(
+            "all",
+            items -> items.stream()
+                .filter(item -> Results.number(item, "elements") > 99.0d)
+                .sorted(Results.descending("rank"))
+                .<Iterable<Directive>>map(Results::toAllDirectives)
+                .collect(Collectors.toList())
         );
     }
 
@@ -213,23 +223,87 @@ final class Results {
      * @throws IOException If fails
      */
     Iterable<Iterable<Directive>> best() throws IOException {
-        return new Mapped<>(
-            Results::toBestDirectives,
-            this.table.frame()
-                .where("version", new Version().value()).through(
-                    new QueryValve()
-                        .withScanIndexForward(false)
-                        .withIndexName("ranks")
-                        .withConsistentRead(false)
-                        .withLimit(20).withAttributesToGet(
-                            "artifact", "score", "diff", "defects",
-                            "classes", "elements", "rank"
-                        )
-                )
+        final String version = new Version().value();
+        return this.board.view(
+            "best",
+            items -> items.stream()
+                .filter(item -> version.equals(Results.text(item, "version")))
+                .sorted(Results.descending("rank"))
+                .limit(20L)
+                .<Iterable<Directive>>map(Results::toBestDirectives)
+                .collect(Collectors.toList())
         );
     }
 
-    private static Directives toAllDirectives(final Item item) throws IOException {
+    /**
+     * Read all items from the table.
+     * @param table The table
+     * @return Items, by artifacts
+     * @throws IOException If fails
+     */
+    private static Map<String, Map<String, AttributeValue>> load(
+        final Table table) throws IOException {
+        final Map<String, Map<String, AttributeValue>> items =
+            new HashMap<>(0);
+        for (final Item item : table.frame().through(new ScanValve())) {
+            final Map<String, AttributeValue> attrs = new HashMap<>(0);
+            for (final String attr : Results.ATTRS) {
+                if (item.has(attr)) {
+                    attrs.put(attr, item.get(attr));
+                }
+            }
+            items.put(item.get("artifact").getS(), attrs);
+        }
+        Logger.info(Results.class, "%d results loaded", items.size());
+        return items;
+    }
+
+    /**
+     * Order of items by the number, the biggest first.
+     * @param attr The attribute with the number
+     * @return Comparator
+     */
+    private static Comparator<Map<String, AttributeValue>> descending(
+        final String attr) {
+        return Comparator.comparingDouble(
+            (Map<String, AttributeValue> item) -> Results.number(item, attr)
+        ).reversed();
+    }
+
+    /**
+     * Number in the item.
+     * @param item The item
+     * @param attr The attribute
+     * @return The number, or zero if there is none
+     */
+    private static double number(final Map<String, AttributeValue> item,
+        final String attr) {
+        final AttributeValue value = item.get(attr);
+        double number = 0.0d;
+        if (value != null && value.getN() != null) {
+            number = Double.parseDouble(value.getN());
+        }
+        return number;
+    }
+
+    /**
+     * Text in the item.
+     * @param item The item
+     * @param attr The attribute
+     * @return The text, or empty if there is none
+     */
+    private static String text(final Map<String, AttributeValue> item,
+        final String attr) {
+        final AttributeValue value = item.get(attr);
+        String text = "";
+        if (value != null && value.getS() != null) {
+            text = value.getS();
+        }
+        return text;
+    }
+
+    private static Directives toAllDirectives(
+        final Map<String, AttributeValue> item) {
         final String[] parts = item.get("artifact").getS().split(":", -1);
         return new Directives()
             .add("repo")
@@ -246,13 +320,13 @@ final class Results {
             .add("group").set(parts[0]).up()
             .add("artifact").set(parts[1]).up()
             .add("rank")
-            .set(new DyNum(item, "rank").doubleValue())
+            .set(new DyNum(item.get("rank")).doubleValue())
             .up()
             .add("score")
-            .set(new DyNum(item, "score").doubleValue())
+            .set(new DyNum(item.get("score")).doubleValue())
             .up()
             .add("defects")
-            .set(new DyNum(item, "defects").doubleValue())
+            .set(new DyNum(item.get("defects")).doubleValue())
             .up()
             .add("classes")
             .set(Integer.parseInt(item.get("classes").getN()))
@@ -263,23 +337,24 @@ final class Results {
             .up();
     }
 
-    private static Directives toBestDirectives(final Item item) throws IOException {
+    private static Directives toBestDirectives(
+        final Map<String, AttributeValue> item) {
         final String[] parts = item.get("artifact").getS().split(":", -1);
         return new Directives()
             .add("repo")
             .add("group").set(parts[0]).up()
             .add("artifact").set(parts[1]).up()
             .add("rank")
-            .set(new DyNum(item, "rank").doubleValue())
+            .set(new DyNum(item.get("rank")).doubleValue())
             .up()
             .add("score")
-            .set(new DyNum(item, "score").doubleValue())
+            .set(new DyNum(item.get("score")).doubleValue())
             .up()
             .add("diff")
-            .set(new DyNum(item, "diff").doubleValue())
+            .set(new DyNum(item.get("diff")).doubleValue())
             .up()
             .add("defects")
-            .set(new DyNum(item, "defects").doubleValue())
+            .set(new DyNum(item.get("defects")).doubleValue())
             .up()
             .add("classes")
             .set(Integer.parseInt(item.get("classes").getN()))
@@ -0,0 +1,207 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.cactoos.io.HeadInputStream;
+import org.takes.Request;
+import org.takes.Response;
+import org.takes.rq.RqHeaders;
+import org.takes.rs.ResponseOf;
+import org.takes.rs.RsStatus;
+import org.takes.rs.RsWithHeader;
+import org.takes.rs.RsWithStatus;
+import org.takes.rs.RsWrap;
+
+/**
+ * Response to a conditional or partial GET.
+ *
+ * <p>If the response is OK and has an ETag, which the request has in
+ * {@code If-None-Match}, the body is not sent at all. If the response
+ * accepts ranges of bytes and the request asks for one of them, only
+ * the range is sent, skipping the bytes before it. Multiple ranges
+ * are not supported, the entire body is sent instead, as
+ * RFC 7233 permits.</p>
+ *
+ * <p>There is no thread-safety guarantee.
+ *
+ * @since 1.0
+ */
+final class RsConditional extends RsWrap {
+
+    /**
+     * Status of a range, which is not satisfiable.
+     */
+    private static final int UNSATISFIABLE = 416;
+
+    /**
+     * Single range of bytes.
+     */
+    private static final Pattern RANGE = Pattern.compile(
+        "bytes=(\\d{0,18})-(\\d{0,18})"
+    );
+
+    /**
+     * Ctor.
+     * @param req Request
+     * @param origin Response
+     * @throws IOException If fails
+     */
+    RsConditional(final Request req, final Response origin)
+        throws IOException {
+        super(RsConditional.make(req, origin));
+    }
+
+    private static Response make(final Request req, final Response origin)
+        throws IOException {
+        Response response = origin;
+        if (new RsStatus.Base(origin).status() == HttpURLConnection.HTTP_OK) {
+            final RqHeaders.Smart headers = new RqHeaders.Smart(req);
+            final String etag = RsConditional.header(origin, "ETag");
+            final String range = headers.single("Range", "");
+            if (!etag.isEmpty() && RsConditional.matches(
+                headers.single("If-None-Match", ""), etag
+            )) {
+                response = new RsWithHeader(
+                    new RsWithStatus(HttpURLConnection.HTTP_NOT_MODIFIED),
+                    "ETag", etag
+                );
+            } else if (!range.isEmpty()
+                && "bytes".equals(RsConditional.header(origin, "Accept-Ranges"))
+                && headers.single("If-Range", etag).equals(etag)) {
+                response = RsConditional.partial(origin, range);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Part of the response.
+     * @param origin The response
+     * @param range The range asked
+     * @return Response with the part
+     * @throws IOException If fails
+     */
+    private static Response partial(final Response origin, final String range)
+        throws IOException {
+        final Matcher matcher = RsConditional.RANGE.matcher(range.trim());
+        final String length = RsConditional.header(origin, "Content-Length");
+        final Response response;
+        if (length.isEmpty() || !matcher.matches()
+            || matcher.group(1).isEmpty() && matcher.group(2).isEmpty()) {
+            response = origin;
+        } else {
+            final long size = Long.parseLong(length);
+            final long first;
+            long last = size - 1L;
+            if (matcher.group(1).isEmpty()) {
+                first = Math.max(0L, size - Long.parseLong(matcher.group(2)));
+            } else {
+                first = Long.parseLong(matcher.group(1));
+                if (!matcher.group(2).isEmpty()) {
+                    last = Math.min(last, Long.parseLong(matcher.group(2)));
+                }
+            }
+            if (first > last) {
+                response = new RsWithHeader(
+                    new RsWithStatus(RsConditional.UNSATISFIABLE),
+                    "Content-Range", String.format("bytes */%d", size)
+                );
+            } else {
+                response = RsConditional.part(
+                    origin, first,
+                    Math.min(last, first + Integer.MAX_VALUE - 1L), size
+                );
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Part of the response, which is there.
+     * @param origin The response
+     * @param first First byte
+     * @param last Last byte
+     * @param size Size of the entire body
+     * @return Response with the part
+     */
+    private static Response part(final Response origin, final long first,
+        final long last, final long size) {
+        return new ResponseOf(
+            () -> {
+                final List<String> head = new LinkedList<>();
+                head.add("HTTP/1.1 206 Partial Content");
+                for (final String line : origin.head()) {
+                    if (line.contains(":") && !line.toLowerCase(Locale.ENGLISH)
+                        .startsWith("content-length:")) {
+                        head.add(line);
+                    }
+                }
+                head.add(
+                    String.format(
+                        "Content-Range: bytes %d-%d/%d", first, last, size
+                    )
+                );
+                head.add(String.format("Content-Length: %d", last - first + 1L));
+                return head;
+            },
+            () -> {
+                final InputStream input = origin.body();
+                long left = first;
+                long skipped = 1L;
+                while (left > 0L && skipped > 0L) {
+                    skipped = input.skip(left);
+                    left -= skipped;
+                }
+                return new HeadInputStream(input, (int) (last - first + 1L));
+            }
+        );
+    }
+
+    /**
+     * The ETag is among the ones the client has.
+     * @param tags Value of If-None-Match
+     * @param etag The ETag
+     * @return TRUE if it is
+     */
+    private static boolean matches(final String tags, final String etag) {
+        boolean found = false;
+        for (final String tag : tags.split(",")) {
+            final String trimmed = tag.trim();
+            found |= "*".equals(trimmed) || etag.equals(trimmed)
+                || trimmed.startsWith("W/") && etag.equals(trimmed.substring(2));
+        }
+        return found;
+    }
+
+    /**
+     * Value of the header of the response.
+     * @param response The response
+     * @param name Name of the header
+     * @return Value, or empty if it's absent
+     * @throws IOException If fails
+     */
+    private static String header(final Response response, final String name)
+        throws IOException {
+        final String prefix = String.format(
+            "%s:", name.toLowerCase(Locale.ENGLISH)
+        );
+        String value = "";
+        for (final String line : response.head()) {
+            if (value.isEmpty()
+                && line.toLowerCase(Locale.ENGLISH).startsWith(prefix)) {
+                value = line.substring(prefix.length()).trim();
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * Scheduler of analyses for {@link Futures}.
+ *
+ * <p>A task that is not started yet may be cancelled by its future,
+ * and then it never starts.</p>
+ *
+ * @since 1.0
+ */
+interface Scheduler {
+
+    /**
+     * Submit the task.
+     * @param priority Priority of the task
+     * @param size Estimated size of the task, in bytes of the JAR
+     * @param task The task
+     * @param <T> Type of the result
+     * @return Future of the result
+     */
+    <T> Future<T> submit(Priority priority, long size, Callable<T> task);
+
+    /**
+     * Make the task interactive, if it's not started yet.
+     * @param future Future of the task
+     * @return TRUE if the task is still waiting
+     */
+    boolean promote(Future<?> future);
+
+    /**
+     * Cancel all waiting tasks, interrupt running ones and stop.
+     * @return TRUE if terminated OK
+     * @throws InterruptedException If interrupted while waiting
+     */
+    boolean shutdown() throws InterruptedException;
+
+    /**
+     * Priority of a task.
+     *
+     * @since 1.0
+     */
+    enum Priority {
+        /**
+         * Somebody is looking at the page and waits for it.
+         */
+        INTERACTIVE,
+
+        /**
+         * Nobody waits, like for artifacts uploaded in bulk.
+         */
+        BULK
+    }
+}
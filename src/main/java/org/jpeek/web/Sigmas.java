@@ -9,20 +9,20 @@ import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.dynamodbv2.model.AttributeValueUpdate;
 import com.amazonaws.services.dynamodbv2.model.Select;
 import com.jcabi.dynamo.AttributeUpdates;
-import com.jcabi.dynamo.Attributes;
 import com.jcabi.dynamo.Item;
 import com.jcabi.dynamo.QueryValve;
 import com.jcabi.dynamo.Table;
-import com.jcabi.xml.XML;
-import com.jcabi.xml.XMLDocument;
 import java.io.IOException;
-import java.nio.file.Path;
 import java.util.Iterator;
 import org.jpeek.Version;
 
 /**
  * Mu and sigma for best metrics.
  *
+ * <p>Champions are counted with an atomic ADD, so that none of them
+ * are lost, but only if they beat the best mean and sigma in the table,
+ * which are replaced by theirs then.</p>
+ *
  * <p>There is no thread-safety guarantee.
  *
  * @since 0.17
@@ -50,75 +50,49 @@ final class Sigmas {
     }
 
     /**
-     * Add result.
-     * @param dir Directory with files
+     * Merge the champions of the metric, which must be in the table
+     * already, if they beat the best values in the table, or let the
+     * champion know these values otherwise, counting nothing.
+     * @param name The metric
+     * @param champion Its champions
      * @throws IOException If fails
      */
-    void add(final Path dir) throws IOException {
-        final XML index = new XMLDocument(
-            dir.resolve("index.xml").toFile()
-        );
-        final double defects = Double.parseDouble(
-            index.xpath("/index/@defects").get(0)
-        );
-        final int classes = Integer.parseInt(
-            index.xpath("/index/metric[1]/classes/text()").get(0)
-        );
-        if (defects < 0.15d && classes > 200) {
-            for (final XML metric : index.nodes("//metric")) {
-                this.add(metric);
-            }
-        }
-    }
-
-    private void add(final XML metric) throws IOException {
-        final Item item;
+    void add(final String name, final Champion champion) throws IOException {
         final Iterator<Item> items = this.table.frame().through(
             new QueryValve()
                 .withLimit(1)
                 .withSelect(Select.ALL_ATTRIBUTES)
             )
-            .where("metric", metric.xpath("@name").get(0))
+            .where("metric", name)
             .where("version", new Version().value())
             .iterator();
-        if (items.hasNext()) {
-            item = items.next();
-        } else {
-            item = this.table.put(
-                new Attributes()
-                    .with("metric", metric.xpath("@name").get(0))
-                    .with("version", new Version().value())
-                    .with("artifact", "?")
-                    .with("champions", 0L)
-                    .with("mean", new DyNum(0.5d).longValue())
-                    .with("sigma", new DyNum(0.1d).longValue())
+        if (!items.hasNext()) {
+            throw new IOException(
+                String.format("Metric %s is not in the table yet", name)
             );
         }
-        final double mean = Double.parseDouble(
-            metric.xpath("mean/text()").get(0)
-        );
-        final double sigma = Double.parseDouble(
-            metric.xpath("sigma/text()").get(0)
-        );
-        final boolean reverse = Boolean.parseBoolean(
-            metric.xpath("reverse/text()").get(0)
-        );
-        final double mbefore = new DyNum(item, "mean").doubleValue();
-        final double sbefore = new DyNum(item, "sigma").doubleValue();
-        // @checkstyle BooleanExpressionComplexityCheck (1 line)
-        if (sigma < sbefore || mean < mbefore && reverse
-            || mean > mbefore && !reverse) {
+        final Item item = items.next();
+        final double mean = new DyNum(item, "mean").doubleValue();
+        final double sigma = new DyNum(item, "sigma").doubleValue();
+        if (champion.better(mean, sigma)) {
             item.put(
                 new AttributeUpdates()
-                    .with("artifact", metric.xpath("/index/@artifact").get(0)).with(
+                    .with("artifact", champion.artifact())
+                    .with("mean", new DyNum(champion.mean()).update())
+                    .with("sigma", new DyNum(champion.sigma()).update())
+                    .with(
                         "champions",
                         new AttributeValueUpdate()
-                            .withValue(new AttributeValue().withN("1"))
+                            .withValue(
+                                new AttributeValue().withN(
+                                    Long.toString(champion.count())
+                                )
+                            )
                             .withAction(AttributeAction.ADD)
                     )
-                    .with("mean", new DyNum(mean).update())
-                    .with("sigma", new DyNum(sigma).update())
             );
+        } else {
+            champion.known(mean, sigma);
         }
     }
 }
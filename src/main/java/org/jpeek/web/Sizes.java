@@ -0,0 +1,100 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.cactoos.BiFunc;
+
+/**
+ * Estimated sizes of artifacts, in bytes of their JARs.
+ *
+ * <p>The size is the total size of the JARs of the artifact in the
+ * directory, like the one that {@link Reports} downloaded last time,
+ * since new versions of artifacts are usually of the same size. For
+ * artifacts never seen before, the {@link Repository} tells the size
+ * of the JAR of the latest version, from its cache or from the remote
+ * repository, without downloading it. Artifacts it doesn't know are
+ * estimated as a megabyte.</p>
+ *
+ * <p>There is no thread-safety guarantee.
+ *
+ * @since 1.0
+ */
+final class Sizes implements BiFunc<String, String, Long> {
+
+    /**
+     * Size of an artifact nobody knows.
+     */
+    private static final long UNKNOWN = 1024L * 1024L;
+
+    /**
+     * Directory with artifacts.
+     */
+    private final Path home;
+
+    /**
+     * Repository of artifacts.
+     */
+    private final Repository repo;
+
+    /**
+     * Ctor.
+     * @param dir Dir with sources
+     * @param repository Repository of artifacts
+     */
+    Sizes(final Path dir, final Repository repository) {
+        this.home = dir;
+        this.repo = repository;
+    }
+
+    @Override
+    public Long apply(final String group, final String artifact)
+        throws IOException {
+        final Path dir = this.home.resolve(group.replace(".", "/"))
+            .resolve(artifact);
+        long size = 0L;
+        if (Files.isDirectory(dir)) {
+            try (Stream<Path> files = Files.list(dir)) {
+                size = files
+                    .filter(file -> file.toString().endsWith(".jar"))
+                    .mapToLong(file -> file.toFile().length())
+                    .sum();
+            }
+        }
+        if (size == 0L) {
+            size = this.remote(group, artifact);
+        }
+        if (size == 0L) {
+            size = Sizes.UNKNOWN;
+        }
+        return size;
+    }
+
+    /**
+     * Size of the JAR of the latest version in the repository.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @return Bytes, or zero if unknown
+     */
+    private long remote(final String group, final String artifact) {
+        long size = 0L;
+        try {
+            final String version = this.repo.latest(group, artifact);
+            if (version != null) {
+                size = this.repo.size(group, artifact, version);
+            }
+        } catch (final IOException ex) {
+            Logger.warn(
+                this, "Size of %s:%s is unknown: %s",
+                group, artifact, ex.getMessage()
+            );
+        }
+        return size;
+    }
+}
@@ -10,12 +10,26 @@ import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReentrantLock;
 import org.cactoos.BiFunc;
 import org.cactoos.Func;
+import org.cactoos.func.UncheckedBiFunc;
 import org.takes.Response;
 
 /**
  * Futures for {@link AsyncReports}.
  *
- * <p>There is no thread-safety guarantee.
+ * <p>Futures that are not done yet are asked from the origin again,
+ * every time, so that {@link Futures} may promote the analyses
+ * somebody is waiting for. The origin is expected to return the same
+ * futures for them.</p>
+ *
+ * <p>Futures that are done are weighed, usually by the size of their
+ * reports, and when the total weight is above the limit, the ones
+ * asked for least often recently are evicted, with the help of
+ * {@link Frequencies}, which remember artifacts even after they are
+ * evicted. Thus, a flood of artifacts asked for once doesn't push
+ * popular ones out. Futures that are not done yet are never evicted.</p>
+ *
+ * <p>The class is thread-safe. Hits don't lock, while misses lock
+ * only their artifact, and only one thread evicts at a time.</p>
  *
  * @since 0.8
  */
@@ -30,48 +44,253 @@ final class StickyFutures
     /**
      * Cache.
      */
-    private final Map<String, Future<Func<String, Response>>> cache;
+    private final Map<String, Entry> cache;
 
     /**
-     * Max size.
+     * Weights of artifacts, which are done.
      */
-    private final int max;
+    private final BiFunc<String, String, Long> weights;
 
     /**
-     * Lock guarding the cache.
+     * Max total weight of futures that are done.
+     */
+    private final long max;
+
+    /**
+     * Recent frequencies of artifacts.
+     */
+    private final Frequencies frequencies;
+
+    /**
+     * Lock held while evicting.
      */
     private final ReentrantLock lock;
 
+    /**
+     * Metrics of hits, misses and evictions of the cache.
+     */
+    private final Metrics metrics;
+
     /**
      * Ctor.
      * @param func Original bi-function
-     * @param size Max size of cache before full clean up
+     * @param size Max number of futures that are done
      */
     StickyFutures(final BiFunc<String, String,
         Future<Func<String, Response>>> func, final int size) {
+        this(func, (group, artifact) -> 1L, size, new Metrics());
+    }
+
+    /**
+     * Ctor.
+     * @param func Original bi-function
+     * @param wgts Weights of artifacts, which are done
+     * @param limit Max total weight of futures that are done
+     * @param mtx Metrics of hits, misses and evictions of the cache
+     */
+    StickyFutures(final BiFunc<String, String,
+        Future<Func<String, Response>>> func,
+        final BiFunc<String, String, Long> wgts, final long limit,
+        final Metrics mtx) {
+        this(
+            func, new ConcurrentHashMap<>(0), wgts, limit,
+            new Frequencies(1024), new ReentrantLock(), mtx
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param func Original bi-function
+     * @param futures Cache
+     * @param wgts Weights of artifacts, which are done
+     * @param limit Max total weight of futures that are done
+     * @param freqs Recent frequencies of artifacts
+     * @param lck Lock held while evicting
+     * @param mtx Metrics of hits, misses and evictions of the cache
+     */
+    private StickyFutures(final BiFunc<String, String,
+        Future<Func<String, Response>>> func,
+        final Map<String, Entry> futures,
+        final BiFunc<String, String, Long> wgts, final long limit,
+        final Frequencies freqs, final ReentrantLock lck, final Metrics mtx) {
         this.origin = func;
-        this.cache = new ConcurrentHashMap<>(0);
-        this.max = size;
-        this.lock = new ReentrantLock();
+        this.cache = futures;
+        this.weights = wgts;
+        this.max = limit;
+        this.frequencies = freqs;
+        this.lock = lck;
+        this.metrics = mtx;
+    }
+
+    /**
+     * The same cache, with another origin, like bulk {@link Futures}.
+     * @param func Another original bi-function
+     * @return Futures
+     */
+    StickyFutures through(final BiFunc<String, String,
+        Future<Func<String, Response>>> func) {
+        return new StickyFutures(
+            func, this.cache, this.weights, this.max,
+            this.frequencies, this.lock, this.metrics
+        );
     }
 
     @Override
     public Future<Func<String, Response>> apply(
-        final String group, final String artifact)
-        throws Exception {
-        this.lock.lock();
-        try {
-            if (this.cache.size() > this.max) {
-                this.cache.clear();
+        final String group, final String artifact) {
+        final String target = String.format("%s:%s", group, artifact);
+        this.frequencies.add(target);
+        final Entry found = this.cache.get(target);
+        final Future<Func<String, Response>> future;
+        if (found != null && found.future.isDone()
+            && !found.future.isCancelled()) {
+            found.access = System.nanoTime();
+            this.metrics.count("jpeek_cache_hits_total", 1L);
+            future = found.future;
+        } else {
+            final UncheckedBiFunc<String, String,
+                Future<Func<String, Response>>> func =
+                new UncheckedBiFunc<>(this.origin);
+            future = this.cache.compute(
+                target,
+                (key, before) -> {
+                    final Entry after;
+                    if (before == null || before.future.isCancelled()) {
+                        this.metrics.count("jpeek_cache_misses_total", 1L);
+                        after = new Entry(
+                            group, artifact, func.apply(group, artifact)
+                        );
+                    } else if (before.future.isDone()) {
+                        this.metrics.count("jpeek_cache_hits_total", 1L);
+                        after = before;
+                    } else {
+                        after = new Entry(
+                            group, artifact, func.apply(group, artifact)
+                        );
+                    }
+                    return after;
+                }
+            ).future;
+            this.evict();
+        }
+        return future;
+    }
+
+    /**
+     * Evict futures that are done and asked for least often, until
+     * their total weight is not above the limit, unless another thread
+     * is evicting already.
+     */
+    private void evict() {
+        if (this.lock.tryLock()) {
+            try {
+                long total = 0L;
+                for (final Entry entry : this.cache.values()) {
+                    total += entry.weight();
+                }
+                while (total > this.max) {
+                    Map.Entry<String, Entry> victim = null;
+                    for (final Map.Entry<String, Entry> ent
+                        : this.cache.entrySet()) {
+                        if (ent.getValue().weight() > 0L && (victim == null
+                            || this.colder(ent, victim))) {
+                            victim = ent;
+                        }
+                    }
+                    if (victim == null) {
+                        break;
+                    }
+                    if (this.cache.remove(victim.getKey(), victim.getValue())) {
+                        this.metrics.count("jpeek_cache_evictions_total", 1L);
+                    }
+                    total -= victim.getValue().weight();
+                }
+            } finally {
+                this.lock.unlock();
             }
-            final String target = String.format("%s:%s", group, artifact);
-            if (!this.cache.containsKey(target)
-                || this.cache.get(target).isCancelled()) {
-                this.cache.put(target, this.origin.apply(group, artifact));
+        }
+    }
+
+    /**
+     * Is the first entry asked for less often, or less recently, if
+     * they are asked for equally often.
+     * @param first The first entry
+     * @param second The second entry
+     * @return TRUE if the first one is colder
+     */
+    private boolean colder(final Map.Entry<String, Entry> first,
+        final Map.Entry<String, Entry> second) {
+        final int left = this.frequencies.estimate(first.getKey());
+        final int right = this.frequencies.estimate(second.getKey());
+        return left < right
+            || left == right
+            && first.getValue().access < second.getValue().access;
+    }
+
+    /**
+     * Future of an artifact in the cache.
+     *
+     * @since 1.0
+     */
+    private final class Entry {
+
+        /**
+         * Group of the artifact.
+         */
+        private final String group;
+
+        /**
+         * The artifact.
+         */
+        private final String artifact;
+
+        /**
+         * The future.
+         */
+        private final Future<Func<String, Response>> future;
+
+        /**
+         * When it was asked for last time, in nanoseconds.
+         */
+        private volatile long access;
+
+        /**
+         * Weight, once the future is done, or -1 if not weighed yet.
+         */
+        private volatile long heavy;
+
+        /**
+         * Ctor.
+         * @param grp Group of the artifact
+         * @param art The artifact
+         * @param ftr The future
+         */
+        Entry(final String grp, final String art,
+            final Future<Func<String, Response>> ftr) {
+            this.group = grp;
+            this.artifact = art;
+            this.future = ftr;
+            this.access = System.nanoTime();
+            this.heavy = -1L;
+        }
+
+        /**
+         * Weight of the future.
+         * @return Weight, or zero if it's not done yet, so it's pinned
+         */
+        long weight() {
+            long weight = 0L;
+            if (this.future.isDone()) {
+                if (this.heavy < 0L) {
+                    this.heavy = Math.max(
+                        1L,
+                        new UncheckedBiFunc<>(StickyFutures.this.weights)
+                            .apply(this.group, this.artifact)
+                    );
+                }
+                weight = this.heavy;
             }
-            return this.cache.get(target);
-        } finally {
-            this.lock.unlock();
+            return weight;
         }
     }
 }
@@ -0,0 +1,344 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.cactoos.scalar.Solid;
+import org.cactoos.scalar.Unchecked;
+import org.jpeek.Sha256;
+import org.jpeek.Version;
+
+/**
+ * Reports of artifacts, kept on disk between restarts.
+ *
+ * <p>Reports live in bundles, one directory per digest of the JAR they
+ * are made of, so the same JAR is never analyzed twice. The index maps
+ * every version of every artifact to its bundle, with a file per
+ * version, which is touched every time the version is checked. All of
+ * it lives in a sub-directory of the {@link Version} of jpeek, since
+ * another version may build reports differently. Unlike caches of
+ * classes and metrics, it is not a {@link org.jpeek.VersionedDir}:
+ * builds of the same snapshot share it and nothing is ever deleted, so
+ * a new deploy finds all the reports of the previous one.</p>
+ *
+ * <p>The latest checked versions of all artifacts are read from the
+ * index once, by {@link #warm()} on startup, or when the store is asked
+ * for the first time, and kept in memory.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+final class Store {
+
+    /**
+     * How long a checked version stays fresh, in milliseconds.
+     */
+    private static final long FRESH = TimeUnit.DAYS.toMillis(1L);
+
+    /**
+     * File in the bundle with digests of all other files.
+     */
+    static final String DIGESTS = "digests.txt";
+
+    /**
+     * Files smaller than this are not worth compressing, in bytes.
+     */
+    private static final long SMALL = 1024L;
+
+    /**
+     * Directory of the store of the current version.
+     */
+    private final Unchecked<Path> dir;
+
+    /**
+     * Files of the latest checked versions, by artifacts.
+     */
+    private final Unchecked<Map<String, Path>> latest;
+
+    /**
+     * Ctor.
+     * @param path Directory of the store
+     */
+    Store(final Path path) {
+        this.dir = new Unchecked<>(
+            new Solid<>(
+                () -> path.resolve(
+                    new Version().value().replaceAll("[^A-Za-z0-9._-]", "_")
+                ).resolve("reports")
+            )
+        );
+        this.latest = new Unchecked<>(new Solid<>(this::scan));
+    }
+
+    /**
+     * Read the index into memory, unless it's there already.
+     * @return How many artifacts are in the store
+     */
+    int warm() {
+        return this.latest.value().size();
+    }
+
+    /**
+     * Bundle of the version of the artifact, which is checked now.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @param version Version of the artifact
+     * @return The bundle, or NULL if there is none
+     * @throws IOException If fails
+     */
+    Path bundle(final String group, final String artifact,
+        final String version) throws IOException {
+        final Path file = this.entry(group, artifact, version);
+        Path bundle = null;
+        if (Files.exists(file)) {
+            final Path found = this.target(file);
+            if (Files.isDirectory(found)) {
+                Files.setLastModifiedTime(
+                    file, FileTime.fromMillis(System.currentTimeMillis())
+                );
+                this.latest.value().put(Store.key(group, artifact), file);
+                bundle = found;
+            }
+        }
+        return bundle;
+    }
+
+    /**
+     * Bundle of the latest version of the artifact, if it was checked
+     * recently.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @return The bundle, or NULL if there is none or it's not fresh
+     * @throws IOException If fails
+     */
+    Path fresh(final String group, final String artifact) throws IOException {
+        final Path file = this.latest.value().get(Store.key(group, artifact));
+        Path bundle = null;
+        if (file != null && Files.exists(file)
+            && System.currentTimeMillis()
+                - Files.getLastModifiedTime(file).toMillis() < Store.FRESH) {
+            final Path found = this.target(file);
+            if (Files.isDirectory(found)) {
+                bundle = found;
+            }
+        }
+        return bundle;
+    }
+
+    /**
+     * Size of files of the latest bundle of the artifact.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @return Bytes, or zero if there is no bundle
+     * @throws IOException If fails
+     */
+    long size(final String group, final String artifact) throws IOException {
+        final Path file = this.latest.value().get(Store.key(group, artifact));
+        long size = 0L;
+        if (file != null && Files.exists(file)) {
+            final Path bundle = this.target(file);
+            if (Files.isDirectory(bundle)) {
+                try (Stream<Path> files = Files.list(bundle)) {
+                    size = files.mapToLong(path -> path.toFile().length()).sum();
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Save the report of the version of the artifact, moving its
+     * directory into the bundle of the JAR, unless the bundle exists.
+     * Before the move, texts get their GZIP variants next to them, and
+     * all files get their digests, to be served without any work.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @param version Version of the artifact
+     * @param jar The JAR the report is made of
+     * @param report Directory of the report, which is moved
+     * @return The bundle
+     * @throws IOException If fails
+     */
+    Path save(final String group, final String artifact, final String version,
+        final Path jar, final Path report) throws IOException {
+        final String digest = new Sha256(jar).asString();
+        final Path bundle = this.dir.value().resolve("bundles").resolve(digest);
+        Files.createDirectories(bundle.getParent());
+        if (Files.exists(bundle)) {
+            Store.delete(report);
+        } else {
+            try {
+                Store.precompute(report);
+                Files.move(report, bundle, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final FileAlreadyExistsException ex) {
+                Store.delete(report);
+            }
+        }
+        final Path file = this.entry(group, artifact, version);
+        Files.createDirectories(file.getParent());
+        final Path temp = Files.createTempFile(file.getParent(), "entry", ".tmp");
+        Files.write(temp, digest.getBytes(StandardCharsets.UTF_8));
+        Files.move(
+            temp, file,
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE
+        );
+        this.latest.value().put(Store.key(group, artifact), file);
+        Logger.info(
+            this, "Report of %s:%s:%s stored in %s",
+            group, artifact, version, bundle
+        );
+        return bundle;
+    }
+
+    /**
+     * Read the latest checked versions of all artifacts from the index.
+     * @return Files of versions, by artifacts
+     * @throws IOException If fails
+     */
+    private Map<String, Path> scan() throws IOException {
+        final Map<String, Path> map = new ConcurrentHashMap<>(0);
+        final Path index = this.dir.value().resolve("index");
+        if (Files.exists(index)) {
+            try (Stream<Path> files = Files.walk(index, 3)) {
+                for (final Path file : (Iterable<Path>) files::iterator) {
+                    if (index.relativize(file).getNameCount() == 3
+                        && file.toString().endsWith(".txt")) {
+                        map.merge(
+                            Store.key(
+                                file.getParent().getParent()
+                                    .getFileName().toString(),
+                                file.getParent().getFileName().toString()
+                            ),
+                            file,
+                            Store::later
+                        );
+                    }
+                }
+            }
+        }
+        Logger.info(this, "%d artifacts found in the store", map.size());
+        return map;
+    }
+
+    /**
+     * File of the version in the index.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @param version Version of the artifact
+     * @return The file
+     */
+    private Path entry(final String group, final String artifact,
+        final String version) {
+        return this.dir.value().resolve("index").resolve(group)
+            .resolve(artifact).resolve(String.format("%s.txt", version));
+    }
+
+    /**
+     * Bundle the file of a version in the index points to.
+     * @param file The file
+     * @return The bundle
+     * @throws IOException If fails
+     */
+    private Path target(final Path file) throws IOException {
+        return this.dir.value().resolve("bundles").resolve(
+            new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim()
+        );
+    }
+
+    /**
+     * Key of the artifact.
+     * @param group Group of the artifact
+     * @param artifact The artifact
+     * @return Key
+     */
+    private static String key(final String group, final String artifact) {
+        return String.format("%s:%s", group, artifact);
+    }
+
+    /**
+     * The file, which was touched later.
+     * @param first The first file
+     * @param second The second file
+     * @return One of them
+     */
+    private static Path later(final Path first, final Path second) {
+        final Path later;
+        if (first.toFile().lastModified() < second.toFile().lastModified()) {
+            later = second;
+        } else {
+            later = first;
+        }
+        return later;
+    }
+
+    /**
+     * Compress texts in the directory, which are big enough, into
+     * {@code .gz} files, and write digests of all files, including
+     * the compressed ones, in the format of {@code sha256sum}.
+     * @param dir The directory
+     * @throws IOException If fails
+     */
+    private static void precompute(final Path dir) throws IOException {
+        final List<Path> files;
+        try (Stream<Path> all = Files.walk(dir)) {
+            files = all.filter(Files::isRegularFile)
+                .collect(Collectors.toList());
+        }
+        final StringBuilder digests = new StringBuilder(0);
+        for (final Path file : files) {
+            final String name = file.getFileName().toString();
+            if (name.matches(".+\\.(html|xml|svg)")
+                && Files.size(file) >= Store.SMALL) {
+                final Path packed = file.resolveSibling(
+                    String.format("%s.gz", name)
+                );
+                try (OutputStream output = new GZIPOutputStream(
+                    Files.newOutputStream(packed)
+                )) {
+                    Files.copy(file, output);
+                }
+                digests.append(new Sha256(packed).asString()).append("  ")
+                    .append(dir.relativize(packed)).append('\n');
+            }
+            digests.append(new Sha256(file).asString()).append("  ")
+                .append(dir.relativize(file)).append('\n');
+        }
+        Files.write(
+            dir.resolve(Store.DIGESTS),
+            digests.toString().getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * Delete the directory with all its content.
+     * @param path The directory
+     * @throws IOException If fails
+     */
+    private static void delete(final Path path) throws IOException {
+        try (Stream<Path> all = Files.walk(path)) {
+            for (final Path item
+                : (Iterable<Path>) all.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(item);
+            }
+        }
+    }
+}
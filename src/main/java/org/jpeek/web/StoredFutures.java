@@ -0,0 +1,65 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import org.cactoos.BiFunc;
+import org.cactoos.Func;
+import org.takes.Response;
+
+/**
+ * Futures of artifacts that are in the {@link Store} already, done
+ * at once, without scheduling anything.
+ *
+ * <p>Only the reports of versions that were checked recently are taken
+ * from the store, while the others are asked from the origin, where
+ * {@link Reports} checks the version and takes the report from the
+ * store, if the version is the same.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+final class StoredFutures
+    implements BiFunc<String, String, Future<Func<String, Response>>> {
+
+    /**
+     * Original func.
+     */
+    private final BiFunc<String, String, Future<Func<String, Response>>> origin;
+
+    /**
+     * The store.
+     */
+    private final Store store;
+
+    /**
+     * Ctor.
+     * @param func Original bi-function
+     * @param str The store
+     */
+    StoredFutures(final BiFunc<String, String,
+        Future<Func<String, Response>>> func, final Store str) {
+        this.origin = func;
+        this.store = str;
+    }
+
+    @Override
+    public Future<Func<String, Response>> apply(final String group,
+        final String artifact) throws Exception {
+        final Path bundle = this.store.fresh(group, artifact);
+        final Future<Func<String, Response>> future;
+        if (bundle == null) {
+            future = this.origin.apply(group, artifact);
+        } else {
+            future = CompletableFuture.completedFuture(
+                new TypedPages(new Pages(bundle))
+            );
+        }
+        return future;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tallies of diffs of all metrics, in memory, until they are merged
+ * into {@link Mistakes}.
+ *
+ * <p>The class is thread-safe. Reports are added by many threads at
+ * the same time, while the tallies are drained by another one.</p>
+ *
+ * @since 1.0
+ */
+final class Tallies {
+
+    /**
+     * Tallies, by metrics.
+     */
+    private final Map<String, Tally> map;
+
+    /**
+     * Ctor.
+     */
+    Tallies() {
+        this.map = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Add diffs of all metrics of the report.
+     * @param dir Directory with the report
+     * @throws IOException If fails
+     */
+    void add(final Path dir) throws IOException {
+        final XML index = new XMLDocument(dir.resolve("index.xml").toFile());
+        for (final XML metric : index.nodes("//metric")) {
+            this.map.computeIfAbsent(
+                metric.xpath("@name").get(0), name -> new Tally()
+            ).add(Double.parseDouble(metric.xpath("@diff").get(0)));
+        }
+    }
+
+    /**
+     * Take all diffs out of them.
+     * @return Tallies with them, by metrics, without empty ones
+     */
+    Map<String, Tally> drain() {
+        final Map<String, Tally> drained = new TreeMap<>();
+        for (final Map.Entry<String, Tally> ent : this.map.entrySet()) {
+            final Tally tally = ent.getValue().drain();
+            if (!tally.isEmpty()) {
+                drained.put(ent.getKey(), tally);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Put back the diffs of the metric, which were not merged.
+     * @param metric The metric
+     * @param tally Its tally
+     */
+    void restore(final String metric, final Tally tally) {
+        this.map.computeIfAbsent(metric, name -> new Tally()).add(tally);
+    }
+}
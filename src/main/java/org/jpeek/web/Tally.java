@@ -0,0 +1,120 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+/**
+ * Diffs of a metric in a few reports, for {@link Mistakes}.
+ *
+ * <p>Sums are in the units of {@link DyNum}.</p>
+ *
+ * <p>The class is thread-safe. Every tally has its own lock, so
+ * threads adding diffs of different metrics never wait for each
+ * other.</p>
+ *
+ * @since 1.0
+ */
+final class Tally {
+
+    /**
+     * How many positive diffs.
+     */
+    private long positive;
+
+    /**
+     * Sum of positive diffs.
+     */
+    private long psum;
+
+    /**
+     * How many negative diffs.
+     */
+    private long negative;
+
+    /**
+     * Sum of negative diffs, without the sign.
+     */
+    private long nsum;
+
+    /**
+     * Add a diff.
+     * @param diff The diff
+     */
+    synchronized void add(final double diff) {
+        if (diff > 0.0d) {
+            ++this.positive;
+            this.psum += new DyNum(diff).longValue();
+        } else {
+            ++this.negative;
+            this.nsum += new DyNum(-diff).longValue();
+        }
+    }
+
+    /**
+     * Add all diffs of another tally.
+     * @param other The tally
+     */
+    synchronized void add(final Tally other) {
+        synchronized (other) {
+            this.positive += other.positive;
+            this.psum += other.psum;
+            this.negative += other.negative;
+            this.nsum += other.nsum;
+        }
+    }
+
+    /**
+     * Take all diffs out of it.
+     * @return The tally with them
+     */
+    synchronized Tally drain() {
+        final Tally copy = new Tally();
+        copy.add(this);
+        this.positive = 0L;
+        this.psum = 0L;
+        this.negative = 0L;
+        this.nsum = 0L;
+        return copy;
+    }
+
+    /**
+     * It has no diffs.
+     * @return TRUE if empty
+     */
+    synchronized boolean isEmpty() {
+        return this.positive == 0L && this.negative == 0L;
+    }
+
+    /**
+     * How many positive diffs.
+     * @return Count
+     */
+    synchronized long pos() {
+        return this.positive;
+    }
+
+    /**
+     * Sum of positive diffs.
+     * @return Sum
+     */
+    synchronized long psum() {
+        return this.psum;
+    }
+
+    /**
+     * How many negative diffs.
+     * @return Count
+     */
+    synchronized long neg() {
+        return this.negative;
+    }
+
+    /**
+     * Sum of negative diffs, without the sign.
+     * @return Sum
+     */
+    synchronized long nsum() {
+        return this.nsum;
+    }
+}
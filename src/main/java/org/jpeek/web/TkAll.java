@@ -21,6 +21,26 @@ import org.takes.rs.xe.XeDirectives;
  */
 final class TkAll implements Take {
 
+    /**
+     * Results.
+     */
+    private final Results results;
+
+    /**
+     * Ctor.
+     */
+    TkAll() {
+        this(new Results());
+    }
+
+    /**
+     * Ctor.
+     * @param rslts Results
+     */
+    TkAll(final Results rslts) {
+        this.results = rslts;
+    }
+
     @Override
     public Response act(final Request req) {
         return new RsPage(
@@ -30,7 +50,7 @@ final class TkAll implements Take {
                     "recent",
                     new XeDirectives(
                         new Joined<>(
-                            new Results().all()
+                            this.results.all()
                         )
                     )
                 )
@@ -4,11 +4,13 @@
  */
 package org.jpeek.web;
 
+import com.jcabi.log.VerboseRunnable;
 import io.sentry.Sentry;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import org.cactoos.BiFunc;
 import org.cactoos.Func;
 import org.cactoos.io.ResourceOf;
@@ -66,31 +68,84 @@ public final class TkApp extends TkWrap {
                 )
             ).value().getProperty("org.jpeek.sentry")
         );
-        new FtCli(
-            new TkApp(Files.createTempDirectory("jpeek")),
-            args
-        ).start(Exit.NEVER);
+        final String dir = System.getProperty("jpeek.home");
+        final Path home;
+        if (dir == null) {
+            home = Files.createTempDirectory("jpeek");
+        } else {
+            home = Paths.get(dir);
+        }
+        new FtCli(new TkApp(home), args).start(Exit.NEVER);
+    }
+
+    /**
+     * Repository of artifacts: Maven Central, with JARs cached in the
+     * home, and a local directory before it, if {@code jpeek.repository}
+     * is set.
+     * @param home Home dir
+     * @param metrics Metrics
+     * @return Repository
+     */
+    private static Repository repository(final Path home,
+        final Metrics metrics) {
+        final Repository central = new CachedRepository(
+            new RemoteRepository(home.resolve("metadata"), metrics),
+            home.resolve("jars"), 1L << 30, metrics
+        );
+        final String dir = System.getProperty("jpeek.repository");
+        final Repository repo;
+        if (dir == null) {
+            repo = central;
+        } else {
+            repo = new ChainedRepository(
+                new LocalRepository(Paths.get(dir)), central
+            );
+        }
+        return repo;
     }
 
     private static Take make(final Path home) {
+        final Metrics metrics = new Metrics();
+        final Store store = new Store(home.resolve("store"));
+        store.warm();
+        final Results results = new Results();
+        final WriteBehind writes = new WriteBehind(
+            results, new Mistakes(), new Sigmas(), metrics
+        );
+        Runtime.getRuntime().addShutdownHook(
+            new Thread(new VerboseRunnable(writes::shutdown, true))
+        );
+        final Repository repo = TkApp.repository(home, metrics);
         final Futures futures = new Futures(
-            new Reports(home)
+            new Reports(
+                home.resolve("sources"), home.resolve("target"),
+                repo, store, writes, metrics
+            ),
+            metrics,
+            new FairScheduler(
+                Math.min(Runtime.getRuntime().availableProcessors(), 4)
+            ),
+            new Sizes(home.resolve("sources"), repo)
+        );
+        final StickyFutures sticky = new StickyFutures(
+            new StoredFutures(futures, store), store::size, 1L << 30, metrics
         );
         final BiFunc<String, String, Func<String, Response>> reports =
-            new AsyncReports(
-                new StickyFutures(futures, 100)
-            );
+            new AsyncReports(sticky);
         return new TkSslOnly(
             new TkFallback(
                 new TkForward(
                     new TkFork(
-                        new FkRegex("/", new TkIndex()),
+                        new FkRegex("/", new TkIndex(results)),
                         new FkRegex(
                             "/shutdown",
                             (Take) req -> {
                                 String html = "Can't do this, sorry :)";
                                 if (TkApp.isRunningTest()) {
-                                    html = Boolean.toString(futures.shutdown());
+                                    final boolean stopped = futures.shutdown();
+                                    html = Boolean.toString(
+                                        writes.shutdown() && stopped
+                                    );
                                 }
                                 return new RsText(html);
                             }
@@ -100,16 +155,22 @@ public final class TkApp extends TkWrap {
                         new FkRegex(
                             "/flush",
                             (Take) req -> new RsText(
-                                String.format("%d flushed", new Results().flush())
+                                String.format("%d flushed", results.flush())
                             )
                         ),
                         new FkRegex(
                             "/upload",
                             (Take) req -> new RsPage(req, "upload")
                         ),
-                        new FkRegex("/do-upload", new TkUpload(reports)),
-                        new FkRegex("/all", new TkAll()),
+                        new FkRegex(
+                            "/do-upload",
+                            new TkUpload(
+                                new AsyncReports(sticky.through(futures.bulk()))
+                            )
+                        ),
+                        new FkRegex("/all", new TkAll(results)),
                         new FkRegex("/queue", new TkQueue(futures)),
+                        new FkRegex("/metrics", new TkMetrics(metrics)),
                         new FkRegex(
                             ".+\\.xsl",
                             new TkWithType(
@@ -132,7 +193,7 @@ public final class TkApp extends TkWrap {
                         ),
                         new FkRegex(
                             "/([^/]+)/([^/]+)(.*)",
-                            new TkReport(reports, new Results())
+                            new TkReport(reports, results)
                         )
                     )
                 ),
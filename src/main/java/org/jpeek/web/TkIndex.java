@@ -24,19 +24,39 @@ import org.takes.rs.xe.XeSource;
  */
 final class TkIndex implements Take {
 
+    /**
+     * Results.
+     */
+    private final Results results;
+
+    /**
+     * Ctor.
+     */
+    TkIndex() {
+        this(new Results());
+    }
+
+    /**
+     * Ctor.
+     * @param rslts Results
+     */
+    TkIndex(final Results rslts) {
+        this.results = rslts;
+    }
+
     @Override
     public Response act(final Request req) {
-        return new RsPage(req, "index", TkIndex::sources);
+        return new RsPage(req, "index", this::sources);
     }
 
-    private static Iterable<XeSource> sources() throws IOException {
+    private Iterable<XeSource> sources() throws IOException {
         return new IterableOf<>(
             new XeAppend(
                 "best",
                 new XeDirectives(
                     new Joined<>(
                         new HeadOf<>(
-                            20, new Results().best()
+                            20, this.results.best()
                         )
                     )
                 )
@@ -46,7 +66,7 @@ final class TkIndex implements Take {
                 new XeDirectives(
                     new Joined<>(
                         new HeadOf<>(
-                            25, new Results().recent()
+                            25, this.results.recent()
                         )
                     )
                 )
@@ -0,0 +1,42 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import org.takes.Request;
+import org.takes.Response;
+import org.takes.Take;
+import org.takes.rs.RsText;
+import org.takes.rs.RsWithType;
+
+/**
+ * Metrics of the app, for Prometheus.
+ *
+ * <p>There is no thread-safety guarantee.
+ *
+ * @since 1.0
+ */
+final class TkMetrics implements Take {
+
+    /**
+     * The metrics.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Ctor.
+     * @param mtx Metrics
+     */
+    TkMetrics(final Metrics mtx) {
+        this.metrics = mtx;
+    }
+
+    @Override
+    public Response act(final Request req) {
+        return new RsWithType(
+            new RsText(this.metrics.asString()),
+            "text/plain; version=0.0.4; charset=utf-8"
+        );
+    }
+}
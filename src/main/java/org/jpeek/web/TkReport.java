@@ -4,9 +4,7 @@
  */
 package org.jpeek.web;
 
-import com.jcabi.xml.ClasspathSources;
 import com.jcabi.xml.XMLDocument;
-import com.jcabi.xml.XSLDocument;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.util.regex.Matcher;
@@ -14,11 +12,13 @@ import org.cactoos.BiFunc;
 import org.cactoos.Func;
 import org.cactoos.func.IoCheckedBiFunc;
 import org.cactoos.func.IoCheckedFunc;
-import org.jpeek.App;
+import org.jpeek.CompiledXsl;
+import org.takes.Request;
 import org.takes.Response;
 import org.takes.facets.fork.RqRegex;
 import org.takes.facets.fork.TkRegex;
 import org.takes.facets.forward.RsForward;
+import org.takes.rq.RqHeaders;
 import org.takes.rs.RsStatus;
 import org.takes.rs.RsText;
 import org.takes.rs.RsWithType;
@@ -28,6 +28,10 @@ import org.xembly.Xembler;
 /**
  * Report page.
  *
+ * <p>Files of reports are sent compressed, if the report has their
+ * compressed variants and the client accepts them, and only if the
+ * client doesn't have them already.</p>
+ *
  * <p>There is no thread-safety guarantee.
  *
  * @since 0.5
@@ -64,12 +68,14 @@ final class TkReport implements TkRegex {
                 String.format("%s/index.html", matcher.group(0))
             );
         }
-        Response response = new IoCheckedFunc<>(
+        final IoCheckedFunc<String, Response> pages = new IoCheckedFunc<>(
             new IoCheckedBiFunc<>(this.reports).apply(
                 matcher.group(1), matcher.group(2)
             )
-        ).apply(path.substring(1));
-        if (new RsStatus.Base(response).status() == HttpURLConnection.HTTP_NOT_FOUND
+        );
+        Response response = pages.apply(path.substring(1));
+        final int status = new RsStatus.Base(response).status();
+        if (status == HttpURLConnection.HTTP_NOT_FOUND
             && "badge.svg".equals(matcher.group(3))) {
             final String artifact = String.format(
                 "%s:%s", matcher.group(1), matcher.group(2)
@@ -83,15 +89,41 @@ final class TkReport implements TkRegex {
             }
             response = new RsWithType(
                 new RsText(
-                    new XSLDocument(
-                        App.class.getResourceAsStream("xsl/badge.xsl")
-                    ).with(new ClasspathSources()).transform(
+                    new CompiledXsl("org/jpeek/xsl/badge.xsl").transform(
                         new XMLDocument(new Xembler(dirs).xmlQuietly())
                     ).toString()
                 ),
                 "image/svg+xml"
             );
+        } else if (status == HttpURLConnection.HTTP_OK
+            && TkReport.packed(req)) {
+            final Response packed = pages.apply(
+                String.format("%s.gz", path.substring(1))
+            );
+            if (new RsStatus.Base(packed).status()
+                == HttpURLConnection.HTTP_OK) {
+                response = packed;
+            }
+        }
+        return new RsConditional(req, response);
+    }
+
+    /**
+     * The client accepts GZIP and doesn't ask for a range, which
+     * is a range of the original file, not of the compressed one.
+     * @param req The request
+     * @return TRUE if the compressed variant may be sent
+     * @throws IOException If fails
+     */
+    private static boolean packed(final Request req) throws IOException {
+        final RqHeaders.Smart headers = new RqHeaders.Smart(req);
+        boolean accepts = false;
+        for (final String coding
+            : headers.single("Accept-Encoding", "").split(",")) {
+            final String[] parts = coding.trim().split("\\s*;\\s*", 2);
+            accepts |= "gzip".equals(parts[0])
+                && (parts.length == 1 || !parts[1].matches("q=0(\\.0*)?"));
         }
-        return response;
+        return accepts && headers.single("Range", "").isEmpty();
     }
 }
@@ -8,11 +8,15 @@ import java.io.IOException;
 import org.cactoos.Func;
 import org.cactoos.func.IoCheckedFunc;
 import org.takes.Response;
+import org.takes.rs.RsWithHeader;
 import org.takes.rs.RsWithType;
 
 /**
  * Typed pages.
  *
+ * <p>A {@code .gz} file is a compressed variant of the file without
+ * the suffix, which is of the same type.</p>
+ *
  * <p>There is no thread-safety guarantee.
  *
  * @since 0.8
@@ -34,16 +38,22 @@ final class TypedPages implements Func<String, Response> {
 
     @Override
     public Response apply(final String path) throws IOException {
+        Response response = new IoCheckedFunc<>(this.origin).apply(path);
+        String name = path;
+        if (path.endsWith(".gz")) {
+            name = path.substring(0, path.length() - ".gz".length());
+            response = new RsWithHeader(response, "Content-Encoding", "gzip");
+        }
         String type = "text/plain";
-        if (path.endsWith(".html")) {
+        if (name.endsWith(".html")) {
             type = "text/html";
-        } else if (path.endsWith(".xml")) {
+        } else if (name.endsWith(".xml")) {
             type = "application/xml";
-        } else if (path.endsWith(".svg")) {
+        } else if (name.endsWith(".svg")) {
             type = "image/svg+xml";
         }
-        return new RsWithType(
-            new IoCheckedFunc<>(this.origin).apply(path), type
+        return new RsWithHeader(
+            new RsWithType(response, type), "Vary", "Accept-Encoding"
         );
     }
 }
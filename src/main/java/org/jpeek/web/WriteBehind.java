@@ -0,0 +1,319 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import com.jcabi.log.Logger;
+import com.jcabi.log.VerboseThreads;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.cactoos.Proc;
+
+/**
+ * Results, mistakes and sigmas of reports, saved to DynamoDB in the
+ * background.
+ *
+ * <p>Reports are queued and never wait for DynamoDB. A single thread
+ * takes them from the queue in batches, and updates every artifact and
+ * every metric only once per batch, no matter how many reports of the
+ * batch have them. A batch that fails is retried a few times, with
+ * growing delays. If the queue is full, reports are dropped, since the
+ * analyses are more important than the statistics.</p>
+ *
+ * <p>Diffs of metrics for {@link Mistakes} don't go through the queue.
+ * They are added to {@link Tallies} in memory by the threads that add
+ * reports, and the same single thread merges them into the table after
+ * every batch, or every second, if there are no reports. Tallies that
+ * fail to merge are put back, to be merged next time, so they are
+ * never lost. Champions for {@link Sigmas} are kept in memory by
+ * {@link Champions} the same way, and merged right after the tallies
+ * of their metrics. Every metric is merged and retried on its own,
+ * so a failure never merges the same tally or champion twice.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+final class WriteBehind {
+
+    /**
+     * Max reports in a batch, as in BatchWriteItem of DynamoDB.
+     */
+    private static final int BATCH = 25;
+
+    /**
+     * Max reports in the queue.
+     */
+    private static final int CAPACITY = 1024;
+
+    /**
+     * How many times to try a batch.
+     */
+    private static final int ATTEMPTS = 4;
+
+    /**
+     * Delay before the second attempt, in milliseconds.
+     */
+    private static final long DELAY = 1000L;
+
+    /**
+     * Results.
+     */
+    private final Results results;
+
+    /**
+     * Mistakes.
+     */
+    private final Mistakes mistakes;
+
+    /**
+     * Sigmas.
+     */
+    private final Sigmas sigmas;
+
+    /**
+     * Metrics of the queue and DynamoDB.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Tallies of diffs of metrics, not merged yet.
+     */
+    private final Tallies tallies;
+
+    /**
+     * Champions of metrics, not merged yet.
+     */
+    private final Champions champions;
+
+    /**
+     * Queue of reports, by artifacts.
+     */
+    private final BlockingQueue<Map.Entry<String, Path>> queue;
+
+    /**
+     * The thread saving them.
+     */
+    private final ExecutorService service;
+
+    /**
+     * Ctor.
+     * @param mtx Metrics of the queue and DynamoDB
+     */
+    WriteBehind(final Metrics mtx) {
+        this(new Results(), new Mistakes(), new Sigmas(), mtx);
+    }
+
+    /**
+     * Ctor.
+     * @param rsl Results
+     * @param mst Mistakes
+     * @param sgm Sigmas
+     * @param mtx Metrics of the queue and DynamoDB
+     */
+    WriteBehind(final Results rsl, final Mistakes mst, final Sigmas sgm,
+        final Metrics mtx) {
+        this.results = rsl;
+        this.mistakes = mst;
+        this.sigmas = sgm;
+        this.metrics = mtx;
+        this.tallies = new Tallies();
+        this.champions = new Champions();
+        this.queue = new LinkedBlockingQueue<>(WriteBehind.CAPACITY);
+        this.service = Executors.newSingleThreadExecutor(
+            new VerboseThreads(WriteBehind.class)
+        );
+        this.service.execute(this::work);
+    }
+
+    /**
+     * Queue the report of the artifact.
+     * @param artifact The artifact, like "org.jpeek:jpeek"
+     * @param dir Directory with the report, which must not change
+     * @return TRUE if queued, FALSE if dropped
+     * @throws IOException If fails to read the report
+     */
+    boolean add(final String artifact, final Path dir) throws IOException {
+        boolean queued = false;
+        if (!this.service.isShutdown()) {
+            this.tallies.add(dir);
+            this.champions.add(dir);
+            queued = this.queue.offer(
+                new AbstractMap.SimpleImmutableEntry<>(artifact, dir)
+            );
+        }
+        if (queued) {
+            this.metrics.gauge("jpeek_persistence_queue_depth", 1L);
+        } else {
+            this.metrics.count("jpeek_persistence_dropped_total", 1L);
+            Logger.warn(this, "Results of %s are not saved", artifact);
+        }
+        return queued;
+    }
+
+    /**
+     * Save all queued reports and stop.
+     * @return TRUE if all of them are saved in a minute
+     * @throws InterruptedException If interrupted while waiting
+     */
+    boolean shutdown() throws InterruptedException {
+        this.service.shutdown();
+        final boolean stopped =
+            this.service.awaitTermination(1L, TimeUnit.MINUTES);
+        if (!stopped) {
+            Logger.info(
+                this, "%d results are not saved after 1min",
+                this.queue.size()
+            );
+            this.service.shutdownNow();
+        }
+        return stopped;
+    }
+
+    /**
+     * Save batches of reports and merge tallies, until shut down and
+     * the queue is empty.
+     */
+    private void work() {
+        try {
+            while (!this.service.isShutdown() || !this.queue.isEmpty()) {
+                final Map.Entry<String, Path> first =
+                    this.queue.poll(1L, TimeUnit.SECONDS);
+                if (first != null) {
+                    final List<Map.Entry<String, Path>> batch =
+                        new LinkedList<>();
+                    batch.add(first);
+                    this.queue.drainTo(batch, WriteBehind.BATCH - 1);
+                    this.metrics.gauge(
+                        "jpeek_persistence_queue_depth", -batch.size()
+                    );
+                    this.save(batch);
+                } else {
+                    this.merge();
+                }
+            }
+            this.merge();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Save the batch, the latest report of every artifact, and merge
+     * tallies and champions.
+     * @param batch Reports, by artifacts
+     * @throws InterruptedException If interrupted while waiting
+     */
+    private void save(final List<Map.Entry<String, Path>> batch)
+        throws InterruptedException {
+        final Map<String, Path> latest = new LinkedHashMap<>(0);
+        for (final Map.Entry<String, Path> ent : batch) {
+            latest.remove(ent.getKey());
+            latest.put(ent.getKey(), ent.getValue());
+        }
+        final long start = System.nanoTime();
+        this.attempt(
+            "results", latest,
+            reports -> {
+                for (final Map.Entry<String, Path> ent : reports.entrySet()) {
+                    this.results.add(ent.getKey(), ent.getValue());
+                }
+            }
+        );
+        this.merge();
+        this.metrics.observe(
+            "jpeek_dynamo_seconds", (System.nanoTime() - start) / 1.0e9d
+        );
+        Logger.info(
+            this, "Results of %d artifacts saved in %[nano]s",
+            latest.size(), System.nanoTime() - start
+        );
+    }
+
+    /**
+     * Merge tallies into the table, one metric at a time, and then
+     * champions, since they expect metrics to be in the table already,
+     * and put back the ones that fail.
+     * @throws InterruptedException If interrupted while waiting
+     */
+    private void merge() throws InterruptedException {
+        final Set<String> failed = new HashSet<>(0);
+        for (final Map.Entry<String, Tally> ent
+            : this.tallies.drain().entrySet()) {
+            final boolean merged = this.attempt(
+                String.format("mistakes of %s", ent.getKey()), ent.getValue(),
+                tally -> this.mistakes.add(ent.getKey(), tally)
+            );
+            if (!merged) {
+                this.tallies.restore(ent.getKey(), ent.getValue());
+                failed.add(ent.getKey());
+            }
+        }
+        for (final Map.Entry<String, Champion> ent
+            : this.champions.drain().entrySet()) {
+            final boolean merged = !failed.contains(ent.getKey())
+                && this.attempt(
+                    String.format("sigmas of %s", ent.getKey()),
+                    ent.getValue(),
+                    champion -> this.sigmas.add(ent.getKey(), champion)
+                );
+            if (merged) {
+                this.champions.known(ent.getKey(), ent.getValue());
+            } else {
+                this.champions.restore(ent.getKey(), ent.getValue());
+            }
+        }
+    }
+
+    /**
+     * Run the update, trying again a few times if it fails, with
+     * growing delays, and give up after that.
+     * @param what What is updated
+     * @param input What to update with
+     * @param update The update
+     * @param <T> Type of the input
+     * @return TRUE if done, FALSE if given up
+     * @throws InterruptedException If interrupted while waiting
+     */
+    private <T> boolean attempt(final String what, final T input,
+        final Proc<T> update) throws InterruptedException {
+        int attempt = 1;
+        boolean done = false;
+        while (!done && attempt <= WriteBehind.ATTEMPTS) {
+            try {
+                update.exec(input);
+                done = true;
+            // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final Exception ex) {
+                Logger.warn(
+                    this, "Failed to save %s, attempt #%d: %s",
+                    what, attempt, ex.getMessage()
+                );
+                if (attempt < WriteBehind.ATTEMPTS) {
+                    TimeUnit.MILLISECONDS.sleep(
+                        WriteBehind.DELAY << (attempt - 1)
+                    );
+                }
+                ++attempt;
+            }
+        }
+        if (!done) {
+            this.metrics.count("jpeek_persistence_failures_total", 1L);
+            Logger.error(this, "Gave up saving %s", what);
+        }
+        return done;
+    }
+}
@@ -87,6 +87,16 @@
       </a>
       <xsl:text>: </xsl:text>
       <xsl:value-of select="format-number(variance, '0.0000')"/>
+      <xsl:text>, </xsl:text>
+      <a href="https://en.wikipedia.org/wiki/Percentile">
+        <xsl:text>p50/p90/p99</xsl:text>
+      </a>
+      <xsl:text>: </xsl:text>
+      <xsl:value-of select="format-number(p50, '0.0000')"/>
+      <xsl:text>/</xsl:text>
+      <xsl:value-of select="format-number(p90, '0.0000')"/>
+      <xsl:text>/</xsl:text>
+      <xsl:value-of select="format-number(p99, '0.0000')"/>
       <xsl:text>, defects: </xsl:text>
       <xsl:value-of select="format-number(defects * 100, '#')"/>
       <xsl:text>%</xsl:text>
@@ -10,19 +10,28 @@ import com.jcabi.xml.XML;
 import com.jcabi.xml.XMLDocument;
 import com.jcabi.xml.XSLDocument;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.cactoos.text.TextOf;
+import org.hamcrest.Matchers;
 import org.hamcrest.collection.IsEmptyIterable;
+import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsNot;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 import org.junit.jupiter.api.io.TempDir;
 import org.llorllale.cactoos.matchers.Assertion;
 import org.llorllale.cactoos.matchers.IsTrue;
+import org.xembly.Xembler;
 
 /**
  * Test case for {@link App}.
@@ -48,6 +57,81 @@ final class AppTest {
         ).affirm();
     }
 
+    @Test
+    void createsSameReportsFromCache(@TempDir final Path temp)
+        throws Exception {
+        final Map<String, Object> args = new HashMap<>();
+        args.put("LCOM5", true);
+        args.put("cache-dir", temp.resolve("cache").toString());
+        new App(Paths.get("."), temp.resolve("first"), args).analyze();
+        new App(Paths.get("."), temp.resolve("second"), args).analyze();
+        new Assertion<>(
+            "Must calculate the same values with the cache",
+            new XMLDocument(temp.resolve("second/LCOM5.xml").toFile())
+                .xpath("//class/@value"),
+            new IsEqual<>(
+                new XMLDocument(temp.resolve("first/LCOM5.xml").toFile())
+                    .xpath("//class/@value")
+            )
+        ).affirm();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "scaling", matches = "\\d+(,\\d+)+")
+    void analyzesInLinearTimeAndMemory(@TempDir final Path temp)
+        throws IOException {
+        final int[] sizes = Arrays.stream(System.getProperty("scaling").split(","))
+            .mapToInt(Integer::parseInt)
+            .toArray();
+        final int[] classes = new int[sizes.length];
+        final long[] times = new long[sizes.length];
+        final long[] peaks = new long[sizes.length];
+        final Map<String, Object> args = new HashMap<>();
+        args.put("LCOM5", true);
+        args.put("NHD", true);
+        for (int idx = 0; idx < sizes.length; ++idx) {
+            final int pkgs = Math.max(1, sizes[idx] / 100);
+            final int per = Math.min(sizes[idx], 100);
+            classes[idx] = pkgs * per;
+            final Path dir = new Corpus(pkgs, per)
+                .save(temp.resolve(String.format("corpus-%d", sizes[idx])));
+            final List<MemoryPoolMXBean> pools = new ArrayList<>(0);
+            for (final MemoryPoolMXBean pool
+                : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pools.add(pool);
+                }
+            }
+            pools.forEach(MemoryPoolMXBean::resetPeakUsage);
+            final long start = System.nanoTime();
+            new App(
+                new DefaultBase(dir),
+                temp.resolve(String.format("report-%d", sizes[idx])), args
+            ).analyze();
+            times[idx] = System.nanoTime() - start;
+            for (final MemoryPoolMXBean pool : pools) {
+                peaks[idx] += pool.getPeakUsage().getUsed();
+            }
+        }
+        for (int idx = 1; idx < sizes.length; ++idx) {
+            final double growth = classes[idx] / (double) classes[idx - 1];
+            new Assertion<>(
+                String.format(
+                    "Time must grow not much faster than %d classes", classes[idx]
+                ),
+                times[idx] / (double) times[idx - 1],
+                Matchers.lessThan(growth * 2)
+            ).affirm();
+            new Assertion<>(
+                String.format(
+                    "Memory must grow not much faster than %d classes", classes[idx]
+                ),
+                peaks[idx] / (double) peaks[idx - 1],
+                Matchers.lessThan(growth * 2)
+            ).affirm();
+        }
+    }
+
     @Test
     void canIncludePrivateMethods(@TempDir final Path output) throws Exception {
         final Path input = Paths.get(".");
@@ -126,6 +210,34 @@ final class AppTest {
         ).affirm();
     }
 
+    @Test
+    void createsTimingsXml(@TempDir final Path output) throws Exception {
+        final App app = new App(Paths.get("."), output);
+        app.analyze();
+        new Assertion<>(
+            "Must save timings of stages next to the index",
+            XhtmlMatchers.xhtml(
+                new TextOf(output.resolve("timings.xml")).asString()
+            ),
+            XhtmlMatchers.hasXPaths(
+                "/timings/stage[@id='analysis' and @calls='1']",
+                "/timings/stage[@id='files']",
+                "/timings/stage[@id='parse']",
+                "/timings/stage[@id='validation']",
+                "/timings/stage[@id='layers']",
+                "/timings/stage[@id='calculus:LCOM']",
+                "/timings/stage[@id='html:LCOM']",
+                "/timings/stage[@id='index']",
+                "/timings/stage[@id='matrix']"
+            )
+        ).affirm();
+        new Assertion<>(
+            "Must expose timings of stages",
+            new Xembler(app.timings()).xml(),
+            new IsEqual<>(new TextOf(output.resolve("timings.xml")).asString())
+        ).affirm();
+    }
+
     @Test
     void isXsdDocumented() throws IOException {
         final List<XML> elements = new XMLDocument(
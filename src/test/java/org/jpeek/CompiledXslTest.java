@@ -0,0 +1,122 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.ClasspathSources;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import com.jcabi.xml.XSL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.Throws;
+
+/**
+ * Test case for {@link CompiledXsl}.
+ * @since 1.0
+ */
+final class CompiledXslTest {
+
+    @Test
+    void bindsParamsPerTransformation() {
+        final XML metric = new XMLDocument(
+            "<metric><app><package><class value='0.5'/></package></app></metric>"
+        );
+        final XSL xsl = new CompiledXsl("org/jpeek/xsl/metric-post-colors.xsl");
+        new Assertion<>(
+            "Must color the class with the first params",
+            XhtmlMatchers.xhtml(
+                xsl.with("low", 0.6).with("high", 0.9).transform(metric)
+            ),
+            XhtmlMatchers.hasXPath("//class[@color='red']")
+        ).affirm();
+        new Assertion<>(
+            "Must color the class with the second params",
+            XhtmlMatchers.xhtml(
+                xsl.with("low", 0.1).with("high", 0.2).transform(metric)
+            ),
+            XhtmlMatchers.hasXPath("//class[@color='green']")
+        ).affirm();
+    }
+
+    @Test
+    void resolvesImportsFromClasspath() {
+        new Assertion<>(
+            "Must compile the stylesheet that imports templates",
+            new CompiledXsl("org/jpeek/xsl/skeleton.xsl").applyTo(
+                new XMLDocument(
+                    "<skeleton><app><package><class id='Foo'/></package></app></skeleton>"
+                )
+            ),
+            Matchers.containsString("Foo")
+        ).affirm();
+    }
+
+    @Test
+    void resolvesImportsFromGivenSources() {
+        final XML skeleton = new XMLDocument(
+            "<skeleton><app><package><class id='Bar'/></package></app></skeleton>"
+        );
+        new Assertion<>(
+            "Must compile the stylesheet with the given sources",
+            new CompiledXsl("org/jpeek/xsl/skeleton.xsl")
+                .with(new ClasspathSources())
+                .with("unused", "x")
+                .applyTo(skeleton),
+            Matchers.containsString("Bar")
+        ).affirm();
+        new Assertion<>(
+            "Must not resolve imports from the classpath, if sources are given",
+            () -> new CompiledXsl("org/jpeek/xsl/skeleton.xsl")
+                .with(new ClasspathSources(CompiledXslTest.class))
+                .applyTo(skeleton),
+            new Throws<>(IllegalStateException.class)
+        ).affirm();
+    }
+
+    @Test
+    void transformsInManyThreads() throws Exception {
+        final ExecutorService service = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<String>> futures = new ArrayList<>(16);
+            for (int idx = 0; idx < 16; ++idx) {
+                futures.add(
+                    service.submit(
+                        () -> new CompiledXsl("org/jpeek/metrics/NHD.xsl")
+                            .transform(
+                                new XMLDocument("<skeleton><app/></skeleton>")
+                            ).xpath("/metric/title/text()").get(0)
+                    )
+                );
+            }
+            for (final Future<String> future : futures) {
+                new Assertion<>(
+                    "Must transform concurrently with one compiled stylesheet",
+                    future.get(),
+                    Matchers.equalTo("NHD")
+                ).affirm();
+            }
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void failsOnAbsentStylesheet() {
+        new Assertion<>(
+            "Must fail if the stylesheet is not in the classpath",
+            () -> new CompiledXsl("org/jpeek/xsl/absent.xsl").transform(
+                new XMLDocument("<x/>")
+            ),
+            new Throws<>(IllegalArgumentException.class)
+        ).affirm();
+    }
+}
@@ -0,0 +1,461 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Synthetic bytecode of many classes, for scaling and stress tests.
+ *
+ * <p>There are {@code packages} packages with {@code classes} classes
+ * each. How many methods, fields, constructors, accesses to fields and
+ * calls of other methods every class has is random, but defined by its
+ * {@link Shape} and the seed, so the same corpus is generated every
+ * time. Classes are written straight by ASM, without the compiler.</p>
+ *
+ * <p>There is no thread-safety guarantee.
+ *
+ * @since 1.0
+ */
+public final class Corpus {
+
+    /**
+     * How many packages.
+     */
+    private final int packages;
+
+    /**
+     * How many classes per package.
+     */
+    private final int classes;
+
+    /**
+     * Shape of classes.
+     */
+    private final Shape shape;
+
+    /**
+     * Seed of random numbers.
+     */
+    private final long seed;
+
+    /**
+     * Ctor.
+     * @param pkgs How many packages
+     * @param total How many classes per package
+     */
+    public Corpus(final int pkgs, final int total) {
+        this(pkgs, total, new Shape(), 0L);
+    }
+
+    /**
+     * Ctor.
+     * @param pkgs How many packages
+     * @param total How many classes per package
+     * @param shp Shape of classes
+     * @param rnd Seed of random numbers
+     */
+    public Corpus(final int pkgs, final int total, final Shape shp,
+        final long rnd) {
+        this.packages = pkgs;
+        this.classes = total;
+        this.shape = shp;
+        this.seed = rnd;
+    }
+
+    /**
+     * Write classes into the directory, each into the sub-directory
+     * of its package, like {@link DefaultBase} expects them.
+     * @param dir The directory
+     * @return The directory
+     * @throws IOException If fails
+     */
+    public Path save(final Path dir) throws IOException {
+        final Random random = new Random(this.seed);
+        for (int pkg = 0; pkg < this.packages; ++pkg) {
+            final Path sub = dir.resolve(Corpus.pkg(pkg));
+            Files.createDirectories(sub);
+            for (int idx = 0; idx < this.classes; ++idx) {
+                Files.write(
+                    sub.resolve(String.format("C%d.class", idx)),
+                    this.bytecode(Corpus.name(pkg, idx), random)
+                );
+            }
+        }
+        return dir;
+    }
+
+    /**
+     * Write classes into the JAR, like {@link JarBase} expects them.
+     * @param file The JAR file
+     * @return The file
+     * @throws IOException If fails
+     */
+    public Path jar(final Path file) throws IOException {
+        final Random random = new Random(this.seed);
+        try (OutputStream out = Files.newOutputStream(file);
+            JarOutputStream jar = new JarOutputStream(out)) {
+            for (int pkg = 0; pkg < this.packages; ++pkg) {
+                for (int idx = 0; idx < this.classes; ++idx) {
+                    final String name = Corpus.name(pkg, idx);
+                    jar.putNextEntry(
+                        new JarEntry(String.format("%s.class", name))
+                    );
+                    jar.write(this.bytecode(name, random));
+                    jar.closeEntry();
+                }
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Bytecode of one class.
+     * @param name Internal name of the class
+     * @param random Random numbers
+     * @return Bytes
+     */
+    private byte[] bytecode(final String name, final Random random) {
+        final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(
+            Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, null,
+            "java/lang/Object", null
+        );
+        final List<Boolean> fields = new ArrayList<>(0);
+        final int nfields = Corpus.around(this.shape.fields, random);
+        for (int idx = 0; idx < nfields; ++idx) {
+            final boolean stat = random.nextDouble() < this.shape.statics;
+            fields.add(stat);
+            int access = Opcodes.ACC_PRIVATE;
+            if (stat) {
+                access |= Opcodes.ACC_STATIC;
+            }
+            writer.visitField(access, Corpus.field(idx), "I", null, null)
+                .visitEnd();
+        }
+        final int nctors = Math.max(1, Corpus.around(this.shape.ctors, random));
+        for (int idx = 0; idx < nctors; ++idx) {
+            Corpus.ctor(writer, name, idx, fields);
+        }
+        final List<Boolean> methods = new ArrayList<>(0);
+        final int nmethods = Corpus.around(this.shape.methods, random);
+        for (int idx = 0; idx < nmethods; ++idx) {
+            methods.add(random.nextDouble() < this.shape.statics);
+        }
+        for (int idx = 0; idx < nmethods; ++idx) {
+            this.method(writer, name, idx, fields, methods, random);
+            if (!methods.get(idx) && random.nextDouble() < this.shape.bridges) {
+                Corpus.bridge(writer, name, idx);
+            }
+        }
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    /**
+     * Write the method, which accesses random fields and calls random
+     * methods of the class.
+     * @param writer The writer of the class
+     * @param owner Internal name of the class
+     * @param idx Number of the method
+     * @param fields Fields of the class, TRUE for static ones
+     * @param methods Methods of the class, TRUE for static ones
+     * @param random Random numbers
+     */
+    private void method(final ClassWriter writer, final String owner,
+        final int idx, final List<Boolean> fields, final List<Boolean> methods,
+        final Random random) {
+        final boolean stat = methods.get(idx);
+        int access = Opcodes.ACC_PUBLIC;
+        final int param;
+        if (stat) {
+            access |= Opcodes.ACC_STATIC;
+            param = 0;
+        } else {
+            param = 1;
+        }
+        final int acc = param + 1;
+        final MethodVisitor mtd = writer.visitMethod(
+            access, Corpus.method(idx), "(I)I", null, null
+        );
+        mtd.visitCode();
+        mtd.visitVarInsn(Opcodes.ILOAD, param);
+        mtd.visitVarInsn(Opcodes.ISTORE, acc);
+        final int accesses = Corpus.around(this.shape.accesses, random);
+        for (int num = 0; num < accesses && !fields.isEmpty(); ++num) {
+            final int fld = random.nextInt(fields.size());
+            if (!stat || fields.get(fld)) {
+                Corpus.access(
+                    mtd, owner, fld, fields.get(fld), random.nextBoolean(), acc
+                );
+            }
+        }
+        final int calls = Corpus.around(this.shape.calls, random);
+        for (int num = 0; num < calls; ++num) {
+            final int callee = random.nextInt(methods.size());
+            if (callee != idx && (!stat || methods.get(callee))) {
+                Corpus.call(mtd, owner, callee, methods.get(callee), acc);
+            }
+        }
+        mtd.visitVarInsn(Opcodes.ILOAD, acc);
+        mtd.visitInsn(Opcodes.IRETURN);
+        mtd.visitMaxs(0, 0);
+        mtd.visitEnd();
+    }
+
+    /**
+     * Read the field and add it to the accumulator, or write
+     * the accumulator to the field.
+     * @param mtd The method
+     * @param owner Internal name of the class
+     * @param fld Number of the field
+     * @param stat Is the field static
+     * @param read Read it, not write
+     * @param acc Local variable of the accumulator
+     */
+    private static void access(final MethodVisitor mtd, final String owner,
+        final int fld, final boolean stat, final boolean read, final int acc) {
+        if (read) {
+            mtd.visitVarInsn(Opcodes.ILOAD, acc);
+            if (stat) {
+                mtd.visitFieldInsn(Opcodes.GETSTATIC, owner, Corpus.field(fld), "I");
+            } else {
+                mtd.visitVarInsn(Opcodes.ALOAD, 0);
+                mtd.visitFieldInsn(Opcodes.GETFIELD, owner, Corpus.field(fld), "I");
+            }
+            mtd.visitInsn(Opcodes.IADD);
+            mtd.visitVarInsn(Opcodes.ISTORE, acc);
+        } else if (stat) {
+            mtd.visitVarInsn(Opcodes.ILOAD, acc);
+            mtd.visitFieldInsn(Opcodes.PUTSTATIC, owner, Corpus.field(fld), "I");
+        } else {
+            mtd.visitVarInsn(Opcodes.ALOAD, 0);
+            mtd.visitVarInsn(Opcodes.ILOAD, acc);
+            mtd.visitFieldInsn(Opcodes.PUTFIELD, owner, Corpus.field(fld), "I");
+        }
+    }
+
+    /**
+     * Call the method with the accumulator and keep its result there.
+     * @param mtd The method that calls
+     * @param owner Internal name of the class
+     * @param callee Number of the method called
+     * @param stat Is the method called static
+     * @param acc Local variable of the accumulator
+     */
+    private static void call(final MethodVisitor mtd, final String owner,
+        final int callee, final boolean stat, final int acc) {
+        if (stat) {
+            mtd.visitVarInsn(Opcodes.ILOAD, acc);
+            mtd.visitMethodInsn(
+                Opcodes.INVOKESTATIC, owner, Corpus.method(callee), "(I)I", false
+            );
+        } else {
+            mtd.visitVarInsn(Opcodes.ALOAD, 0);
+            mtd.visitVarInsn(Opcodes.ILOAD, acc);
+            mtd.visitMethodInsn(
+                Opcodes.INVOKEVIRTUAL, owner, Corpus.method(callee), "(I)I", false
+            );
+        }
+        mtd.visitVarInsn(Opcodes.ISTORE, acc);
+    }
+
+    /**
+     * Write the constructor, with as many int arguments as its number,
+     * which sets the first instance field, if there is any.
+     * @param writer The writer of the class
+     * @param owner Internal name of the class
+     * @param idx Number of the constructor
+     * @param fields Fields of the class, TRUE for static ones
+     */
+    private static void ctor(final ClassWriter writer, final String owner,
+        final int idx, final List<Boolean> fields) {
+        final StringBuilder desc = new StringBuilder("(");
+        for (int arg = 0; arg < idx; ++arg) {
+            desc.append('I');
+        }
+        desc.append(")V");
+        final MethodVisitor mtd = writer.visitMethod(
+            Opcodes.ACC_PUBLIC, "<init>", desc.toString(), null, null
+        );
+        mtd.visitCode();
+        mtd.visitVarInsn(Opcodes.ALOAD, 0);
+        mtd.visitMethodInsn(
+            Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false
+        );
+        final int fld = fields.indexOf(false);
+        if (idx > 0 && fld >= 0) {
+            mtd.visitVarInsn(Opcodes.ALOAD, 0);
+            mtd.visitVarInsn(Opcodes.ILOAD, 1);
+            mtd.visitFieldInsn(Opcodes.PUTFIELD, owner, Corpus.field(fld), "I");
+        }
+        mtd.visitInsn(Opcodes.RETURN);
+        mtd.visitMaxs(0, 0);
+        mtd.visitEnd();
+    }
+
+    /**
+     * Write the bridge of the instance method, which boxes its result,
+     * the way the compiler does for covariant return types. It is
+     * synthetic, like the compiler makes it, so the skeleton skips it.
+     * @param writer The writer of the class
+     * @param owner Internal name of the class
+     * @param idx Number of the method
+     */
+    private static void bridge(final ClassWriter writer, final String owner,
+        final int idx) {
+        final MethodVisitor mtd = writer.visitMethod(
+            Opcodes.ACC_PUBLIC | Opcodes.ACC_BRIDGE | Opcodes.ACC_SYNTHETIC,
+            Corpus.method(idx), "(I)Ljava/lang/Object;", null, null
+        );
+        mtd.visitCode();
+        mtd.visitVarInsn(Opcodes.ALOAD, 0);
+        mtd.visitVarInsn(Opcodes.ILOAD, 1);
+        mtd.visitMethodInsn(
+            Opcodes.INVOKEVIRTUAL, owner, Corpus.method(idx), "(I)I", false
+        );
+        mtd.visitMethodInsn(
+            Opcodes.INVOKESTATIC, "java/lang/Integer", "valueOf",
+            "(I)Ljava/lang/Integer;", false
+        );
+        mtd.visitInsn(Opcodes.ARETURN);
+        mtd.visitMaxs(0, 0);
+        mtd.visitEnd();
+    }
+
+    /**
+     * Random count around the average.
+     * @param avg The average
+     * @param random Random numbers
+     * @return Count, from zero to twice the average
+     */
+    private static int around(final int avg, final Random random) {
+        return random.nextInt(avg * 2 + 1);
+    }
+
+    /**
+     * Internal name of the package.
+     * @param pkg Number of the package
+     * @return Name
+     */
+    private static String pkg(final int pkg) {
+        return String.format("org/jpeek/corpus/p%d", pkg);
+    }
+
+    /**
+     * Internal name of the class.
+     * @param pkg Number of the package
+     * @param idx Number of the class in the package
+     * @return Name
+     */
+    private static String name(final int pkg, final int idx) {
+        return String.format("%s/C%d", Corpus.pkg(pkg), idx);
+    }
+
+    /**
+     * Name of the field.
+     * @param idx Number of the field
+     * @return Name
+     */
+    private static String field(final int idx) {
+        return String.format("f%d", idx);
+    }
+
+    /**
+     * Name of the method.
+     * @param idx Number of the method
+     * @return Name
+     */
+    private static String method(final int idx) {
+        return String.format("m%d", idx);
+    }
+
+    /**
+     * Shape of generated classes.
+     *
+     * <p>Counts are averages: every class gets a count, picked evenly
+     * between zero and twice the average. Fractions are probabilities,
+     * from zero to one.</p>
+     *
+     * @since 1.0
+     */
+    public static final class Shape {
+
+        /**
+         * Average number of methods.
+         */
+        private final int methods;
+
+        /**
+         * Average number of fields.
+         */
+        private final int fields;
+
+        /**
+         * Average number of accesses to fields, per method.
+         */
+        private final int accesses;
+
+        /**
+         * Average number of calls of other methods, per method.
+         */
+        private final int calls;
+
+        /**
+         * Average number of constructors, at least one is always there.
+         */
+        private final int ctors;
+
+        /**
+         * Fraction of methods and fields that are static.
+         */
+        private final double statics;
+
+        /**
+         * Fraction of instance methods that have bridges.
+         */
+        private final double bridges;
+
+        /**
+         * Ctor, with the shape of an average class.
+         */
+        public Shape() {
+            this(8, 5, 3, 1, 1, 0.1d, 0.05d);
+        }
+
+        /**
+         * Ctor.
+         * @param mtds Average number of methods
+         * @param flds Average number of fields
+         * @param accs Average number of accesses to fields, per method
+         * @param clls Average number of calls of other methods, per method
+         * @param ctrs Average number of constructors
+         * @param stats Fraction of methods and fields that are static
+         * @param brdgs Fraction of instance methods that have bridges
+         */
+        public Shape(final int mtds, final int flds, final int accs,
+            final int clls, final int ctrs, final double stats,
+            final double brdgs) {
+            this.methods = mtds;
+            this.fields = flds;
+            this.accesses = accs;
+            this.calls = clls;
+            this.ctors = ctrs;
+            this.statics = stats;
+            this.bridges = brdgs;
+        }
+    }
+}
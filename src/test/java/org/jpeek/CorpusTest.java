@@ -0,0 +1,57 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import java.nio.file.Path;
+import org.jpeek.skeleton.Skeleton;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link Corpus}.
+ * @since 1.0
+ */
+final class CorpusTest {
+
+    @Test
+    void generatesClassesIntoDirectory(@TempDir final Path temp) throws Exception {
+        new Assertion<>(
+            "Must generate all classes with methods and fields",
+            XhtmlMatchers.xhtml(
+                new Skeleton(
+                    new DefaultBase(
+                        new Corpus(
+                            3, 20, new Corpus.Shape(6, 4, 3, 2, 2, 0.2d, 0.5d), 1L
+                        ).save(temp)
+                    )
+                ).xml().toString()
+            ),
+            XhtmlMatchers.hasXPaths(
+                "/skeleton/app[count(package)=3]",
+                "/skeleton/app[count(package/class)=60]",
+                "//class/attributes/attribute[@static='true']",
+                "//method[@static='true']",
+                "//method[@ctor='true']",
+                "//op[@code='call']",
+                "//op[@code='put_static']"
+            )
+        ).affirm();
+    }
+
+    @Test
+    void generatesClassesIntoJar(@TempDir final Path temp) throws Exception {
+        try (JarBase base = new JarBase(
+            new Corpus(2, 5).jar(temp.resolve("corpus.jar"))
+        )) {
+            new Assertion<>(
+                "Must generate all classes into the JAR",
+                XhtmlMatchers.xhtml(new Skeleton(base).xml().toString()),
+                XhtmlMatchers.hasXPaths("/skeleton/app[count(package/class)=10]")
+            ).affirm();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import org.hamcrest.Matchers;
+import org.jpeek.skeleton.Skeleton;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link JarBase}.
+ * @since 1.0
+ */
+final class JarBaseTest {
+
+    @Test
+    void listsFilesInsideJar(@TempDir final Path temp) throws IOException {
+        final Path jar = JarBaseTest.jar(temp, "", "Bar", "Foo");
+        try (JarBase base = new JarBase(jar)) {
+            new Assertion<>(
+                "Must list class files inside the JAR",
+                base.files(),
+                Matchers.hasItems(
+                    Matchers.hasToString("/Bar.class"),
+                    Matchers.hasToString("/Foo.class")
+                )
+            ).affirm();
+        }
+    }
+
+    @Test
+    void buildsSkeletonFromFatJar(@TempDir final Path temp) throws IOException {
+        final Path jar = JarBaseTest.jar(
+            temp, "BOOT-INF/classes/", "Bar", "OverloadMethods"
+        );
+        try (JarBase base = new JarBase(jar)) {
+            new Assertion<>(
+                "Must parse classes nested in the fat JAR",
+                XhtmlMatchers.xhtml(new Skeleton(base).xml().toString()),
+                XhtmlMatchers.hasXPaths(
+                    "/skeleton/app/package[count(class)=2]",
+                    "//class[@id='Bar']/methods[count(method)=5]"
+                )
+            ).affirm();
+        }
+    }
+
+    /**
+     * Compile sample classes and pack them into a JAR.
+     * @param temp Temporary directory
+     * @param prefix Directory of classes inside the JAR
+     * @param classes Names of the sample classes
+     * @return Path to the JAR
+     * @throws IOException If fails
+     */
+    private static Path jar(final Path temp, final String prefix,
+        final String... classes) throws IOException {
+        final Path jar = temp.resolve("sample.jar");
+        try (OutputStream file = Files.newOutputStream(jar);
+            JarOutputStream out = new JarOutputStream(file)) {
+            for (final Path path : new FakeBase(classes).files()) {
+                final String name = path.getFileName().toString();
+                if (name.endsWith(".class")) {
+                    out.putNextEntry(new ZipEntry(prefix.concat(name)));
+                    out.write(Files.readAllBytes(path));
+                    out.closeEntry();
+                }
+            }
+        }
+        return jar;
+    }
+}
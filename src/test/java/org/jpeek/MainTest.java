@@ -157,4 +157,93 @@ final class MainTest {
             )
         ).affirm();
     }
+
+    @Test
+    void parsesClassesInGivenNumberOfThreads(@TempDir final Path temp)
+        throws IOException {
+        final Path output = temp.resolve("threads");
+        Main.main(
+            "--sources", Paths.get(".").toString(),
+            "--target", output.toString(),
+            "--threads", "2"
+        );
+        new Assertion<>(
+            "Must create skeleton in two threads",
+            Files.exists(output.resolve("skeleton.xml")),
+            new IsTrue()
+        ).affirm();
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void crashesIfThreadsAreNegative(@TempDir final Path target) {
+        new Assertion(
+            "Must throw an exception",
+            (Scalar<Boolean>) () -> {
+                Main.main(
+                    "--sources", Paths.get(".").toString(),
+                    "--target", target.resolve("x").toString(),
+                    "--threads", "-1"
+                );
+                return true;
+            },
+            new Throws(
+                "Invalid number of threads: -1",
+                IllegalArgumentException.class
+            )
+        ).affirm();
+    }
+
+    @Test
+    void calculatesMetricsInJava(@TempDir final Path temp) throws Exception {
+        final Path output = temp.resolve("java");
+        Main.main(
+            "--sources", Paths.get(".").toString(),
+            "--target", output.toString(),
+            "--metrics", "LCOM,LCOM5",
+            "--java-metrics", "LCOM,LCOM5"
+        );
+        new Assertion<>(
+            "Must create LCOM report calculated in Java",
+            XhtmlMatchers.xhtml(new TextOf(output.resolve("LCOM.xml")).asString()),
+            XhtmlMatchers.hasXPaths("/metric[title='LCOM']//class[@value]")
+        ).affirm();
+    }
+
+    @Test
+    void calculatesMetricsFused(@TempDir final Path temp) throws Exception {
+        final Path output = temp.resolve("fused");
+        Main.main(
+            "--sources", Paths.get(".").toString(),
+            "--target", output.toString(),
+            "--metrics", "LCOM2,CCM,NHD",
+            "--java-metrics", "LCOM2,CCM",
+            "--fused"
+        );
+        new Assertion<>(
+            "Must create CCM report calculated in Java",
+            XhtmlMatchers.xhtml(new TextOf(output.resolve("CCM.xml")).asString()),
+            XhtmlMatchers.hasXPaths("/metric[title='CCM']//class/vars/var[@id='nmp']")
+        ).affirm();
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void crashesIfMetricCantBeCalculatedInJava(@TempDir final Path target) {
+        new Assertion(
+            "Must throw an exception",
+            (Scalar<Boolean>) () -> {
+                Main.main(
+                    "--sources", Paths.get(".").toString(),
+                    "--target", target.resolve("x").toString(),
+                    "--java-metrics", "NHD"
+                );
+                return true;
+            },
+            new Throws(
+                "Metric 'NHD' can't be calculated in Java",
+                IllegalArgumentException.class
+            )
+        ).affirm();
+    }
 }
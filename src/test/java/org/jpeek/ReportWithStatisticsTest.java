@@ -67,4 +67,36 @@ final class ReportWithStatisticsTest {
             XhtmlMatchers.hasXPaths("/metric/statistics[total='0']")
         ).affirm();
     }
+
+    @Test
+    void calculatesStatisticsOfValuesInRange() {
+        new Assertion<>(
+            "Must skip values out of the range and not numbers",
+            XhtmlMatchers.xhtml(
+                new ReportWithStatistics(
+                    new XMLDocument(
+                        String.join(
+                            "",
+                            "<metric><min>0</min><max>10</max><app>",
+                            "<package><class value='2'/><class value='4'/>",
+                            "<class value='4'/><class value='4'/>",
+                            "<class value='5'/><class value='5'/>",
+                            "<class value='7'/><class value='9'/>",
+                            "<class value='11'/><class value='NaN'/>",
+                            "</package></app></metric>"
+                        )
+                    )
+                ).toString()
+            ),
+            XhtmlMatchers.hasXPaths(
+                "/metric/statistics[total='10' and elements='8']",
+                "/metric/statistics[mean > 4.999 and mean < 5.001]",
+                "/metric/statistics[sigma > 1.999 and sigma < 2.001]",
+                "/metric/statistics[defects='0.25']",
+                "/metric/statistics[p50 >= 4 and p50 < 4.02]",
+                "/metric/statistics/histogram[count(bar)=10]",
+                "/metric/statistics/histogram/bar[@from='4.0' and .='3']"
+            )
+        ).affirm();
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek;
+
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.number.IsCloseTo;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link Statistics}.
+ * @since 1.0
+ */
+final class StatisticsTest {
+
+    @Test
+    void calculatesMeanAndVariance() {
+        final Statistics stats = new Statistics(0.0d, 10.0d);
+        for (final double value : new double[] {2, 4, 4, 4, 5, 5, 7, 9}) {
+            stats.add(value);
+        }
+        new Assertion<>(
+            "Must calculate the mean",
+            stats.mean(),
+            new IsCloseTo(5.0d, 1.0e-9d)
+        ).affirm();
+        new Assertion<>(
+            "Must calculate the population variance",
+            stats.variance(),
+            new IsCloseTo(4.0d, 1.0e-9d)
+        ).affirm();
+    }
+
+    @Test
+    void estimatesQuantilesWithinBin() {
+        final Statistics stats = new Statistics(0.0d, 1000.0d);
+        for (int value = 1; value <= 1000; ++value) {
+            stats.add(value);
+        }
+        new Assertion<>(
+            "Must estimate the median",
+            stats.quantile(0.5d),
+            new IsCloseTo(500.0d, 2.0d)
+        ).affirm();
+        new Assertion<>(
+            "Must estimate the 99th percentile",
+            stats.quantile(0.99d),
+            new IsCloseTo(990.0d, 2.0d)
+        ).affirm();
+    }
+
+    @Test
+    void countsValuesInHistogram() {
+        final Statistics stats = new Statistics(0.0d, 4.0d);
+        for (final double value : new double[] {0, 1, 1, 3, 4}) {
+            stats.add(value);
+        }
+        new Assertion<>(
+            "Must put the maximum into the last bar",
+            stats.histogram(4),
+            new IsEqual<>(new long[] {1L, 2L, 0L, 2L})
+        ).affirm();
+    }
+
+    @Test
+    void givesNanWithoutValues() {
+        final Statistics stats = new Statistics(Double.NaN, Double.NaN);
+        new Assertion<>(
+            "Must give NaN median of nothing",
+            Double.isNaN(stats.quantile(0.5d)),
+            new IsEqual<>(true)
+        ).affirm();
+    }
+}
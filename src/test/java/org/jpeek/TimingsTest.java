@@ -0,0 +1,68 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import java.io.IOException;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.Throws;
+import org.xembly.Xembler;
+
+/**
+ * Test case for {@link Timings}.
+ * @since 1.0
+ */
+final class TimingsTest {
+
+    @Test
+    void returnsResultOfWork() throws IOException {
+        new Assertion<>(
+            "Must return the result of the work",
+            new Timings().measured("work", () -> "done"),
+            new IsEqual<>("done")
+        ).affirm();
+    }
+
+    @Test
+    void sumsUpCallsOfStages() throws IOException {
+        final Timings timings = new Timings();
+        for (int idx = 0; idx < 3; ++idx) {
+            timings.measured("parse", () -> new byte[1024]);
+        }
+        timings.measured("html", () -> true);
+        new Assertion<>(
+            "Must record every stage with the number of calls",
+            XhtmlMatchers.xhtml(new Xembler(timings).xmlQuietly()),
+            XhtmlMatchers.hasXPaths(
+                "/timings[count(stage)=2]",
+                "/timings/stage[1][@id='parse' and @calls='3']",
+                "/timings/stage[2][@id='html' and @calls='1']",
+                "/timings/stage[@wall >= 0 and @cpu >= 0]"
+            )
+        ).affirm();
+    }
+
+    @Test
+    void recordsStageOfFailedWork() {
+        final Timings timings = new Timings();
+        new Assertion<>(
+            "Must throw the failure of the work",
+            () -> timings.measured(
+                "broken",
+                () -> {
+                    throw new IOException("intended");
+                }
+            ),
+            new Throws<>(IOException.class)
+        ).affirm();
+        new Assertion<>(
+            "Must record the stage, even if the work fails",
+            XhtmlMatchers.xhtml(new Xembler(timings).xmlQuietly()),
+            XhtmlMatchers.hasXPath("/timings/stage[@id='broken' and @calls='1']")
+        ).affirm();
+    }
+}
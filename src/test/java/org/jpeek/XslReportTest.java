@@ -10,6 +10,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import org.cactoos.text.TextOf;
+import org.hamcrest.core.IsEqual;
 import org.jpeek.calculus.xsl.XslCalculus;
 import org.jpeek.skeleton.Skeleton;
 import org.junit.jupiter.api.Test;
@@ -25,6 +26,20 @@ import org.xembly.Xembler;
  */
 final class XslReportTest {
 
+    @Test
+    void givesSameXmlAsSaved(@TempDir final Path output) throws Exception {
+        final Report report = new XslReport(
+            new Skeleton(new FakeBase("Bar", "OverloadMethods")).xml(),
+            new XslCalculus(), new ReportData("LCOM")
+        );
+        report.save(output);
+        new Assertion<>(
+            "Must give the same XML that is saved",
+            report.xml().toString(),
+            new IsEqual<>(new TextOf(output.resolve("LCOM.xml")).asString())
+        ).affirm();
+    }
+
     @Test
     void createsXmlReport(@TempDir final Path output) throws IOException {
         new XslReport(
@@ -0,0 +1,127 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.XML;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.Matchers;
+import org.jpeek.FakeBase;
+import org.jpeek.calculus.xsl.XslCalculus;
+import org.jpeek.skeleton.Skeleton;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link Cached}.
+ * @since 1.0
+ */
+final class CachedTest {
+
+    /**
+     * Skeleton of a few classes.
+     */
+    private static XML skeleton;
+
+    @BeforeAll
+    static void parseSamples() {
+        CachedTest.skeleton = new Skeleton(
+            new FakeBase(
+                "NoMethods", "Bar", "OverloadMethods",
+                "OnlyOneMethodWithParams", "WithoutAttributes"
+            )
+        ).xml();
+    }
+
+    @Test
+    void calculatesSameAsOrigin(@TempDir final Path cache)
+        throws IOException {
+        final Calculus cached = new Cached(cache, new XslCalculus());
+        cached.node("LCOM5", new HashMap<>(0), CachedTest.skeleton);
+        new Assertion<>(
+            "Must give the same values from the cache",
+            cached.node("LCOM5", new HashMap<>(0), CachedTest.skeleton)
+                .nodes("/metric/app").toString(),
+            Matchers.equalTo(
+                new XslCalculus().node(
+                    "LCOM5", new HashMap<>(0), CachedTest.skeleton
+                ).nodes("/metric/app").toString()
+            )
+        ).affirm();
+    }
+
+    @Test
+    void calculatesOnlyNewClasses(@TempDir final Path cache)
+        throws IOException {
+        final AtomicReference<XML> seen = new AtomicReference<>();
+        final Calculus cached = new Cached(
+            cache,
+            (metric, params, xml) -> {
+                seen.set(xml);
+                return new XslCalculus().node(metric, params, xml);
+            }
+        );
+        cached.node("LCOM", new HashMap<>(0), CachedTest.skeleton);
+        cached.node("LCOM", new HashMap<>(0), CachedTest.skeleton);
+        new Assertion<>(
+            "Must not give cached classes to the origin",
+            XhtmlMatchers.xhtml(seen.get().toString()),
+            XhtmlMatchers.hasXPaths(
+                "/skeleton/app/package[count(class)=5]",
+                "/skeleton/app[not(//class/*)]"
+            )
+        ).affirm();
+    }
+
+    @Test
+    void separatesResultsOfMetrics(@TempDir final Path cache)
+        throws IOException {
+        final Calculus cached = new Cached(cache, new XslCalculus());
+        cached.node("LCOM", new HashMap<>(0), CachedTest.skeleton);
+        final AtomicReference<XML> seen = new AtomicReference<>();
+        new Cached(
+            cache,
+            (metric, params, xml) -> {
+                seen.set(xml);
+                return new XslCalculus().node(metric, params, xml);
+            }
+        ).node("LCOM2", new HashMap<>(0), CachedTest.skeleton);
+        new Assertion<>(
+            "Must calculate another metric again",
+            XhtmlMatchers.xhtml(seen.get().toString()),
+            XhtmlMatchers.hasXPaths("//class[@id='Bar']/methods/method")
+        ).affirm();
+    }
+
+    @Test
+    void ignoresFlagsOfOtherMetrics(@TempDir final Path cache)
+        throws IOException {
+        final Map<String, Object> params = new HashMap<>(0);
+        params.put("LCOM2", true);
+        new Cached(cache, new XslCalculus())
+            .node("LCOM", params, CachedTest.skeleton);
+        params.put("LCOM2", false);
+        params.put("NHD", true);
+        final AtomicReference<XML> seen = new AtomicReference<>();
+        new Cached(
+            cache,
+            (metric, prms, xml) -> {
+                seen.set(xml);
+                return new XslCalculus().node(metric, prms, xml);
+            }
+        ).node("LCOM", params, CachedTest.skeleton);
+        new Assertion<>(
+            "Must take classes from the cache, whatever other metrics are",
+            XhtmlMatchers.xhtml(seen.get().toString()),
+            XhtmlMatchers.hasXPaths("/skeleton/app[not(//class/*)]")
+        ).affirm();
+    }
+}
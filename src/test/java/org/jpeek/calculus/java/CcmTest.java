@@ -0,0 +1,88 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus.java;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import java.io.IOException;
+import java.util.HashMap;
+import org.cactoos.scalar.ItemAt;
+import org.jpeek.FakeBase;
+import org.jpeek.skeleton.Skeleton;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.HasValue;
+import org.llorllale.cactoos.matchers.Throws;
+
+/**
+ * Test case for {@link Ccm}.
+ * @since 1.0
+ */
+final class CcmTest {
+
+    @Test
+    void countsConnectedComponents() throws IOException {
+        new Assertion<>(
+            "Must count connections and connected components",
+            new Ccm().node(
+                "CCM", new HashMap<>(0), new Skeleton(
+                    new FakeBase("CcmMixCallManyComp")
+                ).xml()
+            ).toString(),
+            XhtmlMatchers.hasXPaths(
+                "/metric/title[.='CCM']",
+                "/metric/app/package/class/vars/var[@id='methods' and .='5']",
+                "/metric/app/package/class/vars/var[@id='nc' and .='2']",
+                "/metric/app/package/class/vars/var[@id='ncc' and .='3']",
+                "/metric/app/package/class/vars/var[@id='nmp' and .='10']"
+            )
+        ).affirm();
+    }
+
+    @Test
+    void countsEveryConnectionOnce() throws IOException {
+        new Assertion<>(
+            "Must count a pair of methods once, whatever connects them",
+            new Ccm().node(
+                "CCM", new HashMap<>(0), new Skeleton(
+                    new FakeBase("CcmSharedAttributes")
+                ).xml()
+            ).toString(),
+            XhtmlMatchers.hasXPaths(
+                "/metric/app/package/class/vars/var[@id='nc' and .='3']",
+                "/metric/app/package/class/vars/var[@id='ncc' and .='1']"
+            )
+        ).affirm();
+    }
+
+    @ParameterizedTest
+    @CsvFileSource(resources = "/org/jpeek/calculus/java/ccm-params.csv")
+    void calculatesValue(final String file, final String value) throws Exception {
+        new Assertion<>(
+            "Must create CCM value",
+            new ItemAt<>(
+                0,
+                new Ccm().node(
+                    "CCM", new HashMap<>(0), new Skeleton(
+                        new FakeBase(file)
+                    ).xml()
+                ).xpath("/metric/app/package/class/@value")
+            ),
+            new HasValue<>(value)
+        ).affirm();
+    }
+
+    @Test
+    void rejectsOtherMetrics() {
+        new Assertion<>(
+            "Must refuse to calculate other metrics",
+            () -> new Ccm().node(
+                "LCOM", new HashMap<>(0), new Skeleton(new FakeBase()).xml()
+            ),
+            new Throws<>(IllegalArgumentException.class)
+        ).affirm();
+    }
+}
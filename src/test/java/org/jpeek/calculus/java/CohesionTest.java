@@ -0,0 +1,122 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus.java;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import com.jcabi.xml.XSLDocument;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hamcrest.Matchers;
+import org.jpeek.FakeBase;
+import org.jpeek.calculus.Calculus;
+import org.jpeek.calculus.xsl.XslCalculus;
+import org.jpeek.skeleton.Skeleton;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for Java calculi of LCOM, LCOM2, LCOM3 and LCOM5, which
+ * must give exactly the same XML as their XSL stylesheets.
+ * @since 1.0
+ */
+final class CohesionTest {
+
+    /**
+     * Skeleton of all sample classes, except the one that duplicates
+     * another class name.
+     */
+    private static XML skeleton;
+
+    @BeforeAll
+    static void parseSamples() throws IOException {
+        final List<String> samples;
+        try (Stream<Path> files = Files.list(
+            Paths.get("src/test/resources/org/jpeek/samples")
+        )) {
+            samples = files
+                .map(file -> file.getFileName().toString())
+                .filter(name -> name.endsWith(".java"))
+                .filter(name -> !name.startsWith("ClassSameAsAnother"))
+                .map(name -> name.substring(0, name.length() - 5))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+        CohesionTest.skeleton = new Skeleton(new FakeBase(samples)).xml();
+    }
+
+    @ParameterizedTest
+    @MethodSource("calculi")
+    void calculatesLikeXsl(final String metric, final Calculus java)
+        throws IOException {
+        new Assertion<>(
+            String.format("Must calculate %s exactly like XSL does", metric),
+            java.node(metric, new HashMap<>(0), CohesionTest.skeleton)
+                .toString(),
+            Matchers.equalTo(
+                new XslCalculus().node(
+                    metric, new HashMap<>(0), CohesionTest.skeleton
+                ).toString()
+            )
+        ).affirm();
+    }
+
+    @Test
+    void formatsNumbersLikeXsl() {
+        final List<Double> values = new ArrayList<>(0);
+        for (int den = 1; den < 40; ++den) {
+            for (int num = -den; num <= den * 2; ++num) {
+                values.add(num / (double) den);
+            }
+        }
+        values.addAll(
+            Arrays.asList(0.00004, 0.00005, 0.00015, -0.00001, -0.0, 1.0e-9)
+        );
+        final StringBuilder nums = new StringBuilder("<nums>");
+        final StringBuilder expected = new StringBuilder(0);
+        for (final double value : values) {
+            nums.append("<n>").append(value).append("</n>");
+            expected.append(Cohesion.format(value)).append(' ');
+        }
+        nums.append("</nums>");
+        new Assertion<>(
+            "Must format numbers like format-number() does",
+            new XSLDocument(
+                String.join(
+                    "",
+                    "<xsl:stylesheet xmlns:xsl='http://www.w3.org/1999/XSL/Transform'",
+                    " version='2.0'><xsl:output method='text'/>",
+                    "<xsl:template match='/'><xsl:for-each select='//n'>",
+                    "<xsl:value-of select=\"format-number(number(.), '0.####')\"/>",
+                    "<xsl:text> </xsl:text></xsl:for-each></xsl:template>",
+                    "</xsl:stylesheet>"
+                )
+            ).applyTo(new XMLDocument(nums.toString())),
+            Matchers.equalTo(expected.toString())
+        ).affirm();
+    }
+
+    @SuppressWarnings("PMD.UnusedPrivateMethod")
+    private static Stream<Arguments> calculi() {
+        return Stream.of(
+            Arguments.of("LCOM", new Lcom()),
+            Arguments.of("LCOM2", new Lcom2()),
+            Arguments.of("LCOM3", new Lcom3()),
+            Arguments.of("LCOM5", new Lcom5())
+        );
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.calculus.java;
+
+import com.jcabi.xml.XML;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.cactoos.Scalar;
+import org.cactoos.list.ListOf;
+import org.hamcrest.Matchers;
+import org.jpeek.FakeBase;
+import org.jpeek.calculus.Calculus;
+import org.jpeek.skeleton.Skeleton;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.Throws;
+
+/**
+ * Test case for {@link Fused}.
+ * @since 1.0
+ */
+final class FusedTest {
+
+    /**
+     * Skeleton of sample classes.
+     */
+    private static XML skeleton;
+
+    @BeforeAll
+    static void parseSamples() {
+        FusedTest.skeleton = new Skeleton(
+            new FakeBase(
+                "Bar", "Foo", "MethodsWithDiffParamTypes", "OneCommonAttribute",
+                "OverloadMethods", "TwoCommonAttributes", "MethodMethodCalls",
+                "NoMethods", "OnlyOneMethodWithParams", "WithoutAttributes"
+            )
+        ).xml();
+    }
+
+    @ParameterizedTest
+    @MethodSource("calculi")
+    void calculatesLikeSingleMetric(final String metric, final Calculus single)
+        throws IOException {
+        final Map<String, Object> params = new HashMap<>(0);
+        for (final String name : new Fused(1).metrics()) {
+            params.put(name, true);
+        }
+        final Calculus fused = new Fused(3);
+        fused.node("LCOM", params, FusedTest.skeleton);
+        new Assertion<>(
+            String.format("Must calculate %s like its own calculus", metric),
+            fused.node(metric, params, FusedTest.skeleton).toString(),
+            Matchers.equalTo(
+                single.node(metric, params, FusedTest.skeleton).toString()
+            )
+        ).affirm();
+    }
+
+    @Test
+    void calculatesChosenMetricsOnly() {
+        new Assertion<>(
+            "Must know only the chosen metrics, which it can calculate",
+            new Fused(2, new ListOf<>("LCOM2", "NHD", "CCM")).metrics(),
+            Matchers.containsInAnyOrder("LCOM2", "CCM")
+        ).affirm();
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void rejectsUnknownMetric() {
+        new Assertion(
+            "Must refuse a metric it can't calculate",
+            (Scalar<XML>) () -> new Fused(2).node(
+                "NHD", new HashMap<>(0), FusedTest.skeleton
+            ),
+            new Throws(
+                "Metric NHD can't be calculated in Java",
+                IllegalArgumentException.class
+            )
+        ).affirm();
+    }
+
+    @SuppressWarnings("PMD.UnusedPrivateMethod")
+    private static Stream<Arguments> calculi() {
+        return Stream.of(
+            Arguments.of("LCOM", new Lcom()),
+            Arguments.of("LCOM2", new Lcom2()),
+            Arguments.of("LCOM3", new Lcom3()),
+            Arguments.of("LCOM4", new Lcom4()),
+            Arguments.of("LCOM5", new Lcom5()),
+            Arguments.of("CCM", new Ccm())
+        );
+    }
+}
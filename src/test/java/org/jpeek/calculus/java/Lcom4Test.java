@@ -10,7 +10,6 @@ import java.util.HashMap;
 import org.cactoos.scalar.ItemAt;
 import org.jpeek.FakeBase;
 import org.jpeek.skeleton.Skeleton;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvFileSource;
@@ -24,7 +23,6 @@ import org.llorllale.cactoos.matchers.HasValue;
 final class Lcom4Test {
 
     @Test
-    @Disabled
     void createsXmlCalculusWithXpaths() throws IOException {
         new Assertion<>(
             "Must create LCOM report",
@@ -45,7 +43,6 @@ final class Lcom4Test {
     }
 
     @ParameterizedTest
-    @Disabled
     @CsvFileSource(resources = "/org/jpeek/calculus/java/lcom4-params.csv")
     void calculatesValue(final String file, final String value) throws Exception {
         new Assertion<>(
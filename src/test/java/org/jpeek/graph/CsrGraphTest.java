@@ -0,0 +1,46 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.graph;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.Throws;
+
+/**
+ * Test case for {@link CsrGraph}.
+ * @since 1.0
+ */
+final class CsrGraphTest {
+
+    @Test
+    void keepsNeighborsOfBothEnds() {
+        final CsrGraph graph = new CsrGraph(4, 0, 1, 2, 1, 1, 3);
+        new Assertion<>(
+            "Must keep neighbors of the node",
+            graph.neighbors(1),
+            Matchers.equalTo(new int[] {0, 2, 3})
+        ).affirm();
+    }
+
+    @Test
+    void countsEdgesAndComponents() {
+        final CsrGraph graph = new CsrGraph(5, 0, 1, 3, 4);
+        new Assertion<>(
+            "Must count edges and connected components",
+            new int[] {graph.nodes(), graph.edges(), graph.components()},
+            Matchers.equalTo(new int[] {5, 2, 3})
+        ).affirm();
+    }
+
+    @Test
+    void rejectsOddEdges() {
+        new Assertion<>(
+            "Must reject edges that are not pairs",
+            () -> new CsrGraph(2, 0, 1, 1),
+            new Throws<>(IllegalArgumentException.class)
+        ).affirm();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.graph;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.IsTrue;
+
+/**
+ * Test case for {@link UnionFind}.
+ * @since 1.0
+ */
+final class UnionFindTest {
+
+    @Test
+    void countsComponents() {
+        final UnionFind sets = new UnionFind(6);
+        sets.union(0, 1);
+        sets.union(1, 2);
+        sets.union(3, 4);
+        new Assertion<>(
+            "Must count disjoint sets",
+            sets.components(),
+            Matchers.equalTo(3)
+        ).affirm();
+    }
+
+    @Test
+    void findsSameRootForJoinedNodes() {
+        final UnionFind sets = new UnionFind(4);
+        sets.union(0, 3);
+        sets.union(3, 2);
+        new Assertion<>(
+            "Must find the same root for joined nodes",
+            sets.find(0) == sets.find(2) && sets.find(1) != sets.find(2),
+            new IsTrue()
+        ).affirm();
+    }
+
+    @Test
+    void doesNotJoinTwice() {
+        final UnionFind sets = new UnionFind(3);
+        sets.union(0, 1);
+        sets.union(1, 2);
+        new Assertion<>(
+            "Must not join nodes of the same set",
+            sets.union(2, 0),
+            Matchers.is(false)
+        ).affirm();
+    }
+}
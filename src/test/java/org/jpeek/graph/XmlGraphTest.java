@@ -8,7 +8,10 @@ import java.util.Map;
 import org.cactoos.list.ListOf;
 import org.cactoos.map.MapOf;
 import org.hamcrest.collection.IsEmptyCollection;
+import org.hamcrest.collection.IsIterableWithSize;
 import org.hamcrest.core.AllOf;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsNot;
 import org.jpeek.FakeBase;
 import org.jpeek.skeleton.Skeleton;
 import org.junit.jupiter.api.Test;
@@ -124,4 +127,27 @@ final class XmlGraphTest {
             new IsEmptyCollection<>()
         ).affirm();
     }
+
+    @Test
+    void buildsNodesOfItsClassOnly() {
+        new Assertion<>(
+            "Must build nodes of the methods of its class only",
+            new XmlGraph(
+                new Skeleton(new FakeBase(XmlGraphTest.CLASS_NAME, "Foo", "Bar")),
+                "", XmlGraphTest.CLASS_NAME
+            ).nodes(),
+            new AllOf<Iterable<Node>>(
+                new ListOf<>(
+                    new IsIterableWithSize<>(new IsEqual<>(5)),
+                    new IsNot<>(
+                        new HasValuesMatching<>(
+                            node -> !node.name().startsWith(
+                                String.format("%s.", XmlGraphTest.CLASS_NAME)
+                            )
+                        )
+                    )
+                )
+            )
+        ).affirm();
+    }
 }
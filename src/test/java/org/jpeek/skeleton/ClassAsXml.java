@@ -35,7 +35,7 @@ final class ClassAsXml implements Scalar<String> {
                 new XmlClass(
                     new Classes(
                         new FakeBase(this.name)
-                    ).iterator().next()
+                    ).iterator().next().reader()
                 )
             )
         ).xmlQuietly();
@@ -0,0 +1,116 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.skeleton;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hamcrest.Matchers;
+import org.jpeek.FakeBase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link ClassCache}.
+ * @since 1.0
+ */
+final class ClassCacheTest {
+
+    @Test
+    void buildsSameSkeletonFromCache(@TempDir final Path cache) {
+        final String first = new Skeleton(
+            new FakeBase("OverloadMethods", "Bar"), 1, cache
+        ).xml().nodes("/skeleton/app/package").toString();
+        new Assertion<>(
+            "Must build the same skeleton from the cached classes",
+            new Skeleton(
+                new FakeBase("OverloadMethods", "Bar"), 1, cache
+            ).xml().nodes("/skeleton/app/package").toString(),
+            Matchers.equalTo(first)
+        ).affirm();
+    }
+
+    @Test
+    void readsClassesFromCache(@TempDir final Path cache) throws IOException {
+        new Skeleton(new FakeBase("Bar"), 1, cache).xml();
+        final List<Path> files = ClassCacheTest.fragments(cache);
+        Files.write(
+            files.get(0),
+            "<class id='Cached'><methods/></class>".getBytes(StandardCharsets.UTF_8)
+        );
+        new Assertion<>(
+            "Must take the class from the cache, not parse it again",
+            XhtmlMatchers.xhtml(
+                new Skeleton(new FakeBase("Bar"), 1, cache).xml().toString()
+            ),
+            XhtmlMatchers.hasXPaths("/skeleton/app/package/class[@id='Cached']")
+        ).affirm();
+    }
+
+    @Test
+    void rebuildsBrokenFragment(@TempDir final Path cache) throws IOException {
+        new Skeleton(new FakeBase("Bar"), 1, cache).xml();
+        Files.write(
+            ClassCacheTest.fragments(cache).get(0),
+            "<class".getBytes(StandardCharsets.UTF_8)
+        );
+        new Assertion<>(
+            "Must parse the class again if its fragment is broken",
+            XhtmlMatchers.xhtml(
+                new Skeleton(new FakeBase("Bar"), 1, cache).xml().toString()
+            ),
+            XhtmlMatchers.hasXPaths("/skeleton/app/package/class[@id='Bar']")
+        ).affirm();
+    }
+
+    @Test
+    void dropsCacheOfOtherVersions(@TempDir final Path cache)
+        throws IOException {
+        final Path old = cache.resolve("jpeek-cache/0.0.1/ab/abc.xml");
+        Files.createDirectories(old.getParent());
+        Files.write(old, "<class/>".getBytes(StandardCharsets.UTF_8));
+        Files.write(
+            cache.resolve("jpeek-cache/0.0.1/.jpeek-version"),
+            "0.0.1".getBytes(StandardCharsets.UTF_8)
+        );
+        new Skeleton(new FakeBase("Bar"), 1, cache).xml();
+        new Assertion<>(
+            "Must delete fragments of another version",
+            Files.exists(cache.resolve("jpeek-cache/0.0.1")),
+            Matchers.is(false)
+        ).affirm();
+    }
+
+    @Test
+    void keepsDirectoriesItDidNotMake(@TempDir final Path cache)
+        throws IOException {
+        final Path classes = cache.resolve("classes/Foo.class");
+        final Path own = cache.resolve("jpeek-cache/mine/a.txt");
+        for (final Path file : new Path[] {classes, own}) {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new byte[] {1});
+        }
+        new Skeleton(new FakeBase("Bar"), 1, cache).xml();
+        new Assertion<>(
+            "Must not delete what is not a version of jpeek",
+            Files.exists(classes) && Files.exists(own),
+            Matchers.is(true)
+        ).affirm();
+    }
+
+    private static List<Path> fragments(final Path cache) throws IOException {
+        try (Stream<Path> files = Files.walk(cache)) {
+            return files
+                .filter(file -> file.toString().endsWith(".xml"))
+                .collect(Collectors.toList());
+        }
+    }
+}
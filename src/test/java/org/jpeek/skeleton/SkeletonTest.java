@@ -5,9 +5,15 @@
 package org.jpeek.skeleton;
 
 import com.jcabi.matchers.XhtmlMatchers;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.cactoos.text.TextOf;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
 import org.jpeek.Base;
 import org.jpeek.FakeBase;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.llorllale.cactoos.matchers.Assertion;
 
 /**
@@ -182,4 +188,45 @@ final class SkeletonTest {
             )
         ).affirm();
     }
+
+    @Test
+    void buildsSameXmlInAnyNumberOfThreads() {
+        final Base base = new FakeBase(
+            "Bar", "Foo", "OverloadMethods", "foo/Foo", "bar/Foo"
+        );
+        new Assertion<>(
+            "Must not depend on the number of threads",
+            new Skeleton(base, 4).xml().nodes("/skeleton/app").get(0).toString(),
+            new IsEqual<>(
+                new Skeleton(base, 1).xml().nodes("/skeleton/app").get(0).toString()
+            )
+        ).affirm();
+    }
+
+    @Test
+    void streamsXmlIntoFile(@TempDir final Path temp) throws Exception {
+        final Path file = temp.resolve("skeleton.xml");
+        new Skeleton(new FakeBase("Bar", "foo/Foo", "bar/Foo")).xml(file);
+        new Assertion<>(
+            "Must write all packages and classes into the file",
+            XhtmlMatchers.xhtml(new TextOf(file).asString()),
+            XhtmlMatchers.hasXPaths(
+                "/skeleton[@schema='xsd/skeleton.xsd' and @version]",
+                "/skeleton/app[count(package)=3]",
+                "//package[@id='foo']/class[@id='Foo']",
+                "//class[@id='Bar']/methods[count(method)=5]"
+            )
+        ).affirm();
+    }
+
+    @Test
+    void readsStreamedXmlOnDemand(@TempDir final Path temp) throws IOException {
+        new Assertion<>(
+            "Must query the streamed file",
+            new Skeleton(new FakeBase("Bar", "Foo"))
+                .xml(temp.resolve("skeleton.xml"))
+                .xpath("count(//class)"),
+            Matchers.hasItem("2")
+        ).affirm();
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.cactoos.text.TextOf;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link CachedRepository}.
+ * @since 1.0
+ */
+final class CachedRepositoryTest {
+
+    @Test
+    void fetchesJarOnce(@TempDir final Path temp) throws Exception {
+        final Path central = temp.resolve("central");
+        final Path origin = CachedRepositoryTest.jar(central, "1.0", "first");
+        final Metrics metrics = new Metrics();
+        final Repository repo = new CachedRepository(
+            new LocalRepository(central), temp.resolve("cache"),
+            1024L, metrics
+        );
+        repo.fetch("org.jpeek", "jpeek", "1.0", temp.resolve("a.jar"));
+        Files.delete(origin);
+        final Path jar = temp.resolve("b.jar");
+        new Assertion<>(
+            "Must find the JAR in the cache",
+            repo.fetch("org.jpeek", "jpeek", "1.0", jar),
+            new IsEqual<>(true)
+        ).affirm();
+        new Assertion<>(
+            "Must copy the JAR from the cache",
+            new TextOf(jar).asString(),
+            new IsEqual<>("first")
+        ).affirm();
+        new Assertion<>(
+            "Must know the size of the JAR in the cache",
+            repo.size("org.jpeek", "jpeek", "1.0"),
+            new IsEqual<>(5L)
+        ).affirm();
+        new Assertion<>(
+            "Must not find what the origin doesn't have",
+            repo.fetch("org.jpeek", "jpeek", "2.0", jar),
+            new IsEqual<>(false)
+        ).affirm();
+        new Assertion<>(
+            "Must count hits",
+            metrics.asString(),
+            Matchers.containsString("jpeek_jar_cache_hits_total 1")
+        ).affirm();
+    }
+
+    @Test
+    void evictsJarsFetchedLeastRecently(@TempDir final Path temp)
+        throws Exception {
+        final Path central = temp.resolve("central");
+        final Metrics metrics = new Metrics();
+        final Repository repo = new CachedRepository(
+            new LocalRepository(central), temp.resolve("cache"),
+            8L, metrics
+        );
+        CachedRepositoryTest.jar(central, "1.0", "first");
+        repo.fetch("org.jpeek", "jpeek", "1.0", temp.resolve("a.jar"));
+        CachedRepositoryTest.jar(central, "2.0", "second");
+        repo.fetch("org.jpeek", "jpeek", "2.0", temp.resolve("b.jar"));
+        new Assertion<>(
+            "Must evict JARs above the limit",
+            metrics.asString(),
+            Matchers.containsString("jpeek_jar_cache_evictions_total 1")
+        ).affirm();
+        repo.fetch("org.jpeek", "jpeek", "2.0", temp.resolve("c.jar"));
+        new Assertion<>(
+            "Must keep the JAR fetched recently",
+            metrics.asString(),
+            Matchers.containsString("jpeek_jar_cache_hits_total 1")
+        ).affirm();
+    }
+
+    /**
+     * Put a JAR into the repository.
+     * @param central Directory of the repository
+     * @param version Version of the artifact
+     * @param content Content of the JAR
+     * @return The JAR
+     * @throws Exception If fails
+     */
+    private static Path jar(final Path central, final String version,
+        final String content) throws Exception {
+        return Files.write(
+            Files.createDirectories(
+                central.resolve("org/jpeek/jpeek").resolve(version)
+            ).resolve(String.format("jpeek-%s.jar", version)),
+            content.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+}
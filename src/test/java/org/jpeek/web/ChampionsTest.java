@@ -0,0 +1,88 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link Champions}.
+ * @since 1.0
+ */
+final class ChampionsTest {
+
+    @Test
+    void keepsChampionsThatAreNotMerged(@TempDir final Path temp)
+        throws Exception {
+        final Champions champions = new Champions();
+        champions.add(ChampionsTest.report(temp, "a", 0.1d));
+        champions.add(ChampionsTest.report(temp, "b", 0.05d));
+        champions.add(ChampionsTest.report(temp, "c", 0.2d));
+        final Map<String, Champion> first = champions.drain();
+        champions.restore("LCOM", first.get("LCOM"));
+        final Champion second = champions.drain().get("LCOM");
+        new Assertion<>(
+            "Must count champions, which were put back",
+            second.count(),
+            new IsEqual<>(2L)
+        ).affirm();
+        new Assertion<>(
+            "Must keep the best sigma",
+            second.sigma(),
+            new IsEqual<>(0.05d)
+        ).affirm();
+        new Assertion<>(
+            "Must keep nothing after the merge",
+            champions.drain().isEmpty(),
+            new IsEqual<>(true)
+        ).affirm();
+    }
+
+    @Test
+    void countsNoChampionsWorseThanKnown(@TempDir final Path temp)
+        throws Exception {
+        final Champions champions = new Champions();
+        champions.add(ChampionsTest.report(temp, "x", 0.1d));
+        final Champion merged = champions.drain().get("LCOM");
+        merged.known(0.4d, 0.01d);
+        champions.known("LCOM", merged);
+        champions.add(ChampionsTest.report(temp, "y", 0.05d));
+        new Assertion<>(
+            "Must not count a report worse than the one in the table",
+            champions.drain().isEmpty(),
+            new IsEqual<>(true)
+        ).affirm();
+    }
+
+    /**
+     * Make a report.
+     * @param temp Temporary directory
+     * @param name Name of the directory
+     * @param sigma Sigma of the metric
+     * @return Directory of the report
+     * @throws Exception If fails
+     */
+    private static Path report(final Path temp, final String name,
+        final double sigma) throws Exception {
+        final Path dir = Files.createDirectories(temp.resolve(name));
+        Files.write(
+            dir.resolve("index.xml"),
+            String.join(
+                "",
+                String.format("<index artifact='%s' defects='0.1'>", name),
+                "<metric name='LCOM'><classes>300</classes>",
+                String.format("<mean>0.4</mean><sigma>%f</sigma>", sigma),
+                "<reverse>true</reverse></metric></index>"
+            ).getBytes(StandardCharsets.UTF_8)
+        );
+        return dir;
+    }
+}
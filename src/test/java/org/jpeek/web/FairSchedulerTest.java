@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import org.cactoos.list.ListOf;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.IsTrue;
+
+/**
+ * Test case for {@link FairScheduler}.
+ * @since 1.0
+ */
+final class FairSchedulerTest {
+
+    @Test
+    void runsInteractiveAndSmallTasksFirst() throws Exception {
+        final FairScheduler scheduler = new FairScheduler(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<String> done = new CopyOnWriteArrayList<>();
+        scheduler.submit(
+            Scheduler.Priority.INTERACTIVE, 0L,
+            () -> {
+                latch.await();
+                return true;
+            }
+        );
+        scheduler.submit(
+            Scheduler.Priority.BULK, 1L, () -> done.add("bulk")
+        );
+        scheduler.submit(
+            Scheduler.Priority.INTERACTIVE, 1L << 28, () -> done.add("big")
+        );
+        final Future<Boolean> last = scheduler.submit(
+            Scheduler.Priority.INTERACTIVE, 1L, () -> done.add("small")
+        );
+        latch.countDown();
+        last.get();
+        scheduler.submit(Scheduler.Priority.BULK, 0L, () -> true).get();
+        new Assertion<>(
+            "Must run small interactive tasks before big and bulk ones",
+            done,
+            new IsEqual<>(new ListOf<>("small", "big", "bulk"))
+        ).affirm();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void promotesAndCancelsWaitingTasks() throws Exception {
+        final FairScheduler scheduler = new FairScheduler(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<String> done = new CopyOnWriteArrayList<>();
+        scheduler.submit(
+            Scheduler.Priority.INTERACTIVE, 0L,
+            () -> {
+                latch.await();
+                return true;
+            }
+        );
+        final Future<Boolean> cancelled = scheduler.submit(
+            Scheduler.Priority.INTERACTIVE, 0L, () -> done.add("cancelled")
+        );
+        final Future<Boolean> bulk = scheduler.submit(
+            Scheduler.Priority.BULK, 0L, () -> done.add("promoted")
+        );
+        scheduler.submit(
+            Scheduler.Priority.INTERACTIVE, 1L << 20, () -> done.add("other")
+        );
+        new Assertion<>(
+            "Must promote a waiting task",
+            scheduler.promote(bulk),
+            new IsTrue()
+        ).affirm();
+        new Assertion<>(
+            "Must cancel a waiting task",
+            cancelled.cancel(false),
+            new IsTrue()
+        ).affirm();
+        latch.countDown();
+        scheduler.submit(Scheduler.Priority.BULK, 0L, () -> true).get();
+        new Assertion<>(
+            "Must run promoted tasks and skip cancelled ones",
+            done,
+            new IsEqual<>(new ListOf<>("promoted", "other"))
+        ).affirm();
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link Frequencies}.
+ * @since 1.0
+ */
+final class FrequenciesTest {
+
+    @Test
+    void estimatesFrequencies() {
+        final Frequencies freqs = new Frequencies(100);
+        for (int idx = 0; idx < 7; ++idx) {
+            freqs.add("org.jpeek:jpeek");
+        }
+        freqs.add("com.jcabi:jcabi-xml");
+        new Assertion<>(
+            "Must estimate frequency not less than the real one",
+            freqs.estimate("org.jpeek:jpeek"),
+            Matchers.greaterThanOrEqualTo(7)
+        ).affirm();
+        new Assertion<>(
+            "Must estimate frequency of a rare key",
+            freqs.estimate("com.jcabi:jcabi-xml"),
+            Matchers.lessThan(7)
+        ).affirm();
+    }
+
+    @Test
+    void forgetsOldFrequencies() {
+        final Frequencies freqs = new Frequencies(1);
+        for (int idx = 0; idx < 320; ++idx) {
+            freqs.add("org.jpeek:jpeek");
+        }
+        new Assertion<>(
+            "Must halve frequencies after many additions",
+            freqs.estimate("org.jpeek:jpeek"),
+            new IsEqual<>(160)
+        ).affirm();
+    }
+}
@@ -4,13 +4,21 @@
  */
 package org.jpeek.web;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import org.cactoos.Func;
 import org.cactoos.iterable.IterableOf;
+import org.cactoos.list.ListOf;
 import org.hamcrest.core.IsEqual;
 import org.hamcrest.core.IsNot;
 import org.junit.jupiter.api.Test;
 import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.HasValues;
 import org.llorllale.cactoos.matchers.IsBlank;
+import org.llorllale.cactoos.matchers.IsTrue;
+import org.takes.Response;
 import org.takes.rq.RqFake;
+import org.takes.rs.RsText;
 import org.takes.rs.xe.XeAppend;
 
 /**
@@ -50,6 +58,72 @@ final class FuturesTest {
         ).affirm();
     }
 
+    @Test
+    void recordsMetricsOfAnalyses() throws Exception {
+        final Metrics metrics = new Metrics();
+        final Futures futures = new Futures(
+            (group, artifact) -> {
+                throw new UnsupportedOperationException("intended");
+            },
+            metrics
+        );
+        futures.apply("g2", "a2").get();
+        new Assertion<>(
+            "Must count failures and leave nothing in flight",
+            new ListOf<>(metrics.asString().split("\n")),
+            new HasValues<>(
+                "jpeek_analysis_failures_total 1",
+                "jpeek_analyses_in_flight 0",
+                "jpeek_queue_depth 0",
+                "jpeek_analysis_seconds_count 1"
+            )
+        ).affirm();
+    }
+
+    @Test
+    void submitsWaitingAnalysisOnce() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Futures futures = new Futures(
+            (group, artifact) -> {
+                latch.await();
+                return input -> new RsText(artifact);
+            }
+        );
+        final Future<Func<String, Response>> first =
+            futures.bulk().apply("g3", "a3");
+        new Assertion<>(
+            "Must return the same future for the waiting analysis",
+            futures.apply("g3", "a3"),
+            new IsEqual<>(first)
+        ).affirm();
+        latch.countDown();
+        first.get();
+    }
+
+    @Test
+    void cancelsWaitingAnalysis() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Futures futures = new Futures(
+            (group, artifact) -> {
+                latch.await();
+                return input -> new RsText(artifact);
+            },
+            new Metrics(),
+            new FairScheduler(1),
+            (group, artifact) -> 0L
+        );
+        futures.apply("g4", "busy");
+        final Future<Func<String, Response>> waiting =
+            futures.apply("g4", "waiting");
+        new Assertion<>(
+            "Must cancel the analysis that is not started yet",
+            futures.cancel("g4", "waiting") && waiting.isCancelled(),
+            new IsTrue()
+        ).affirm();
+        latch.countDown();
+        futures.shutdown();
+    }
+
     @Test
     void printsAsString() throws Exception {
         final Futures futures = new Futures(
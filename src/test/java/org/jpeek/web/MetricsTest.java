@@ -0,0 +1,85 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import org.cactoos.list.ListOf;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.number.IsCloseTo;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.HasValues;
+
+/**
+ * Test case for {@link Metrics}.
+ * @since 1.0
+ */
+final class MetricsTest {
+
+    @Test
+    void printsCountersAndGauges() {
+        final Metrics metrics = new Metrics();
+        metrics.count("jpeek_cache_hits_total", 2L);
+        metrics.count("jpeek_cache_hits_total", 3L);
+        metrics.gauge("jpeek_queue_depth", 2L);
+        metrics.gauge("jpeek_queue_depth", -1L);
+        new Assertion<>(
+            "Must print counters and gauges with their types",
+            new ListOf<>(metrics.asString().split("\n")),
+            new HasValues<>(
+                "# TYPE jpeek_cache_hits_total counter",
+                "jpeek_cache_hits_total 5",
+                "# TYPE jpeek_queue_depth gauge",
+                "jpeek_queue_depth 1"
+            )
+        ).affirm();
+    }
+
+    @Test
+    void printsCumulativeHistograms() {
+        final Metrics metrics = new Metrics();
+        final String series = Metrics.series(
+            "jpeek_stage_seconds", "stage", "calculus:LCOM"
+        );
+        metrics.observe(series, 0.2d);
+        metrics.observe(series, 0.7d);
+        metrics.observe(series, 4000.0d);
+        new Assertion<>(
+            "Must print cumulative buckets, sum and count",
+            new ListOf<>(metrics.asString().split("\n")),
+            new HasValues<>(
+                "# TYPE jpeek_stage_seconds histogram",
+                "jpeek_stage_seconds_bucket{stage=\"calculus:LCOM\",le=\"0.1\"} 0",
+                "jpeek_stage_seconds_bucket{stage=\"calculus:LCOM\",le=\"0.5\"} 1",
+                "jpeek_stage_seconds_bucket{stage=\"calculus:LCOM\",le=\"1.0\"} 2",
+                "jpeek_stage_seconds_bucket{stage=\"calculus:LCOM\",le=\"+Inf\"} 3",
+                "jpeek_stage_seconds_sum{stage=\"calculus:LCOM\"} 4000.900000",
+                "jpeek_stage_seconds_count{stage=\"calculus:LCOM\"} 3"
+            )
+        ).affirm();
+        new Assertion<>(
+            "Must calculate the mean",
+            metrics.mean(series),
+            new IsCloseTo(1333.63d, 0.01d)
+        ).affirm();
+    }
+
+    @Test
+    void dropsTooManySeries() {
+        final Metrics metrics = new Metrics();
+        for (int idx = 0; idx < 300; ++idx) {
+            metrics.count(
+                Metrics.series("jpeek_test_total", "id", String.valueOf(idx)),
+                1L
+            );
+        }
+        new Assertion<>(
+            "Must drop numbers of series above the limit",
+            new ListOf<>(metrics.asString().split("\n")).contains(
+                "jpeek_metrics_dropped_total 44"
+            ),
+            new IsEqual<>(true)
+        ).affirm();
+    }
+}
@@ -5,6 +5,7 @@
 package org.jpeek.web;
 
 import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -13,6 +14,7 @@ import org.hamcrest.core.IsEqual;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.llorllale.cactoos.matchers.Assertion;
+import org.takes.rs.RsStatus;
 
 /**
  * Test case for {@link Pages}.
@@ -38,4 +40,13 @@ final class PagesTest {
             new IsEqual<>(-1)
         ).affirm();
     }
+
+    @Test
+    void doesNotFindAbsentFile(@TempDir final Path temp) throws IOException {
+        new Assertion<>(
+            "Must not find a file, which is absent",
+            new RsStatus.Base(new Pages(temp).apply("a/absent.html")).status(),
+            new IsEqual<>(HttpURLConnection.HTTP_NOT_FOUND)
+        ).affirm();
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.cactoos.text.TextOf;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link RemoteRepository}.
+ * @since 1.0
+ */
+final class RemoteRepositoryTest {
+
+    @Test
+    void fetchesFromLocalCentral(@TempDir final Path temp) throws Exception {
+        final Path central = temp.resolve("central");
+        final Path home = Files.createDirectories(
+            central.resolve("org/jpeek/jpeek")
+        );
+        Files.write(
+            home.resolve("maven-metadata.xml"),
+            "<metadata><versioning><latest>1.0</latest></versioning></metadata>"
+                .getBytes(StandardCharsets.UTF_8)
+        );
+        Files.write(
+            Files.createDirectories(home.resolve("1.0"))
+                .resolve("jpeek-1.0.jar"),
+            "jar".getBytes(StandardCharsets.UTF_8)
+        );
+        final Metrics metrics = new Metrics();
+        final Repository repo = new RemoteRepository(
+            central.toUri().toString().replaceAll("/$", ""),
+            temp.resolve("metadata"), metrics
+        );
+        new Assertion<>(
+            "Must find the latest version",
+            repo.latest("org.jpeek", "jpeek"),
+            new IsEqual<>("1.0")
+        ).affirm();
+        final Path jar = temp.resolve("jpeek.jar");
+        repo.fetch("org.jpeek", "jpeek", "1.0", jar);
+        new Assertion<>(
+            "Must download the JAR",
+            new TextOf(jar).asString(),
+            new IsEqual<>("jar")
+        ).affirm();
+        new Assertion<>(
+            "Must count downloaded bytes",
+            metrics.asString(),
+            Matchers.containsString("jpeek_download_bytes_total 3")
+        ).affirm();
+    }
+}
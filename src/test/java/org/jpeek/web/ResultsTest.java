@@ -4,7 +4,12 @@
  */
 package org.jpeek.web;
 
+import com.jcabi.dynamo.Table;
+import com.jcabi.dynamo.mock.H2Data;
+import com.jcabi.dynamo.mock.MkRegion;
 import com.jcabi.matchers.XhtmlMatchers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import org.cactoos.iterable.Joined;
@@ -13,6 +18,7 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.llorllale.cactoos.matchers.Assertion;
+import org.xembly.Directive;
 import org.xembly.Directives;
 import org.xembly.Xembler;
 
@@ -40,4 +46,53 @@ final class ResultsTest {
             XhtmlMatchers.hasXPath("/repos")
         ).affirm();
     }
+
+    @Test
+    void keepsListsInMemory(@TempDir final Path temp) throws Exception {
+        final Table table = new MkRegion(
+            new H2Data().with(
+                "jpeek-results",
+                new String[] {"artifact"},
+                "score", "diff", "ttl", "version", "added",
+                "rank", "good", "classes", "defects", "elements"
+            )
+        ).table("jpeek-results");
+        final Results results = new Results(table);
+        new Assertion<>(
+            "Must render empty list",
+            XhtmlMatchers.xhtml(ResultsTest.xml(results.recent())),
+            XhtmlMatchers.hasXPath("/repos[not(repo)]")
+        ).affirm();
+        Files.write(
+            temp.resolve("index.xml"),
+            String.join(
+                "",
+                "<index diff='0.1' score='5.5' defects='0.1'>",
+                "<metric><elements>150</elements><classes>30</classes>",
+                "</metric></index>"
+            ).getBytes(StandardCharsets.UTF_8)
+        );
+        results.add("org.takes:takes", temp);
+        new Assertion<>(
+            "Must render the list again, once results are added",
+            XhtmlMatchers.xhtml(ResultsTest.xml(results.best())),
+            XhtmlMatchers.hasXPath("/repos/repo[artifact='takes']")
+        ).affirm();
+        new Assertion<>(
+            "Must load results from the table",
+            XhtmlMatchers.xhtml(ResultsTest.xml(new Results(table).all())),
+            XhtmlMatchers.hasXPath("/repos/repo[group='org.takes']")
+        ).affirm();
+    }
+
+    /**
+     * Render the list.
+     * @param list The list
+     * @return XML
+     */
+    private static String xml(final Iterable<Iterable<Directive>> list) {
+        return new Xembler(
+            new Directives().add("repos").append(new Joined<>(list))
+        ).xmlQuietly();
+    }
 }
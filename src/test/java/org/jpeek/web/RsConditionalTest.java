@@ -0,0 +1,88 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.takes.rq.RqFake;
+import org.takes.rq.RqWithHeader;
+import org.takes.rs.RsPrint;
+import org.takes.rs.RsStatus;
+import org.takes.rs.RsText;
+import org.takes.rs.RsWithHeader;
+
+/**
+ * Test case for {@link RsConditional}.
+ * @since 1.0
+ */
+final class RsConditionalTest {
+
+    @Test
+    void sendsNothingIfNotModified() throws IOException {
+        new Assertion<>(
+            "Must not send the body, which the client has",
+            new RsStatus.Base(
+                new RsConditional(
+                    new RqWithHeader(
+                        new RqFake(), "If-None-Match", "\"abc\", \"def\""
+                    ),
+                    new RsWithHeader(new RsText("hello"), "ETag", "\"def\"")
+                )
+            ).status(),
+            new IsEqual<>(HttpURLConnection.HTTP_NOT_MODIFIED)
+        ).affirm();
+    }
+
+    @Test
+    void sendsRangeOfFile(@TempDir final Path temp) throws IOException {
+        Files.write(
+            temp.resolve("a.txt"),
+            "0123456789".getBytes(StandardCharsets.UTF_8)
+        );
+        final RsPrint response = new RsPrint(
+            new RsConditional(
+                new RqWithHeader(new RqFake(), "Range", "bytes=2-4"),
+                new Pages(temp).apply("a.txt")
+            )
+        );
+        new Assertion<>(
+            "Must send only the range",
+            response.printBody(),
+            new IsEqual<>("234")
+        ).affirm();
+        new Assertion<>(
+            "Must tell which range is sent",
+            response.printHead(),
+            Matchers.allOf(
+                Matchers.startsWith("HTTP/1.1 206"),
+                Matchers.containsString("Content-Range: bytes 2-4/10"),
+                Matchers.containsString("Content-Length: 3")
+            )
+        ).affirm();
+    }
+
+    @Test
+    void rejectsRangeBeyondFile(@TempDir final Path temp) throws IOException {
+        Files.write(temp.resolve("b.txt"), new byte[] {1, 2});
+        new Assertion<>(
+            "Must not send a range, which is not there",
+            new RsStatus.Base(
+                new RsConditional(
+                    new RqWithHeader(new RqFake(), "Range", "bytes=5-"),
+                    new Pages(temp).apply("b.txt")
+                )
+            ).status(),
+            new IsEqual<>(416)
+        ).affirm();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link Sizes}.
+ * @since 1.0
+ */
+final class SizesTest {
+
+    @Test
+    void asksRepositoryForArtifactsNeverSeen(@TempDir final Path temp)
+        throws Exception {
+        final Path central = temp.resolve("central");
+        final Path home = Files.createDirectories(
+            central.resolve("org/jpeek/jpeek")
+        );
+        Files.write(
+            home.resolve("maven-metadata.xml"),
+            "<metadata><versioning><latest>1.0</latest></versioning></metadata>"
+                .getBytes(StandardCharsets.UTF_8)
+        );
+        Files.write(
+            Files.createDirectories(home.resolve("1.0"))
+                .resolve("jpeek-1.0.jar"),
+            "twelve bytes".getBytes(StandardCharsets.UTF_8)
+        );
+        final Sizes sizes = new Sizes(
+            temp.resolve("sources"),
+            new RemoteRepository(
+                central.toUri().toString().replaceAll("/$", ""),
+                temp.resolve("metadata"), new Metrics()
+            )
+        );
+        new Assertion<>(
+            "Must take the size of the JAR in the repository",
+            sizes.apply("org.jpeek", "jpeek"),
+            new IsEqual<>(12L)
+        ).affirm();
+        new Assertion<>(
+            "Must estimate an artifact nobody knows as a megabyte",
+            sizes.apply("org.jpeek", "absent"),
+            new IsEqual<>(1024L * 1024L)
+        ).affirm();
+    }
+}
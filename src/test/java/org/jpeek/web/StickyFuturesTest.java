@@ -0,0 +1,107 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cactoos.Func;
+import org.cactoos.list.ListOf;
+import org.hamcrest.core.IsEqual;
+import org.hamcrest.core.IsSame;
+import org.junit.jupiter.api.Test;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.HasValues;
+import org.takes.Response;
+import org.takes.rs.RsText;
+
+/**
+ * Test case for {@link StickyFutures}.
+ * @since 1.0
+ */
+final class StickyFuturesTest {
+
+    @Test
+    void returnsSameFutureWhenDone() {
+        final AtomicInteger calls = new AtomicInteger();
+        final StickyFutures futures = new StickyFutures(
+            (group, artifact) -> {
+                calls.incrementAndGet();
+                return CompletableFuture.completedFuture(
+                    input -> new RsText(artifact)
+                );
+            },
+            10
+        );
+        final Future<Func<String, Response>> first = futures.apply("g", "a");
+        new Assertion<>(
+            "Must return the cached future",
+            futures.apply("g", "a"),
+            new IsSame<>(first)
+        ).affirm();
+        new Assertion<>(
+            "Must not ask the origin again",
+            calls.get(),
+            new IsEqual<>(1)
+        ).affirm();
+    }
+
+    @Test
+    void keepsPopularArtifactsWhenFlooded() {
+        final AtomicInteger calls = new AtomicInteger();
+        final StickyFutures futures = new StickyFutures(
+            (group, artifact) -> {
+                if ("popular".equals(artifact)) {
+                    calls.incrementAndGet();
+                }
+                return CompletableFuture.completedFuture(
+                    input -> new RsText(artifact)
+                );
+            },
+            10
+        );
+        for (int idx = 0; idx < 5; ++idx) {
+            futures.apply("g", "popular");
+        }
+        for (int idx = 0; idx < 100; ++idx) {
+            futures.apply("g", String.format("upload-%d", idx));
+        }
+        futures.apply("g", "popular");
+        new Assertion<>(
+            "Must not evict the popular artifact",
+            calls.get(),
+            new IsEqual<>(1)
+        ).affirm();
+    }
+
+    @Test
+    void neverEvictsFuturesInFlight() {
+        final Metrics metrics = new Metrics();
+        final StickyFutures futures = new StickyFutures(
+            (group, artifact) -> {
+                final CompletableFuture<Func<String, Response>> future =
+                    new CompletableFuture<>();
+                if (!"pending".equals(artifact)) {
+                    future.complete(input -> new RsText(artifact));
+                }
+                return future;
+            },
+            (group, artifact) -> 1L, 1L, metrics
+        );
+        futures.apply("g", "pending");
+        for (int idx = 0; idx < 10; ++idx) {
+            futures.apply("g", String.format("other-%d", idx));
+        }
+        futures.apply("g", "pending");
+        new Assertion<>(
+            "Must keep the future in flight, not miss it again",
+            new ListOf<>(metrics.asString().split("\n")),
+            new HasValues<>(
+                "jpeek_cache_misses_total 11",
+                "jpeek_cache_evictions_total 9"
+            )
+        ).affirm();
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.cactoos.io.GzipInput;
+import org.cactoos.io.InputOf;
+import org.cactoos.text.TextOf;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsEqual;
+import org.jpeek.Sha256;
+import org.jpeek.VersionedDir;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.llorllale.cactoos.matchers.Assertion;
+import org.llorllale.cactoos.matchers.HasString;
+
+/**
+ * Test case for {@link Store}.
+ * @since 1.0
+ */
+final class StoreTest {
+
+    @Test
+    void keepsReportsBetweenRestarts(@TempDir final Path temp)
+        throws Exception {
+        final Path home = temp.resolve("store");
+        final Path bundle = new Store(home).save(
+            "org.jpeek", "jpeek", "1.0",
+            StoreTest.jar(temp, "a.jar", "first"),
+            StoreTest.report(temp, "first")
+        );
+        final Store store = new Store(home);
+        new Assertion<>(
+            "Must find the bundle of the version after restart",
+            store.bundle("org.jpeek", "jpeek", "1.0"),
+            new IsEqual<>(bundle)
+        ).affirm();
+        new Assertion<>(
+            "Must find the fresh bundle of the artifact after restart",
+            new Store(home).fresh("org.jpeek", "jpeek"),
+            new IsEqual<>(bundle)
+        ).affirm();
+        new Assertion<>(
+            "Must know the size of the bundle",
+            store.size("org.jpeek", "jpeek"),
+            new IsEqual<>(82L)
+        ).affirm();
+        new Assertion<>(
+            "Must not find an unknown version",
+            store.bundle("org.jpeek", "jpeek", "2.0"),
+            Matchers.nullValue()
+        ).affirm();
+    }
+
+    @Test
+    void warmsUpAfterDeploy(@TempDir final Path temp) throws Exception {
+        final Path home = temp.resolve("store");
+        new Store(home).save(
+            "org.jpeek", "jpeek", "1.0",
+            StoreTest.jar(temp, "a.jar", "deployed"),
+            StoreTest.report(temp, "deployed")
+        );
+        new VersionedDir(home).value();
+        new Assertion<>(
+            "Must find all artifacts on startup, after caches are renewed",
+            new Store(home).warm(),
+            new IsEqual<>(1)
+        ).affirm();
+    }
+
+    @Test
+    void keepsSameJarOnce(@TempDir final Path temp) throws Exception {
+        final Store store = new Store(temp.resolve("store"));
+        final Path first = store.save(
+            "org.jpeek", "jpeek", "1.0",
+            StoreTest.jar(temp, "a.jar", "same"),
+            StoreTest.report(temp, "one")
+        );
+        final Path report = StoreTest.report(temp, "two");
+        new Assertion<>(
+            "Must keep the report of the same JAR in the same bundle",
+            store.save(
+                "org.jpeek", "jpeek", "1.1",
+                StoreTest.jar(temp, "b.jar", "same"), report
+            ),
+            new IsEqual<>(first)
+        ).affirm();
+        new Assertion<>(
+            "Must drop the duplicate report",
+            Files.exists(report),
+            new IsEqual<>(false)
+        ).affirm();
+    }
+
+    @Test
+    void precomputesVariantsOfReports(@TempDir final Path temp)
+        throws Exception {
+        final Path report = StoreTest.report(temp, "big");
+        Files.write(
+            report.resolve("index.html"),
+            new String(new char[2048]).replace('\0', 'x')
+                .getBytes(StandardCharsets.UTF_8)
+        );
+        final Path bundle = new Store(temp.resolve("store")).save(
+            "org.jpeek", "jpeek", "1.0",
+            StoreTest.jar(temp, "a.jar", "big"), report
+        );
+        new Assertion<>(
+            "Must compress the page",
+            new TextOf(
+                new GzipInput(new InputOf(bundle.resolve("index.html.gz")))
+            ),
+            new HasString("xxxx")
+        ).affirm();
+        new Assertion<>(
+            "Must serve the compressed page with its ETag",
+            new Pages(bundle).apply("index.html.gz").head(),
+            Matchers.hasItem(
+                String.format(
+                    "ETag: \"%s\"",
+                    new Sha256(bundle.resolve("index.html.gz")).asString()
+                )
+            )
+        ).affirm();
+    }
+
+    /**
+     * Make a JAR.
+     * @param temp Temporary directory
+     * @param name Name of the file
+     * @param content Its content
+     * @return The file
+     * @throws Exception If fails
+     */
+    private static Path jar(final Path temp, final String name,
+        final String content) throws Exception {
+        return Files.write(
+            temp.resolve(name), content.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * Make a directory of a report.
+     * @param temp Temporary directory
+     * @param name Name of the directory
+     * @return The directory
+     * @throws Exception If fails
+     */
+    private static Path report(final Path temp, final String name)
+        throws Exception {
+        final Path dir = Files.createDirectories(temp.resolve(name));
+        Files.write(
+            dir.resolve("index.html"), name.getBytes(StandardCharsets.UTF_8)
+        );
+        return dir;
+    }
+}
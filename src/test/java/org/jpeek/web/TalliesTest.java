@@ -0,0 +1,74 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link Tallies}.
+ * @since 1.0
+ */
+final class TalliesTest {
+
+    @Test
+    void losesNoDiffsWhileDrained(@TempDir final Path temp) throws Exception {
+        final Path dir = Files.write(
+            temp.resolve("index.xml"),
+            String.join(
+                "",
+                "<index><metric name='LCOM' diff='0.5'/>",
+                "<metric name='NHD' diff='-0.25'/></index>"
+            ).getBytes(StandardCharsets.UTF_8)
+        ).getParent();
+        final Tallies tallies = new Tallies();
+        final ExecutorService service = Executors.newFixedThreadPool(4);
+        final List<Future<?>> futures = new LinkedList<>();
+        for (int idx = 0; idx < 400; ++idx) {
+            futures.add(
+                service.submit(
+                    () -> {
+                        tallies.add(dir);
+                        return dir;
+                    }
+                )
+            );
+        }
+        final Tally lcom = new Tally();
+        final Tally nhd = new Tally();
+        for (final Future<?> future : futures) {
+            future.get();
+            final Map<String, Tally> drained = tallies.drain();
+            if (drained.containsKey("LCOM")) {
+                lcom.add(drained.get("LCOM"));
+            }
+            if (drained.containsKey("NHD")) {
+                nhd.add(drained.get("NHD"));
+            }
+        }
+        service.shutdown();
+        new Assertion<>(
+            "Must count all positive diffs",
+            lcom.pos(),
+            new IsEqual<>(400L)
+        ).affirm();
+        new Assertion<>(
+            "Must sum all negative diffs",
+            nhd.nsum(),
+            new IsEqual<>(400L * new DyNum(0.25d).longValue())
+        ).affirm();
+    }
+}
@@ -61,6 +61,7 @@ final class TkAppTest {
             "/",
             "/mistakes",
             "/robots.txt",
+            "/metrics",
         };
         final Take app = new TkApp(temp);
         for (final String page : pages) {
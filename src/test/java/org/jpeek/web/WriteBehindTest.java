@@ -0,0 +1,164 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package org.jpeek.web;
+
+import com.jcabi.dynamo.Attributes;
+import com.jcabi.dynamo.Item;
+import com.jcabi.dynamo.Region;
+import com.jcabi.dynamo.mock.H2Data;
+import com.jcabi.dynamo.mock.MkRegion;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.hamcrest.core.IsEqual;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jpeek.Version;
+import org.llorllale.cactoos.matchers.Assertion;
+
+/**
+ * Test case for {@link WriteBehind}.
+ * @since 1.0
+ */
+final class WriteBehindTest {
+
+    @Test
+    void savesReportsInBackground(@TempDir final Path temp)
+        throws Exception {
+        final Region region = WriteBehindTest.region();
+        final Metrics metrics = new Metrics();
+        final WriteBehind writes = new WriteBehind(
+            new Results(region.table("jpeek-results")),
+            new Mistakes(region.table("jpeek-mistakes")),
+            new Sigmas(region.table("jpeek-mistakes")),
+            metrics
+        );
+        writes.add("org.jpeek:jpeek", WriteBehindTest.report(temp, "a", 0.2d));
+        writes.add("org.takes:takes", WriteBehindTest.report(temp, "b", -0.4d));
+        writes.add("com.jcabi:jcabi-xml", WriteBehindTest.report(temp, "c", -0.2d));
+        new Assertion<>(
+            "Must save all reports on shutdown",
+            writes.shutdown(),
+            new IsEqual<>(true)
+        ).affirm();
+        new Assertion<>(
+            "Must save results",
+            new Results(region.table("jpeek-results"))
+                .exists("org.takes:takes"),
+            new IsEqual<>(true)
+        ).affirm();
+        new Assertion<>(
+            "Must count diffs in mistakes",
+            region.table("jpeek-mistakes").frame()
+                .where("metric", "LCOM").iterator().next()
+                .get("pos").getN(),
+            new IsEqual<>("1")
+        ).affirm();
+        new Assertion<>(
+            "Must count champions in sigmas",
+            region.table("jpeek-mistakes").frame()
+                .where("metric", "LCOM").iterator().next()
+                .get("champions").getN(),
+            new IsEqual<>("1")
+        ).affirm();
+        new Assertion<>(
+            "Must drop reports after shutdown",
+            writes.add("org.jpeek:jpeek", temp),
+            new IsEqual<>(false)
+        ).affirm();
+    }
+
+    @Test
+    void countsNoChampionsWorseThanInTable(@TempDir final Path temp)
+        throws Exception {
+        final Region region = WriteBehindTest.region();
+        region.table("jpeek-mistakes").put(
+            new Attributes()
+                .with("metric", "LCOM")
+                .with("version", new Version().value())
+                .with("ttl", 0L)
+                .with("pos", 0L)
+                .with("psum", 0L)
+                .with("pavg", 0L)
+                .with("neg", 0L)
+                .with("nsum", 0L)
+                .with("navg", 0L)
+                .with("avg", 0L)
+                .with("champions", 0L)
+                .with("artifact", "org.cactoos:cactoos")
+                .with("mean", new DyNum(0.4d).longValue())
+                .with("sigma", new DyNum(0.01d).longValue())
+        );
+        final WriteBehind writes = new WriteBehind(
+            new Results(region.table("jpeek-results")),
+            new Mistakes(region.table("jpeek-mistakes")),
+            new Sigmas(region.table("jpeek-mistakes")),
+            new Metrics()
+        );
+        writes.add("org.jpeek:jpeek", WriteBehindTest.report(temp, "a", 0.2d));
+        writes.shutdown();
+        final Item item = region.table("jpeek-mistakes").frame()
+            .where("metric", "LCOM").iterator().next();
+        new Assertion<>(
+            "Must not count a champion, which the table beats",
+            item.get("champions").getN(),
+            new IsEqual<>("0")
+        ).affirm();
+        new Assertion<>(
+            "Must keep the best artifact of the table",
+            item.get("artifact").getS(),
+            new IsEqual<>("org.cactoos:cactoos")
+        ).affirm();
+    }
+
+    /**
+     * Make a region with tables.
+     * @return Region
+     * @throws IOException If fails
+     */
+    private static Region region() throws IOException {
+        return new MkRegion(
+            new H2Data().with(
+                "jpeek-results",
+                new String[] {"artifact"},
+                "score", "diff", "ttl", "version", "added",
+                "rank", "good", "classes", "defects", "elements"
+            ).with(
+                "jpeek-mistakes",
+                new String[] {"metric"},
+                "ttl", "avg", "version",
+                "pos", "psum", "pavg",
+                "neg", "nsum", "navg",
+                "champions", "artifact", "mean", "sigma"
+            )
+        );
+    }
+
+    /**
+     * Make a report.
+     * @param temp Temporary directory
+     * @param name Name of the directory
+     * @param diff Diff of the metric
+     * @return Directory of the report
+     * @throws Exception If fails
+     */
+    private static Path report(final Path temp, final String name,
+        final double diff) throws Exception {
+        final Path dir = Files.createDirectories(temp.resolve(name));
+        Files.write(
+            dir.resolve("index.xml"),
+            String.join(
+                "",
+                "<index artifact='org.jpeek:jpeek' diff='0.1' score='5.5'",
+                String.format(" defects='0.1'><metric name='LCOM' diff='%f'>", diff),
+                "<elements>150</elements><classes>300</classes>",
+                "<mean>0.4</mean><sigma>0.05</sigma><reverse>true</reverse>",
+                "</metric></index>"
+            ).getBytes(StandardCharsets.UTF_8)
+        );
+        return dir;
+    }
+}
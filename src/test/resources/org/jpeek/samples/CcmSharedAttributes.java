@@ -0,0 +1,23 @@
+// SPDX-FileCopyrightText: Copyright (c) 2017-2026 Yegor Bugayenko
+// SPDX-License-Identifier: MIT
+
+public class CcmSharedAttributes {
+
+    int first;
+
+    int second;
+
+    public void one() {
+        first = second;
+        two();
+    }
+
+    public void two() {
+        second = first;
+    }
+
+    public void three() {
+        second = 3;
+    }
+
+}